@@ -0,0 +1,75 @@
+package repository;
+
+import model.Buku;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Adapter yang menjalankan RepositoryBuku sinkron pada executor terpisah
+ * Pemanggilan blocking dipindahkan dari thread pemanggil ke executor, sehingga
+ * executor sebaiknya berukuran sesuai jumlah operasi I/O yang boleh berjalan bersamaan
+ */
+public class AdapterAsyncRepositoryBuku implements AsyncRepositoryBuku {
+    private final RepositoryBuku repositoryBuku;
+    private final Executor executor;
+
+    /**
+     * @param repositoryBuku repository sinkron yang dibungkus
+     * @param executor executor untuk menjalankan operasi repository
+     */
+    public AdapterAsyncRepositoryBuku(RepositoryBuku repositoryBuku, Executor executor) {
+        if (repositoryBuku == null || executor == null) {
+            throw new IllegalArgumentException("Repository dan executor tidak boleh null!");
+        }
+        this.repositoryBuku = repositoryBuku;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> simpan(Buku buku) {
+        return jalankan(() -> repositoryBuku.simpan(buku));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Buku>> cariByIsbn(String isbn) {
+        return jalankan(() -> repositoryBuku.cariByIsbn(isbn));
+    }
+
+    @Override
+    public CompletableFuture<List<Buku>> cariByJudul(String judul) {
+        return jalankan(() -> repositoryBuku.cariByJudul(judul));
+    }
+
+    @Override
+    public CompletableFuture<List<Buku>> cariByPengarang(String pengarang) {
+        return jalankan(() -> repositoryBuku.cariByPengarang(pengarang));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hapus(String isbn) {
+        return jalankan(() -> repositoryBuku.hapus(isbn));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        return jalankan(() -> repositoryBuku.updateJumlahTersedia(isbn, jumlahTersediaBaru));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> ubahJumlahTersedia(String isbn, int selisih) {
+        return jalankan(() -> repositoryBuku.ubahJumlahTersedia(isbn, selisih));
+    }
+
+    @Override
+    public CompletableFuture<List<Buku>> cariSemua() {
+        return jalankan(repositoryBuku::cariSemua);
+    }
+
+    private <T> CompletableFuture<T> jalankan(Supplier<T> operasi) {
+        return CompletableFuture.supplyAsync(operasi, executor);
+    }
+}
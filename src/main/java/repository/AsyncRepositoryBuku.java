@@ -0,0 +1,24 @@
+package repository;
+
+import model.Buku;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Varian non-blocking dari RepositoryBuku
+ * Setiap operasi langsung mengembalikan CompletableFuture sehingga thread
+ * pemanggil tidak tertahan selama repository melakukan I/O
+ * Semantik setiap operasi sama dengan method RepositoryBuku dengan nama yang sama
+ */
+public interface AsyncRepositoryBuku {
+    CompletableFuture<Boolean> simpan(Buku buku);
+    CompletableFuture<Optional<Buku>> cariByIsbn(String isbn);
+    CompletableFuture<List<Buku>> cariByJudul(String judul);
+    CompletableFuture<List<Buku>> cariByPengarang(String pengarang);
+    CompletableFuture<Boolean> hapus(String isbn);
+    CompletableFuture<Boolean> updateJumlahTersedia(String isbn, int jumlahTersediaBaru);
+    CompletableFuture<Boolean> ubahJumlahTersedia(String isbn, int selisih);
+    CompletableFuture<List<Buku>> cariSemua();
+}
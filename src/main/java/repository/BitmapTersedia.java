@@ -0,0 +1,73 @@
+package repository;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bitmap ketersediaan buku yang diindeks dengan ordinal internal
+ * Bit bernilai 1 jika buku dengan ordinal tersebut memiliki salinan tersedia
+ * Bitmap dibagi per halaman sehingga bisa membesar tanpa menyalin isi bit,
+ * halaman lama tetap dipakai bersama oleh array halaman yang baru
+ * Perubahan bit aman dilakukan bersamaan, menambah kapasitas harus diserialkan pemanggil
+ */
+final class BitmapTersedia {
+    private static final int BIT_PER_HALAMAN = 1 << 16;
+    private static final int LONG_PER_HALAMAN = BIT_PER_HALAMAN / 64;
+
+    private volatile AtomicLongArray[] halaman = new AtomicLongArray[0];
+
+    /**
+     * Memastikan halaman untuk ordinal sudah dialokasikan
+     */
+    void siapkan(int ordinal) {
+        int indeksHalaman = ordinal / BIT_PER_HALAMAN;
+        AtomicLongArray[] lama = halaman;
+        if (indeksHalaman < lama.length) {
+            return;
+        }
+
+        AtomicLongArray[] baru = Arrays.copyOf(lama, indeksHalaman + 1);
+        for (int i = lama.length; i < baru.length; i++) {
+            baru[i] = new AtomicLongArray(LONG_PER_HALAMAN);
+        }
+        halaman = baru;
+    }
+
+    void set(int ordinal, boolean tersedia) {
+        AtomicLongArray kata = halaman[ordinal / BIT_PER_HALAMAN];
+        int indeks = (ordinal % BIT_PER_HALAMAN) >>> 6;
+        long bit = 1L << (ordinal & 63);
+        long lama;
+        long baru;
+        do {
+            lama = kata.get(indeks);
+            baru = tersedia ? lama | bit : lama & ~bit;
+        } while (lama != baru && !kata.compareAndSet(indeks, lama, baru));
+    }
+
+    boolean get(int ordinal) {
+        AtomicLongArray[] daftarHalaman = halaman;
+        int indeksHalaman = ordinal / BIT_PER_HALAMAN;
+        if (indeksHalaman >= daftarHalaman.length) {
+            return false;
+        }
+        return (daftarHalaman[indeksHalaman].get((ordinal % BIT_PER_HALAMAN) >>> 6) & (1L << (ordinal & 63))) != 0;
+    }
+
+    /**
+     * Jumlah bit yang bernilai 1
+     */
+    int hitung() {
+        int jumlah = 0;
+        for (AtomicLongArray kata : halaman) {
+            for (int i = 0; i < kata.length(); i++) {
+                jumlah += Long.bitCount(kata.get(i));
+            }
+        }
+        return jumlah;
+    }
+
+    void bersihkan() {
+        halaman = new AtomicLongArray[0];
+    }
+}
@@ -0,0 +1,86 @@
+package repository;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring buffer peristiwa perubahan dengan satu penulis dan banyak pembaca tanpa kunci
+ * Setiap slot menyimpan nomor urutan peristiwa di dalamnya. Penulis mengisi slot
+ * lalu menerbitkan nomor urutan, pembaca memeriksa nomor urutan sebelum dan
+ * sesudah membaca sehingga slot yang sudah ditimpa selalu terdeteksi
+ * Penulisan harus diserialkan oleh pemanggil
+ */
+final class BufferCincinPerubahan {
+    private static final long KOSONG = -1L;
+
+    private final AtomicReferenceArray<PeristiwaPerubahan> slot;
+    private final AtomicLongArray urutanSlot;
+    private final AtomicLong urutanBerikutnya = new AtomicLong();
+    private final int mask;
+
+    BufferCincinPerubahan(int kapasitas) {
+        if (kapasitas <= 0) {
+            throw new IllegalArgumentException("Kapasitas harus positif!");
+        }
+        int ukuran = Integer.highestOneBit(Math.max(2, kapasitas) - 1) << 1;
+        this.slot = new AtomicReferenceArray<>(ukuran);
+        this.urutanSlot = new AtomicLongArray(ukuran);
+        for (int i = 0; i < ukuran; i++) {
+            urutanSlot.set(i, KOSONG);
+        }
+        this.mask = ukuran - 1;
+    }
+
+    /**
+     * Nomor urutan yang akan diberikan ke peristiwa berikutnya
+     */
+    long urutanBerikutnya() {
+        return urutanBerikutnya.get();
+    }
+
+    /**
+     * Nomor urutan tertua yang masih bisa dibaca
+     */
+    long urutanTertua() {
+        return Math.max(0, urutanBerikutnya.get() - slot.length());
+    }
+
+    int kapasitas() {
+        return slot.length();
+    }
+
+    void terbitkan(PeristiwaPerubahan peristiwa) {
+        long urutan = peristiwa.getUrutan();
+        int indeks = (int) (urutan & mask);
+        // Tandai slot sedang ditulis agar pembaca urutan lama tidak membaca isi baru
+        urutanSlot.set(indeks, KOSONG);
+        slot.set(indeks, peristiwa);
+        urutanSlot.set(indeks, urutan);
+        urutanBerikutnya.set(urutan + 1);
+    }
+
+    /**
+     * Membaca peristiwa mulai dari urutan tertentu
+     * @param dari urutan pertama yang dibaca
+     * @param maks jumlah peristiwa maksimal
+     * @param tujuan daftar penampung hasil
+     * @return false jika peristiwa pada urutan dari sudah ditimpa
+     */
+    boolean baca(long dari, int maks, List<PeristiwaPerubahan> tujuan) {
+        long batas = Math.min(urutanBerikutnya.get(), dari + maks);
+        for (long urutan = dari; urutan < batas; urutan++) {
+            int indeks = (int) (urutan & mask);
+            if (urutanSlot.get(indeks) != urutan) {
+                return false;
+            }
+            PeristiwaPerubahan peristiwa = slot.get(indeks);
+            if (urutanSlot.get(indeks) != urutan) {
+                return false;
+            }
+            tujuan.add(peristiwa);
+        }
+        return true;
+    }
+}
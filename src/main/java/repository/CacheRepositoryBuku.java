@@ -0,0 +1,181 @@
+package repository;
+
+import model.Buku;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Decorator repository buku dengan cache read-through untuk pencarian ISBN
+ * Kebijakan eviksi mengikuti W-TinyLFU: entri baru masuk ke window LRU kecil,
+ * lalu hanya dipindah ke area utama jika frekuensi aksesnya (diperkirakan lewat
+ * count-min sketch) lebih tinggi daripada korban LRU di area utama.
+ * Setiap operasi tulis diteruskan ke repository asli lalu entrinya dibuang dari cache
+ *
+ * Buku yang dikembalikan dari cache dipakai bersama, perlakukan sebagai read-only
+ */
+public class CacheRepositoryBuku extends RepositoryBukuDelegasi {
+    private final int kapasitasWindow;
+    private final int kapasitasUtama;
+    private final LinkedHashMap<String, Buku> window;
+    private final LinkedHashMap<String, Buku> utama;
+    private final SketsaFrekuensi sketsa;
+    private long versiTulis;
+    private long jumlahHit;
+    private long jumlahMiss;
+    private long jumlahEviksi;
+
+    /**
+     * @param repositoryAsli repository yang dibungkus
+     * @param kapasitas jumlah buku maksimal di cache
+     */
+    public CacheRepositoryBuku(RepositoryBuku repositoryAsli, int kapasitas) {
+        super(repositoryAsli);
+        if (kapasitas < 2) {
+            throw new IllegalArgumentException("Kapasitas cache minimal 2!");
+        }
+        this.kapasitasWindow = Math.max(1, kapasitas / 100);
+        this.kapasitasUtama = kapasitas - kapasitasWindow;
+        this.window = new LinkedHashMap<>(16, 0.75f, true);
+        this.utama = new LinkedHashMap<>(16, 0.75f, true);
+        this.sketsa = new SketsaFrekuensi(kapasitas);
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        if (isbn == null || isbn.trim().isEmpty()) {
+            return Optional.empty();
+        }
+
+        long versi;
+        synchronized (this) {
+            sketsa.tambah(isbn);
+            Buku buku = utama.get(isbn);
+            if (buku == null) {
+                buku = window.get(isbn);
+            }
+            if (buku != null) {
+                jumlahHit++;
+                return Optional.of(buku);
+            }
+            jumlahMiss++;
+            versi = versiTulis;
+        }
+
+        // Repository asli dibaca di luar kunci agar miss tidak saling menunggu
+        Optional<Buku> hasil = repositoryAsli.cariByIsbn(isbn);
+        if (hasil.isPresent()) {
+            synchronized (this) {
+                // Jangan simpan hasil jika ada tulis di tengah pembacaan, nilainya mungkin sudah basi
+                if (versi == versiTulis && !utama.containsKey(isbn) && !window.containsKey(isbn)) {
+                    masukkan(isbn, hasil.get());
+                }
+            }
+        }
+        return hasil;
+    }
+
+    private void masukkan(String isbn, Buku buku) {
+        window.put(isbn, buku);
+        if (window.size() <= kapasitasWindow) {
+            return;
+        }
+
+        Iterator<Map.Entry<String, Buku>> iteratorWindow = window.entrySet().iterator();
+        Map.Entry<String, Buku> kandidat = iteratorWindow.next();
+        iteratorWindow.remove();
+        if (utama.size() < kapasitasUtama) {
+            utama.put(kandidat.getKey(), kandidat.getValue());
+            return;
+        }
+
+        Iterator<Map.Entry<String, Buku>> iteratorUtama = utama.entrySet().iterator();
+        Map.Entry<String, Buku> korban = iteratorUtama.next();
+        if (sketsa.perkiraan(kandidat.getKey()) > sketsa.perkiraan(korban.getKey())) {
+            iteratorUtama.remove();
+            utama.put(kandidat.getKey(), kandidat.getValue());
+        }
+        jumlahEviksi++;
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        boolean hasil = repositoryAsli.simpan(buku);
+        if (buku != null) {
+            buang(buku.getIsbn());
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean[] simpanBatch(List<Buku> daftarBuku) {
+        boolean[] hasil = repositoryAsli.simpanBatch(daftarBuku);
+        synchronized (this) {
+            versiTulis++;
+            for (Buku buku : daftarBuku) {
+                if (buku != null) {
+                    utama.remove(buku.getIsbn());
+                    window.remove(buku.getIsbn());
+                }
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        boolean hasil = repositoryAsli.hapus(isbn);
+        buang(isbn);
+        return hasil;
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        boolean hasil = repositoryAsli.updateJumlahTersedia(isbn, jumlahTersediaBaru);
+        buang(isbn);
+        return hasil;
+    }
+
+    @Override
+    public boolean ubahJumlahTersedia(String isbn, int selisih) {
+        boolean hasil = repositoryAsli.ubahJumlahTersedia(isbn, selisih);
+        buang(isbn);
+        return hasil;
+    }
+
+    public synchronized long getJumlahHit() {
+        return jumlahHit;
+    }
+
+    public synchronized long getJumlahMiss() {
+        return jumlahMiss;
+    }
+
+    public synchronized long getJumlahEviksi() {
+        return jumlahEviksi;
+    }
+
+    public synchronized int ukuran() {
+        return window.size() + utama.size();
+    }
+
+    /**
+     * Rasio hit terhadap seluruh pencarian ISBN
+     * @return rasio antara 0 dan 1, 0 jika belum ada pencarian
+     */
+    public synchronized double getRasioHit() {
+        long total = jumlahHit + jumlahMiss;
+        return total == 0 ? 0.0 : (double) jumlahHit / total;
+    }
+
+    private synchronized void buang(String isbn) {
+        versiTulis++;
+        if (isbn != null) {
+            utama.remove(isbn);
+            window.remove(isbn);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package repository;
+
+import model.Buku;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decorator repository buku yang menerbitkan aliran perubahan (change-data-capture)
+ * Setiap operasi tulis yang berhasil menghasilkan peristiwa bernomor urut dengan
+ * nilai lama dan baru, sehingga sistem hilir (pencarian, analitik, OPAC) bisa
+ * sinkron secara inkremental tanpa polling cariSemua
+ * Operasi tulis diserialkan agar urutan peristiwa sama dengan urutan perubahan
+ */
+public class CdcRepositoryBuku extends RepositoryBukuDelegasi {
+    private static final int KAPASITAS_DEFAULT = 1 << 16;
+
+    private final BufferCincinPerubahan buffer;
+    private final Object kunciTulis = new Object();
+
+    public CdcRepositoryBuku(RepositoryBuku repositoryAsli) {
+        this(repositoryAsli, KAPASITAS_DEFAULT);
+    }
+
+    /**
+     * @param repositoryAsli repository yang dibungkus
+     * @param kapasitas jumlah peristiwa terakhir yang bisa dibaca ulang, dibulatkan ke pangkat dua
+     */
+    public CdcRepositoryBuku(RepositoryBuku repositoryAsli, int kapasitas) {
+        super(repositoryAsli);
+        this.buffer = new BufferCincinPerubahan(kapasitas);
+    }
+
+    /**
+     * Berlangganan mulai dari peristiwa berikutnya
+     * @return langganan baru
+     */
+    public LanggananPerubahan berlangganan() {
+        return new LanggananPerubahan(buffer, buffer.urutanBerikutnya());
+    }
+
+    /**
+     * Berlangganan mulai dari offset tertentu, misalnya offset yang disimpan konsumen sebelumnya
+     * @param offset urutan peristiwa pertama yang ingin dibaca
+     * @return langganan baru
+     */
+    public LanggananPerubahan berlangganan(long offset) {
+        if (offset < 0 || offset > buffer.urutanBerikutnya()) {
+            throw new IllegalArgumentException("Offset di luar rentang: " + offset);
+        }
+        return new LanggananPerubahan(buffer, offset);
+    }
+
+    /**
+     * Urutan yang akan diberikan ke peristiwa berikutnya
+     */
+    public long getUrutanBerikutnya() {
+        return buffer.urutanBerikutnya();
+    }
+
+    /**
+     * Urutan tertua yang masih tersedia di buffer
+     */
+    public long getUrutanTertua() {
+        return buffer.urutanTertua();
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (buku == null || buku.getIsbn() == null) {
+            return repositoryAsli.simpan(buku);
+        }
+
+        synchronized (kunciTulis) {
+            Buku lama = salinan(buku.getIsbn());
+            boolean hasil = repositoryAsli.simpan(buku);
+            if (hasil) {
+                terbitkan(lama == null ? PeristiwaPerubahan.Jenis.TAMBAH : PeristiwaPerubahan.Jenis.UBAH,
+                        lama, salinan(buku.getIsbn()));
+            }
+            return hasil;
+        }
+    }
+
+    @Override
+    public boolean[] simpanBatch(List<Buku> daftarBuku) {
+        synchronized (kunciTulis) {
+            Buku[] daftarLama = new Buku[daftarBuku.size()];
+            for (int i = 0; i < daftarLama.length; i++) {
+                Buku buku = daftarBuku.get(i);
+                daftarLama[i] = buku == null || buku.getIsbn() == null ? null : salinan(buku.getIsbn());
+            }
+
+            boolean[] hasil = repositoryAsli.simpanBatch(daftarBuku);
+            // ISBN yang muncul lagi dalam batch menimpa versi yang terakhir diterbitkan
+            Map<String, Buku> terbitTerakhir = new HashMap<>();
+            for (int i = 0; i < hasil.length; i++) {
+                if (hasil[i]) {
+                    Buku baru = salin(daftarBuku.get(i));
+                    Buku lama = terbitTerakhir.getOrDefault(baru.getIsbn(), daftarLama[i]);
+                    terbitkan(lama == null ? PeristiwaPerubahan.Jenis.TAMBAH : PeristiwaPerubahan.Jenis.UBAH, lama, baru);
+                    terbitTerakhir.put(baru.getIsbn(), baru);
+                }
+            }
+            return hasil;
+        }
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            Buku lama = salinan(isbn);
+            boolean hasil = repositoryAsli.hapus(isbn);
+            if (hasil) {
+                terbitkan(PeristiwaPerubahan.Jenis.HAPUS, lama, null);
+            }
+            return hasil;
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        if (isbn == null) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            Buku lama = salinan(isbn);
+            boolean hasil = repositoryAsli.updateJumlahTersedia(isbn, jumlahTersediaBaru);
+            if (hasil) {
+                terbitkan(PeristiwaPerubahan.Jenis.STOK, lama, salinan(isbn));
+            }
+            return hasil;
+        }
+    }
+
+    @Override
+    public boolean ubahJumlahTersedia(String isbn, int selisih) {
+        if (isbn == null) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            Buku lama = salinan(isbn);
+            boolean hasil = repositoryAsli.ubahJumlahTersedia(isbn, selisih);
+            if (hasil) {
+                terbitkan(PeristiwaPerubahan.Jenis.STOK, lama, salinan(isbn));
+            }
+            return hasil;
+        }
+    }
+
+    private void terbitkan(PeristiwaPerubahan.Jenis jenis, Buku lama, Buku baru) {
+        buffer.terbitkan(new PeristiwaPerubahan(buffer.urutanBerikutnya(), jenis, lama, baru));
+    }
+
+    // Repository asli bisa mengembalikan objek hidup, peristiwa harus memegang salinan
+    private Buku salinan(String isbn) {
+        return repositoryAsli.cariByIsbn(isbn).map(CdcRepositoryBuku::salin).orElse(null);
+    }
+
+    private static Buku salin(Buku buku) {
+        Buku salinan = new Buku(buku.getIsbn(), buku.getJudul(), buku.getPengarang(),
+                buku.getJumlahTotal(), buku.getHarga());
+        salinan.setJumlahTersedia(buku.getJumlahTersedia());
+        return salinan;
+    }
+}
@@ -0,0 +1,117 @@
+package repository;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counting Bloom filter untuk kunci teks
+ * Setiap posisi berupa counter 4 bit (16 counter per long) sehingga kunci
+ * bisa dihapus kembali. Counter yang sudah jenuh tidak pernah dikurangi agar
+ * filter tidak pernah menghasilkan negatif palsu
+ * Pembacaan aman dilakukan bersamaan, penambahan dan penghapusan harus diserialkan pemanggil
+ */
+final class FilterBloomBerhitung {
+    private static final int COUNTER_PER_LONG = 16;
+    private static final int NILAI_JENUH = 15;
+
+    private final AtomicLongArray counter;
+    private final long jumlahPosisi;
+    private final int jumlahHash;
+    private volatile int jumlahKunci;
+
+    /**
+     * @param perkiraanJumlah perkiraan jumlah kunci yang akan disimpan
+     * @param rasioPositifPalsu target rasio positif palsu, antara 0 dan 1
+     */
+    FilterBloomBerhitung(int perkiraanJumlah, double rasioPositifPalsu) {
+        if (rasioPositifPalsu <= 0 || rasioPositifPalsu >= 1) {
+            throw new IllegalArgumentException("Rasio positif palsu harus antara 0 dan 1!");
+        }
+        int n = Math.max(1, perkiraanJumlah);
+        long m = (long) Math.ceil(-n * Math.log(rasioPositifPalsu) / (Math.log(2) * Math.log(2)));
+        long jumlahLong = Math.max(1, (m + COUNTER_PER_LONG - 1) / COUNTER_PER_LONG);
+        if (jumlahLong > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Filter terlalu besar!");
+        }
+        this.counter = new AtomicLongArray((int) jumlahLong);
+        this.jumlahPosisi = jumlahLong * COUNTER_PER_LONG;
+        this.jumlahHash = Math.max(1, (int) Math.round((double) jumlahPosisi / n * Math.log(2)));
+    }
+
+    void tambah(String kunci) {
+        long h1 = hash(kunci, 0x9E3779B97F4A7C15L);
+        long h2 = hash(kunci, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < jumlahHash; i++) {
+            ubahCounter(posisi(h1, h2, i), 1);
+        }
+        jumlahKunci++;
+    }
+
+    void hapus(String kunci) {
+        long h1 = hash(kunci, 0x9E3779B97F4A7C15L);
+        long h2 = hash(kunci, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < jumlahHash; i++) {
+            ubahCounter(posisi(h1, h2, i), -1);
+        }
+        jumlahKunci--;
+    }
+
+    /**
+     * @return false jika kunci pasti tidak ada, true jika mungkin ada
+     */
+    boolean mungkinAda(String kunci) {
+        long h1 = hash(kunci, 0x9E3779B97F4A7C15L);
+        long h2 = hash(kunci, 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < jumlahHash; i++) {
+            if (bacaCounter(posisi(h1, h2, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Perkiraan teoretis rasio positif palsu untuk jumlah kunci saat ini
+     */
+    double perkiraanRasioPositifPalsu() {
+        double terisi = 1 - Math.exp(-(double) jumlahHash * Math.max(0, jumlahKunci) / jumlahPosisi);
+        return Math.pow(terisi, jumlahHash);
+    }
+
+    int getJumlahHash() {
+        return jumlahHash;
+    }
+
+    private long posisi(long h1, long h2, int i) {
+        return Long.remainderUnsigned(h1 + i * h2, jumlahPosisi);
+    }
+
+    private int bacaCounter(long posisi) {
+        int geser = (int) (posisi % COUNTER_PER_LONG) * 4;
+        return (int) (counter.get((int) (posisi / COUNTER_PER_LONG)) >>> geser) & 0xF;
+    }
+
+    private void ubahCounter(long posisi, int selisih) {
+        int indeks = (int) (posisi / COUNTER_PER_LONG);
+        int geser = (int) (posisi % COUNTER_PER_LONG) * 4;
+        long kata = counter.get(indeks);
+        int nilai = (int) (kata >>> geser) & 0xF;
+        if (nilai == NILAI_JENUH || (selisih < 0 && nilai == 0)) {
+            return;
+        }
+        long baru = (kata & ~(0xFL << geser)) | ((long) (nilai + selisih) << geser);
+        counter.set(indeks, baru);
+    }
+
+    private static long hash(String kunci, long benih) {
+        long h = benih;
+        for (int i = 0; i < kunci.length(); i++) {
+            h = (h ^ kunci.charAt(i)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,206 @@
+package repository;
+
+import model.Buku;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decorator repository buku dengan counting Bloom filter di depan pencarian ISBN
+ * ISBN yang pasti tidak ada (salah ketik scanner, barcode perpustakaan lain)
+ * langsung ditolak tanpa menyentuh repository asli. Filter mendukung hapus
+ * sehingga tetap akurat setelah buku dikeluarkan dari katalog
+ *
+ * Operasi tulis diserialkan agar filter selalu sinkron dengan repository asli
+ */
+public class FilterBloomRepositoryBuku extends RepositoryBukuDelegasi {
+    private static final double RASIO_POSITIF_PALSU_DEFAULT = 0.01;
+
+    private final FilterBloomBerhitung filter;
+    private final Object kunciTulis = new Object();
+    private final AtomicLong jumlahDitolak = new AtomicLong();
+    private final AtomicLong jumlahPositifPalsu = new AtomicLong();
+
+    /**
+     * @param repositoryAsli repository yang dibungkus, isinya dimuat ke filter
+     * @param perkiraanJumlah perkiraan jumlah buku maksimal di katalog
+     */
+    public FilterBloomRepositoryBuku(RepositoryBuku repositoryAsli, int perkiraanJumlah) {
+        this(repositoryAsli, perkiraanJumlah, RASIO_POSITIF_PALSU_DEFAULT);
+    }
+
+    /**
+     * @param repositoryAsli repository yang dibungkus, isinya dimuat ke filter
+     * @param perkiraanJumlah perkiraan jumlah buku maksimal di katalog
+     * @param rasioPositifPalsu target rasio positif palsu ketika katalog berisi perkiraanJumlah buku
+     */
+    public FilterBloomRepositoryBuku(RepositoryBuku repositoryAsli, int perkiraanJumlah, double rasioPositifPalsu) {
+        super(repositoryAsli);
+        this.filter = new FilterBloomBerhitung(perkiraanJumlah, rasioPositifPalsu);
+        for (Buku buku : repositoryAsli.cariSemua()) {
+            filter.tambah(kunciFilter(buku.getIsbn()));
+        }
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        if (isbn == null || isbn.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        if (!filter.mungkinAda(kunciFilter(isbn))) {
+            jumlahDitolak.incrementAndGet();
+            return Optional.empty();
+        }
+
+        Optional<Buku> hasil = repositoryAsli.cariByIsbn(isbn);
+        if (!hasil.isPresent()) {
+            jumlahPositifPalsu.incrementAndGet();
+        }
+        return hasil;
+    }
+
+    /**
+     * Mengecek apakah ISBN ada di katalog
+     * @param isbn ISBN yang dicek
+     * @return true jika buku ada
+     */
+    public boolean mengandung(String isbn) {
+        return cariByIsbn(isbn).isPresent();
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (buku == null || buku.getIsbn() == null) {
+            return repositoryAsli.simpan(buku);
+        }
+
+        synchronized (kunciTulis) {
+            boolean sudahAda = sudahAda(buku.getIsbn());
+            boolean hasil = repositoryAsli.simpan(buku);
+            if (hasil && !sudahAda) {
+                filter.tambah(kunciFilter(buku.getIsbn()));
+            }
+            return hasil;
+        }
+    }
+
+    @Override
+    public boolean[] simpanBatch(List<Buku> daftarBuku) {
+        synchronized (kunciTulis) {
+            boolean[] sudahAda = new boolean[daftarBuku.size()];
+            for (int i = 0; i < daftarBuku.size(); i++) {
+                Buku buku = daftarBuku.get(i);
+                sudahAda[i] = buku == null || buku.getIsbn() == null || sudahAda(buku.getIsbn());
+            }
+
+            boolean[] hasil = repositoryAsli.simpanBatch(daftarBuku);
+            // ISBN yang sama muncul dua kali dalam batch hanya ditambahkan sekali
+            Set<String> sudahDitambahkan = new HashSet<>();
+            for (int i = 0; i < hasil.length; i++) {
+                String isbn = hasil[i] && !sudahAda[i] ? daftarBuku.get(i).getIsbn() : null;
+                if (isbn != null && sudahDitambahkan.add(isbn)) {
+                    filter.tambah(kunciFilter(isbn));
+                }
+            }
+            return hasil;
+        }
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        if (isbn == null || !filter.mungkinAda(kunciFilter(isbn))) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            boolean hasil = repositoryAsli.hapus(isbn);
+            if (hasil) {
+                filter.hapus(kunciFilter(isbn));
+            }
+            return hasil;
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersedia) {
+        if (isbn == null || !filter.mungkinAda(kunciFilter(isbn))) {
+            return false;
+        }
+        return repositoryAsli.updateJumlahTersedia(isbn, jumlahTersedia);
+    }
+
+    @Override
+    public boolean ubahJumlahTersedia(String isbn, int selisih) {
+        if (isbn == null || !filter.mungkinAda(kunciFilter(isbn))) {
+            return false;
+        }
+        return repositoryAsli.ubahJumlahTersedia(isbn, selisih);
+    }
+
+    /**
+     * Jumlah pencarian yang dijawab "pasti tidak ada" tanpa menyentuh repository asli
+     */
+    public long getJumlahDitolak() {
+        return jumlahDitolak.get();
+    }
+
+    /**
+     * Jumlah pencarian yang lolos filter tetapi ternyata tidak ada di repository asli
+     */
+    public long getJumlahPositifPalsu() {
+        return jumlahPositifPalsu.get();
+    }
+
+    /**
+     * Rasio positif palsu yang teramati di antara pencarian ISBN yang tidak ada
+     * @return rasio antara 0 dan 1, 0 jika belum ada pencarian ISBN yang tidak ada
+     */
+    public double getRasioPositifPalsu() {
+        long positifPalsu = jumlahPositifPalsu.get();
+        long total = positifPalsu + jumlahDitolak.get();
+        return total == 0 ? 0.0 : (double) positifPalsu / total;
+    }
+
+    /**
+     * Perkiraan teoretis rasio positif palsu berdasarkan jumlah buku saat ini
+     */
+    public double getPerkiraanRasioPositifPalsu() {
+        return filter.perkiraanRasioPositifPalsu();
+    }
+
+    private boolean sudahAda(String isbn) {
+        return filter.mungkinAda(kunciFilter(isbn)) && repositoryAsli.cariByIsbn(isbn).isPresent();
+    }
+
+    /**
+     * Kunci filter tanpa tanda hubung dan whitespace, sama seperti KunciIsbn.kemas
+     * Repository yang mengkanonikkan ISBN (PrimitiveRepositoryBuku, OffHeapRepositoryBuku)
+     * menganggap "978-..." dan "978..." sebagai buku yang sama, sehingga filter harus
+     * memakai bentuk yang sama agar tidak menjawab "pasti tidak ada" untuk buku yang ada
+     * Untuk repository lain, dua ISBN yang berbeda hanya karena tanda hubung berbagi
+     * counter yang sama, yang paling buruk menambah positif palsu
+     */
+    private static String kunciFilter(String isbn) {
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c == '-' || Character.isWhitespace(c)) {
+                return bersihkanIsbn(isbn);
+            }
+        }
+        return isbn;
+    }
+
+    private static String bersihkanIsbn(String isbn) {
+        StringBuilder hasil = new StringBuilder(isbn.length());
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c != '-' && !Character.isWhitespace(c)) {
+                hasil.append(c);
+            }
+        }
+        return hasil.toString();
+    }
+}
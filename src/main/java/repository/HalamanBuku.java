@@ -0,0 +1,40 @@
+package repository;
+
+import model.Buku;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Satu halaman hasil iterasi katalog dalam urutan ISBN
+ * Token lanjutan dipakai untuk meminta halaman berikutnya, null jika sudah halaman terakhir
+ */
+public class HalamanBuku {
+    private final List<Buku> isi;
+    private final String tokenLanjutan;
+
+    public HalamanBuku(List<Buku> isi, String tokenLanjutan) {
+        this.isi = new ArrayList<>(isi);
+        this.tokenLanjutan = tokenLanjutan;
+    }
+
+    public List<Buku> getIsi() {
+        return new ArrayList<>(isi);
+    }
+
+    public String getTokenLanjutan() {
+        return tokenLanjutan;
+    }
+
+    public boolean adaHalamanBerikutnya() {
+        return tokenLanjutan != null;
+    }
+
+    @Override
+    public String toString() {
+        return "HalamanBuku{" +
+                "isi=" + isi.size() +
+                ", tokenLanjutan='" + tokenLanjutan + '\'' +
+                '}';
+    }
+}
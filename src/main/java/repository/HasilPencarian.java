@@ -0,0 +1,32 @@
+package repository;
+
+import model.Buku;
+
+/**
+ * Satu hasil pencarian teks lengkap beserta skor relevansinya
+ */
+public class HasilPencarian {
+    private final Buku buku;
+    private final double skor;
+
+    public HasilPencarian(Buku buku, double skor) {
+        this.buku = buku;
+        this.skor = skor;
+    }
+
+    public Buku getBuku() {
+        return buku;
+    }
+
+    /**
+     * Skor BM25, makin besar makin relevan
+     */
+    public double getSkor() {
+        return skor;
+    }
+
+    @Override
+    public String toString() {
+        return buku + " (" + skor + ")";
+    }
+}
@@ -0,0 +1,218 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Indeks teks lengkap judul dan pengarang dengan skor BM25F
+ * Setiap term memetakan ke frekuensinya per field untuk setiap ISBN, dan frekuensi
+ * dari semua field digabung dengan bobot field sebelum saturasi BM25
+ * Semua method disinkronkan, pemanggilan sangat singkat sehingga cukup satu kunci
+ */
+final class IndeksBm25 {
+    static final int FIELD_JUDUL = 0;
+    static final int FIELD_PENGARANG = 1;
+
+    private static final double[] BOBOT_FIELD = {2.0, 1.0};
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final String PEMISAH_TOKEN = "[^\\p{L}\\p{Nd}]+";
+    private static final Set<String> STOP_WORD = new HashSet<>(Arrays.asList(
+            "ada", "adalah", "akan", "atau", "bagi", "bahwa", "dalam", "dan", "dari",
+            "dengan", "di", "ini", "itu", "juga", "ke", "kepada", "oleh", "pada",
+            "para", "sebagai", "serta", "tentang", "untuk", "yaitu", "yang"));
+
+    private final Map<String, Map<String, int[]>> posting = new HashMap<>();
+    private final Map<String, int[]> panjangPerIsbn = new HashMap<>();
+    private final Map<String, Set<String>> termPerIsbn = new HashMap<>();
+    private final long[] totalPanjang = new long[BOBOT_FIELD.length];
+
+    /**
+     * Mengindeks judul dan pengarang buku, menggantikan teks lama jika ISBN sudah ada
+     * Teks boleh berupa teks asli atau kunci pencarian yang sudah dinormalisasi
+     */
+    synchronized void tambah(String isbn, String judul, String pengarang) {
+        hapus(isbn);
+
+        List<List<String>> tokenPerField = Arrays.asList(tokenize(judul), tokenize(pengarang));
+        int[] panjang = new int[BOBOT_FIELD.length];
+        Set<String> daftarTerm = new HashSet<>();
+        for (int field = 0; field < panjang.length; field++) {
+            List<String> token = tokenPerField.get(field);
+            panjang[field] = token.size();
+            totalPanjang[field] += token.size();
+            for (String term : token) {
+                posting.computeIfAbsent(term, k -> new HashMap<>())
+                        .computeIfAbsent(isbn, k -> new int[BOBOT_FIELD.length])[field]++;
+                daftarTerm.add(term);
+            }
+        }
+        panjangPerIsbn.put(isbn, panjang);
+        termPerIsbn.put(isbn, daftarTerm);
+    }
+
+    synchronized void hapus(String isbn) {
+        int[] panjang = panjangPerIsbn.remove(isbn);
+        if (panjang == null) {
+            return;
+        }
+
+        for (int field = 0; field < panjang.length; field++) {
+            totalPanjang[field] -= panjang[field];
+        }
+        for (String term : termPerIsbn.remove(isbn)) {
+            Map<String, int[]> daftar = posting.get(term);
+            daftar.remove(isbn);
+            if (daftar.isEmpty()) {
+                posting.remove(term);
+            }
+        }
+    }
+
+    synchronized void bersihkan() {
+        posting.clear();
+        panjangPerIsbn.clear();
+        termPerIsbn.clear();
+        Arrays.fill(totalPanjang, 0);
+    }
+
+    /**
+     * Mencari ISBN dengan skor BM25F tertinggi
+     * Term diproses dari batas skor tertinggi (term paling jarang). Begitu sisa batas
+     * skor semua term berikutnya tidak cukup untuk menggeser peringkat ke-jumlah,
+     * dokumen baru tidak lagi ditambahkan dan term sisanya hanya menambah skor
+     * dokumen yang sudah menjadi kandidat, sehingga posting list term umum tidak dipindai
+     * @param query teks pencarian
+     * @param jumlah jumlah hasil maksimal, harus positif
+     * @return ISBN dan skornya, skor tertinggi lebih dulu
+     */
+    synchronized Map<String, Double> cari(String query, int jumlah) {
+        Map<String, Double> hasil = new LinkedHashMap<>();
+        int jumlahDokumen = panjangPerIsbn.size();
+        if (jumlahDokumen == 0) {
+            return hasil;
+        }
+
+        List<String> daftarTerm = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(tokenize(query))) {
+            if (posting.containsKey(term)) {
+                daftarTerm.add(term);
+            }
+        }
+        if (daftarTerm.isEmpty()) {
+            return hasil;
+        }
+
+        double[] rataRataPanjang = new double[totalPanjang.length];
+        for (int field = 0; field < totalPanjang.length; field++) {
+            rataRataPanjang[field] = Math.max(1.0, (double) totalPanjang[field] / jumlahDokumen);
+        }
+
+        // idf menurun berarti batas skor menurun, karena batas skor sebuah term adalah idf * (k1 + 1)
+        Map<String, Double> idfPerTerm = new HashMap<>();
+        for (String term : daftarTerm) {
+            int df = posting.get(term).size();
+            idfPerTerm.put(term, Math.log(1 + (jumlahDokumen - df + 0.5) / (df + 0.5)));
+        }
+        daftarTerm.sort(Comparator.comparing(idfPerTerm::get).reversed());
+
+        double[] sisaBatas = new double[daftarTerm.size() + 1];
+        for (int i = daftarTerm.size() - 1; i >= 0; i--) {
+            sisaBatas[i] = sisaBatas[i + 1] + idfPerTerm.get(daftarTerm.get(i)) * (K1 + 1);
+        }
+
+        Map<String, Double> skor = new HashMap<>();
+        boolean terimaDokumenBaru = true;
+        for (int i = 0; i < daftarTerm.size(); i++) {
+            if (terimaDokumenBaru && skor.size() >= jumlah && skorKe(skor, jumlah) >= sisaBatas[i]) {
+                terimaDokumenBaru = false;
+            }
+
+            String term = daftarTerm.get(i);
+            double idf = idfPerTerm.get(term);
+            Map<String, int[]> daftar = posting.get(term);
+            if (terimaDokumenBaru) {
+                for (Map.Entry<String, int[]> entri : daftar.entrySet()) {
+                    skor.merge(entri.getKey(), skorTerm(idf, entri.getValue(),
+                            panjangPerIsbn.get(entri.getKey()), rataRataPanjang), Double::sum);
+                }
+            } else {
+                for (Map.Entry<String, Double> entri : skor.entrySet()) {
+                    int[] frekuensi = daftar.get(entri.getKey());
+                    if (frekuensi != null) {
+                        entri.setValue(entri.getValue() + skorTerm(idf, frekuensi,
+                                panjangPerIsbn.get(entri.getKey()), rataRataPanjang));
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<String, Double> entri : teratas(skor, jumlah)) {
+            hasil.put(entri.getKey(), entri.getValue());
+        }
+        return hasil;
+    }
+
+    /**
+     * Memecah teks menjadi term tanpa tanda baca dan stop-word
+     * Teks dinormalisasi dengan KunciPencarian.normalisasi (huruf kecil, tanpa aksen),
+     * sehingga teks yang sudah berupa kunci pencarian tidak diproses ulang
+     */
+    static List<String> tokenize(String teks) {
+        List<String> hasil = new ArrayList<>();
+        String teksNormal = KunciPencarian.normalisasi(teks);
+        if (teksNormal == null) {
+            return hasil;
+        }
+        for (String token : teksNormal.split(PEMISAH_TOKEN)) {
+            if (!token.isEmpty() && !STOP_WORD.contains(token)) {
+                hasil.add(token);
+            }
+        }
+        return hasil;
+    }
+
+    private static double skorTerm(double idf, int[] frekuensi, int[] panjang, double[] rataRataPanjang) {
+        double frekuensiTerbobot = 0;
+        for (int field = 0; field < frekuensi.length; field++) {
+            if (frekuensi[field] > 0) {
+                double normalisasi = 1 - B + B * panjang[field] / rataRataPanjang[field];
+                frekuensiTerbobot += BOBOT_FIELD[field] * frekuensi[field] / normalisasi;
+            }
+        }
+        return idf * frekuensiTerbobot * (K1 + 1) / (K1 + frekuensiTerbobot);
+    }
+
+    private static double skorKe(Map<String, Double> skor, int peringkat) {
+        List<Map.Entry<String, Double>> teratas = teratas(skor, peringkat);
+        return teratas.get(teratas.size() - 1).getValue();
+    }
+
+    /**
+     * Entri dengan skor tertinggi memakai min-heap berukuran jumlah, seri diurutkan berdasarkan ISBN
+     */
+    private static List<Map.Entry<String, Double>> teratas(Map<String, Double> skor, int jumlah) {
+        Comparator<Map.Entry<String, Double>> urutan = Map.Entry.<String, Double>comparingByValue()
+                .reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<String, Double>> heap = new PriorityQueue<>(urutan.reversed());
+        for (Map.Entry<String, Double> entri : skor.entrySet()) {
+            heap.add(entri);
+            if (heap.size() > jumlah) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<String, Double>> hasil = new ArrayList<>(heap);
+        hasil.sort(urutan);
+        return hasil;
+    }
+}
@@ -0,0 +1,198 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Indeks terurut harga buku untuk pencarian rentang harga dan buku termahal
+ * Entri (harga, isbn) disimpan di skip list, sehingga rentang dan N teratas
+ * cukup O(log n + k) tanpa membaca seluruh katalog
+ */
+class IndeksHarga {
+    private final NavigableSet<Entri> entriTerurut;
+    private final Map<String, Entri> entriPerIsbn;
+
+    IndeksHarga() {
+        this.entriTerurut = new ConcurrentSkipListSet<>();
+        this.entriPerIsbn = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Mengindeks harga untuk ISBN tertentu, menggantikan harga lama jika ada
+     * Entri baru dimasukkan ke skip list sebelum entri lama dihapus, sehingga pembaca
+     * bisa sesaat melihat keduanya. Pembaca hanya memakai entri yang masih tercatat
+     * di entriPerIsbn dan melewati ISBN yang sudah dibaca, jadi setiap ISBN paling
+     * banyak muncul satu kali
+     * Pemanggil bertanggung jawab menyerialkan operasi tulis
+     */
+    void tambah(String isbn, double harga) {
+        Entri lama = entriPerIsbn.get(isbn);
+        if (lama != null && Double.compare(lama.harga, harga) == 0) {
+            return;
+        }
+
+        Entri baru = new Entri(harga, isbn);
+        entriTerurut.add(baru);
+        entriPerIsbn.put(isbn, baru);
+        if (lama != null) {
+            entriTerurut.remove(lama);
+        }
+    }
+
+    void hapus(String isbn) {
+        Entri lama = entriPerIsbn.remove(isbn);
+        if (lama != null) {
+            entriTerurut.remove(lama);
+        }
+    }
+
+    void bersihkan() {
+        entriTerurut.clear();
+        entriPerIsbn.clear();
+    }
+
+    /**
+     * ISBN dengan harga di antara min dan max (inklusif), harga termurah lebih dulu
+     */
+    List<String> cariRentang(double min, double max) {
+        List<String> hasil = new ArrayList<>();
+        Set<String> sudahDibaca = new HashSet<>();
+        for (Entri entri : rentang(min, max)) {
+            if (masihBerlaku(entri) && sudahDibaca.add(entri.isbn)) {
+                hasil.add(entri.isbn);
+            }
+        }
+        return hasil;
+    }
+
+    /**
+     * ISBN dengan harga di antara min dan max (inklusif) yang dibaca secara lazy,
+     * sehingga pemanggil yang berhenti lebih awal tidak membaca sisa rentang
+     * @param turun true untuk harga termahal lebih dulu, harga yang sama tetap berdasarkan ISBN naik
+     */
+    Stream<String> streamRentang(double min, double max, boolean turun) {
+        NavigableSet<Entri> rentang = rentang(min, max);
+        Set<String> sudahDibaca = new HashSet<>();
+        Stream<Entri> sumber = turun
+                ? StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                        new IteratorHargaTurun(rentang), Spliterator.ORDERED | Spliterator.NONNULL), false)
+                : rentang.stream();
+        return sumber
+                .filter(entri -> masihBerlaku(entri) && sudahDibaca.add(entri.isbn))
+                .map(entri -> entri.isbn);
+    }
+
+    /**
+     * ISBN dengan harga tertinggi, harga termahal lebih dulu lalu berdasarkan ISBN naik
+     */
+    List<String> cariTermahal(int jumlah) {
+        List<String> hasil = new ArrayList<>();
+        Set<String> sudahDibaca = new HashSet<>();
+        Iterator<Entri> iterator = new IteratorHargaTurun(entriTerurut);
+        while (hasil.size() < jumlah && iterator.hasNext()) {
+            Entri entri = iterator.next();
+            if (masihBerlaku(entri) && sudahDibaca.add(entri.isbn)) {
+                hasil.add(entri.isbn);
+            }
+        }
+        return hasil;
+    }
+
+    /**
+     * Entri lama yang sedang digantikan masih bisa terlihat di skip list, tetapi sudah tidak tercatat
+     * Entri yang dibaca sebelum diganti tetap berlaku saat dibaca, sehingga pemindaian juga
+     * melewati ISBN yang sudah dibaca ketika entri penggantinya ditemui kemudian
+     */
+    private boolean masihBerlaku(Entri entri) {
+        return entriPerIsbn.get(entri.isbn) == entri;
+    }
+
+    /**
+     * Membaca kelompok harga dari yang termahal, setiap kelompok dibaca dengan ISBN naik
+     * Kelompok berikutnya dicari dengan lower(), sehingga tetap O(log n) per kelompok
+     */
+    private final class IteratorHargaTurun implements Iterator<Entri> {
+        private final NavigableSet<Entri> rentang;
+        private Entri awalKelompok;
+        private Iterator<Entri> kelompok = Collections.emptyIterator();
+        private boolean habis;
+
+        IteratorHargaTurun(NavigableSet<Entri> rentang) {
+            this.rentang = rentang;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!habis && !kelompok.hasNext()) {
+                Entri tertinggi = awalKelompok == null ? terakhir(rentang) : rentang.lower(awalKelompok);
+                if (tertinggi == null) {
+                    habis = true;
+                } else {
+                    awalKelompok = new Entri(tertinggi.harga, null);
+                    kelompok = entriTerurut.subSet(awalKelompok, true,
+                            new Entri(Math.nextUp(tertinggi.harga), null), false).iterator();
+                }
+            }
+            return !habis;
+        }
+
+        @Override
+        public Entri next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return kelompok.next();
+        }
+    }
+
+    private static Entri terakhir(NavigableSet<Entri> entri) {
+        Iterator<Entri> iterator = entri.descendingIterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private NavigableSet<Entri> rentang(double min, double max) {
+        // Batas atas memakai harga berikutnya karena ISBN null selalu berada sebelum ISBN lain
+        return max == Double.POSITIVE_INFINITY
+                ? entriTerurut.tailSet(new Entri(min, null), true)
+                : entriTerurut.subSet(new Entri(min, null), true, new Entri(Math.nextUp(max), null), false);
+    }
+
+    /**
+     * Diurutkan berdasarkan harga lalu ISBN
+     * ISBN null hanya dipakai sebagai batas pencarian dan berada sebelum semua ISBN pada harga yang sama
+     */
+    private static final class Entri implements Comparable<Entri> {
+        private final double harga;
+        private final String isbn;
+
+        Entri(double harga, String isbn) {
+            this.harga = harga;
+            this.isbn = isbn;
+        }
+
+        @Override
+        public int compareTo(Entri lain) {
+            int banding = Double.compare(harga, lain.harga);
+            if (banding != 0) {
+                return banding;
+            }
+            if (isbn == null || lain.isbn == null) {
+                return isbn == null ? (lain.isbn == null ? 0 : -1) : 1;
+            }
+            return isbn.compareTo(lain.isbn);
+        }
+    }
+}
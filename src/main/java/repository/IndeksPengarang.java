@@ -0,0 +1,183 @@
+package repository;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Indeks pengarang untuk pencarian partial match
+ * Nama pengarang yang sudah dinormalisasi memetakan ke posting list ISBN,
+ * dan setiap token nama memetakan ke nama-nama pengarang yang memuatnya
+ * Karena satu pengarang biasanya memiliki banyak buku, pencarian cukup
+ * memeriksa kosakata pengarang, bukan seluruh katalog
+ */
+class IndeksPengarang {
+    private static final String PEMISAH_TOKEN = "\\s+";
+
+    private final Map<String, Set<String>> isbnPerPengarang;
+    private final NavigableMap<String, Set<String>> pengarangPerToken;
+    private final Map<String, String> pengarangPerIsbn;
+
+    IndeksPengarang() {
+        this.isbnPerPengarang = new ConcurrentHashMap<>();
+        this.pengarangPerToken = new ConcurrentSkipListMap<>();
+        this.pengarangPerIsbn = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Mengindeks pengarang untuk ISBN tertentu, menggantikan pengarang lama jika ada
+     * Pemanggil bertanggung jawab menyerialkan operasi tulis
+     * @param isbn ISBN buku
+     * @param pengarang nama pengarang yang sudah dinormalisasi, null untuk menghapus dari indeks
+     */
+    void tambah(String isbn, String pengarang) {
+        hapus(isbn);
+        if (pengarang == null) {
+            return;
+        }
+
+        pengarangPerIsbn.put(isbn, pengarang);
+        isbnPerPengarang.computeIfAbsent(pengarang, k -> {
+            for (String token : tokenize(k)) {
+                pengarangPerToken.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(k);
+            }
+            return ConcurrentHashMap.newKeySet();
+        }).add(isbn);
+    }
+
+    /**
+     * Menghapus ISBN dari indeks, nama pengarang ikut dihapus jika tidak lagi memiliki buku
+     * @param isbn ISBN yang dihapus
+     */
+    void hapus(String isbn) {
+        String pengarangLama = pengarangPerIsbn.remove(isbn);
+        if (pengarangLama == null) {
+            return;
+        }
+
+        Set<String> daftarIsbn = isbnPerPengarang.get(pengarangLama);
+        if (daftarIsbn == null) {
+            return;
+        }
+        daftarIsbn.remove(isbn);
+        if (daftarIsbn.isEmpty()) {
+            isbnPerPengarang.remove(pengarangLama);
+            for (String token : tokenize(pengarangLama)) {
+                Set<String> daftarPengarang = pengarangPerToken.get(token);
+                if (daftarPengarang != null) {
+                    daftarPengarang.remove(pengarangLama);
+                    if (daftarPengarang.isEmpty()) {
+                        pengarangPerToken.remove(token, daftarPengarang);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Mengosongkan indeks
+     */
+    void bersihkan() {
+        isbnPerPengarang.clear();
+        pengarangPerToken.clear();
+        pengarangPerIsbn.clear();
+    }
+
+    /**
+     * Mencari ISBN yang nama pengarangnya mengandung query sebagai substring
+     * @param query query yang sudah dinormalisasi dan tidak kosong setelah trim
+     * @return himpunan ISBN yang sesuai
+     */
+    Set<String> cari(String query) {
+        Set<String> hasil = new HashSet<>();
+        for (String pengarang : kandidatPengarang(query)) {
+            if (pengarang.contains(query)) {
+                Set<String> daftarIsbn = isbnPerPengarang.get(pengarang);
+                if (daftarIsbn != null) {
+                    hasil.addAll(daftarIsbn);
+                }
+            }
+        }
+        return hasil;
+    }
+
+    /**
+     * Versi lazy dari cari: posting list setiap pengarang yang cocok dibaca langsung
+     * Satu pengarang hanya muncul satu kali di kosakata, sehingga tidak ada ISBN ganda
+     * @param query query yang sudah dinormalisasi dan tidak kosong setelah trim
+     * @return stream ISBN yang sesuai
+     */
+    Stream<String> streamCari(String query) {
+        return kandidatPengarang(query).stream()
+                .filter(pengarang -> pengarang.contains(query))
+                .flatMap(pengarang -> {
+                    Set<String> daftarIsbn = isbnPerPengarang.get(pengarang);
+                    return daftarIsbn != null ? daftarIsbn.stream() : Stream.empty();
+                });
+    }
+
+    /**
+     * Menghitung ISBN yang nama pengarangnya mengandung query tanpa membuat himpunan hasil
+     * @param query query yang sudah dinormalisasi dan tidak kosong setelah trim
+     * @return jumlah ISBN yang sesuai
+     */
+    long hitung(String query) {
+        long jumlah = 0;
+        for (String pengarang : kandidatPengarang(query)) {
+            if (pengarang.contains(query)) {
+                Set<String> daftarIsbn = isbnPerPengarang.get(pengarang);
+                if (daftarIsbn != null) {
+                    jumlah += daftarIsbn.size();
+                }
+            }
+        }
+        return jumlah;
+    }
+
+    /**
+     * Superset nama pengarang yang mungkin mengandung query
+     * Token di tengah query pasti token utuh, token terakhir pasti awalan
+     * sebuah token, sedangkan query satu token bisa berada di mana saja dalam token
+     */
+    private Set<String> kandidatPengarang(String query) {
+        String[] tokenQuery = tokenize(query.trim());
+        Set<String> kandidat = new HashSet<>();
+
+        if (tokenQuery.length >= 3) {
+            Set<String> terkecil = null;
+            for (int i = 1; i < tokenQuery.length - 1; i++) {
+                Set<String> daftar = pengarangPerToken.get(tokenQuery[i]);
+                if (daftar == null) {
+                    return kandidat;
+                }
+                if (terkecil == null || daftar.size() < terkecil.size()) {
+                    terkecil = daftar;
+                }
+            }
+            kandidat.addAll(terkecil);
+        } else if (tokenQuery.length == 2) {
+            String awalan = tokenQuery[1];
+            for (Map.Entry<String, Set<String>> entri : pengarangPerToken.tailMap(awalan, true).entrySet()) {
+                if (!entri.getKey().startsWith(awalan)) {
+                    break;
+                }
+                kandidat.addAll(entri.getValue());
+            }
+        } else {
+            for (Map.Entry<String, Set<String>> entri : pengarangPerToken.entrySet()) {
+                if (entri.getKey().contains(tokenQuery[0])) {
+                    kandidat.addAll(entri.getValue());
+                }
+            }
+        }
+        return kandidat;
+    }
+
+    private static String[] tokenize(String teks) {
+        return teks.split(PEMISAH_TOKEN);
+    }
+}
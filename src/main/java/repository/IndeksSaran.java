@@ -0,0 +1,101 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indeks autocomplete judul dan pengarang dengan peringkat popularitas
+ * Popularitas sebuah buku adalah jumlah peminjamannya, popularitas saran adalah
+ * total popularitas semua buku dengan judul atau pengarang tersebut
+ * Semua method disinkronkan, pemanggilan sangat singkat sehingga cukup satu kunci
+ */
+final class IndeksSaran {
+    private final TrieSaran trieJudul = new TrieSaran();
+    private final TrieSaran triePengarang = new TrieSaran();
+    private final Map<String, Entri> entriPerIsbn = new HashMap<>();
+
+    /**
+     * Mengindeks buku, menggantikan judul dan pengarang lama jika ISBN sudah ada
+     * Popularitas ISBN yang sudah ada dipertahankan
+     */
+    synchronized void tambah(String isbn, String judul, String pengarang) {
+        Entri lama = entriPerIsbn.remove(isbn);
+        long popularitas = 0;
+        if (lama != null) {
+            popularitas = lama.popularitas;
+            ubah(lama, -1, -popularitas);
+        }
+
+        Entri baru = new Entri(judul, pengarang, popularitas);
+        entriPerIsbn.put(isbn, baru);
+        ubah(baru, 1, popularitas);
+    }
+
+    synchronized void hapus(String isbn) {
+        Entri lama = entriPerIsbn.remove(isbn);
+        if (lama != null) {
+            ubah(lama, -1, -lama.popularitas);
+        }
+    }
+
+    /**
+     * Menambah popularitas buku setelah peminjaman berhasil
+     * @param jumlah jumlah salinan yang dipinjam
+     */
+    synchronized void catatPeminjaman(String isbn, long jumlah) {
+        Entri entri = entriPerIsbn.get(isbn);
+        if (entri != null) {
+            entri.popularitas += jumlah;
+            ubah(entri, 0, jumlah);
+        }
+    }
+
+    synchronized List<SaranPencarian> sarankanJudul(String awalan, int jumlah) {
+        return sarankan(trieJudul, awalan, jumlah);
+    }
+
+    synchronized List<SaranPencarian> sarankanPengarang(String awalan, int jumlah) {
+        return sarankan(triePengarang, awalan, jumlah);
+    }
+
+    synchronized void bersihkan() {
+        trieJudul.bersihkan();
+        triePengarang.bersihkan();
+        entriPerIsbn.clear();
+    }
+
+    private static List<SaranPencarian> sarankan(TrieSaran trie, String awalan, int jumlah) {
+        String awalanNormal = TrieSaran.normalisasi(awalan);
+        if (awalanNormal == null) {
+            return new ArrayList<>();
+        }
+        return trie.sarankan(awalanNormal, jumlah);
+    }
+
+    private void ubah(Entri entri, int selisihEntri, long selisihBobot) {
+        if (entri.judulNormal != null) {
+            trieJudul.ubah(entri.judulNormal, entri.judul.trim(), selisihEntri, selisihBobot);
+        }
+        if (entri.pengarangNormal != null) {
+            triePengarang.ubah(entri.pengarangNormal, entri.pengarang.trim(), selisihEntri, selisihBobot);
+        }
+    }
+
+    private static class Entri {
+        private final String judul;
+        private final String pengarang;
+        private final String judulNormal;
+        private final String pengarangNormal;
+        private long popularitas;
+
+        Entri(String judul, String pengarang, long popularitas) {
+            this.judul = judul;
+            this.pengarang = pengarang;
+            this.judulNormal = TrieSaran.normalisasi(judul);
+            this.pengarangNormal = TrieSaran.normalisasi(pengarang);
+            this.popularitas = popularitas;
+        }
+    }
+}
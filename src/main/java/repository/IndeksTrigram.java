@@ -0,0 +1,203 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index trigram untuk pencarian substring
+ * Setiap teks dipecah menjadi potongan 3 karakter, lalu setiap potongan
+ * memetakan ke himpunan ISBN yang teksnya mengandung potongan tersebut
+ */
+class IndeksTrigram {
+    static final int PANJANG_GRAM = 3;
+
+    private final Map<String, Set<String>> posting;
+    private final Map<String, String> teksPerIsbn;
+
+    IndeksTrigram() {
+        this.posting = new ConcurrentHashMap<>();
+        this.teksPerIsbn = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Mengindeks teks untuk ISBN tertentu, menggantikan teks lama jika ada
+     * Pemanggil bertanggung jawab menyerialkan operasi tulis
+     * @param isbn ISBN pemilik teks
+     * @param teks teks yang sudah dinormalisasi, null untuk menghapus dari indeks
+     */
+    void tambah(String isbn, String teks) {
+        hapus(isbn);
+        if (teks == null) {
+            return;
+        }
+
+        teksPerIsbn.put(isbn, teks);
+        for (String gram : trigram(teks)) {
+            posting.computeIfAbsent(gram, k -> ConcurrentHashMap.newKeySet()).add(isbn);
+        }
+    }
+
+    /**
+     * Menghapus ISBN dari semua posting list
+     * @param isbn ISBN yang dihapus
+     */
+    void hapus(String isbn) {
+        String teksLama = teksPerIsbn.remove(isbn);
+        if (teksLama == null) {
+            return;
+        }
+
+        for (String gram : trigram(teksLama)) {
+            Set<String> daftar = posting.get(gram);
+            if (daftar != null) {
+                daftar.remove(isbn);
+                if (daftar.isEmpty()) {
+                    posting.remove(gram, daftar);
+                }
+            }
+        }
+    }
+
+    /**
+     * Mengosongkan indeks
+     */
+    void bersihkan() {
+        posting.clear();
+        teksPerIsbn.clear();
+    }
+
+    /**
+     * Mencari ISBN kandidat yang mungkin mengandung query sebagai substring
+     * Hasil adalah superset dari jawaban sebenarnya, pemanggil tetap harus memverifikasi
+     * @param query query yang sudah dinormalisasi
+     * @return himpunan ISBN kandidat, atau null jika query terlalu pendek untuk diindeks
+     */
+    Set<String> cariKandidat(String query) {
+        List<Set<String>> daftarPosting = postingQuery(query);
+        if (daftarPosting == null) {
+            return null;
+        }
+        if (daftarPosting.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Set<String> kandidat = new HashSet<>(daftarPosting.get(0));
+        for (int i = 1; i < daftarPosting.size() && !kandidat.isEmpty(); i++) {
+            kandidat.retainAll(daftarPosting.get(i));
+        }
+        return kandidat;
+    }
+
+    /**
+     * Versi lazy dari cariKandidat: posting list terkecil dibaca langsung dan setiap
+     * ISBN dicek keanggotaannya di posting list lain, tanpa menyalin posting list,
+     * sehingga pemanggil yang berhenti lebih awal hanya membayar kandidat yang dibaca
+     * @param query query yang sudah dinormalisasi
+     * @return stream ISBN kandidat, atau null jika query terlalu pendek untuk diindeks
+     */
+    Stream<String> streamKandidat(String query) {
+        List<Set<String>> daftarPosting = postingQuery(query);
+        if (daftarPosting == null) {
+            return null;
+        }
+        if (daftarPosting.isEmpty()) {
+            return Stream.empty();
+        }
+
+        List<Set<String>> lainnya = daftarPosting.subList(1, daftarPosting.size());
+        return daftarPosting.get(0).stream().filter(isbn -> {
+            for (Set<String> daftar : lainnya) {
+                if (!daftar.contains(isbn)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Batas atas jumlah kandidat query, yaitu ukuran posting list trigram terkecil
+     * Dihitung dari ukuran posting list yang hidup tanpa menyalinnya
+     * @param query query yang sudah dinormalisasi
+     * @return batas atas jumlah kandidat, atau -1 jika query terlalu pendek untuk diindeks
+     */
+    int perkiraanKandidat(String query) {
+        List<Set<String>> daftarPosting = postingQuery(query);
+        if (daftarPosting == null) {
+            return -1;
+        }
+        return daftarPosting.isEmpty() ? 0 : daftarPosting.get(0).size();
+    }
+
+    /**
+     * Posting list semua trigram query, terkecil lebih dulu agar irisan semurah mungkin
+     * @return list kosong jika ada trigram yang tidak pernah muncul, null jika query terlalu pendek
+     */
+    private List<Set<String>> postingQuery(String query) {
+        if (query.length() < PANJANG_GRAM) {
+            return null;
+        }
+
+        List<Set<String>> daftarPosting = new ArrayList<>();
+        for (String gram : trigram(query)) {
+            Set<String> daftar = posting.get(gram);
+            if (daftar == null || daftar.isEmpty()) {
+                return new ArrayList<>();
+            }
+            daftarPosting.add(daftar);
+        }
+        daftarPosting.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        return daftarPosting;
+    }
+
+    /**
+     * Mencari ISBN kandidat yang mungkin mengandung substring dengan jarak edit
+     * paling banyak jarakMaks dari query
+     * Satu operasi edit merusak paling banyak 3 trigram, sehingga teks yang cocok
+     * pasti memuat minimal (jumlah trigram query - 3 * jarakMaks) trigram query
+     * Biayanya sebanding panjang posting list trigram query, bukan ukuran katalog
+     * @param query query yang sudah dinormalisasi
+     * @param jarakMaks jarak edit maksimal
+     * @return himpunan ISBN kandidat, atau null jika batas trigram tidak positif
+     *         sehingga indeks tidak bisa menyaring dan pemanggil harus memindai semua teks
+     */
+    Set<String> cariKandidatFuzzy(String query, int jarakMaks) {
+        Set<String> gramQuery = trigram(query);
+        int minimal = gramQuery.size() - PANJANG_GRAM * jarakMaks;
+        if (minimal <= 0) {
+            return null;
+        }
+
+        Map<String, Integer> jumlahCocok = new HashMap<>();
+        for (String gram : gramQuery) {
+            Set<String> daftar = posting.get(gram);
+            if (daftar != null) {
+                for (String isbn : daftar) {
+                    jumlahCocok.merge(isbn, 1, Integer::sum);
+                }
+            }
+        }
+
+        Set<String> kandidat = new HashSet<>();
+        for (Map.Entry<String, Integer> entri : jumlahCocok.entrySet()) {
+            if (entri.getValue() >= minimal) {
+                kandidat.add(entri.getKey());
+            }
+        }
+        return kandidat;
+    }
+
+    static Set<String> trigram(String teks) {
+        Set<String> hasil = new HashSet<>();
+        for (int i = 0; i + PANJANG_GRAM <= teks.length(); i++) {
+            hasil.add(teks.substring(i, i + PANJANG_GRAM));
+        }
+        return hasil;
+    }
+}
@@ -0,0 +1,154 @@
+package repository;
+
+import model.Buku;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Format biner untuk menyimpan buku ke berkas
+ * Setiap rekaman terdiri dari panjang payload, CRC32, tipe rekaman, lalu payload
+ * Rekaman dengan panjang 0 atau CRC yang tidak cocok dianggap akhir log
+ */
+final class KodekBuku {
+    static final byte TIPE_SIMPAN = 1;
+    static final byte TIPE_HAPUS = 2;
+    static final byte TIPE_UPDATE_JUMLAH = 3;
+
+    // panjang payload (4) + crc32 (4) + tipe (1)
+    static final int UKURAN_HEADER_REKAMAN = 9;
+
+    private KodekBuku() {
+    }
+
+    /**
+     * Payload lengkap satu buku
+     */
+    static byte[] payloadBuku(Buku buku) {
+        byte[] isbn = utf8(buku.getIsbn());
+        byte[] judul = utf8(buku.getJudul());
+        byte[] pengarang = utf8(buku.getPengarang());
+        ByteBuffer buffer = ByteBuffer.allocate(ukuranTeks(isbn) + ukuranTeks(judul) + ukuranTeks(pengarang) + 16);
+        tulisTeks(buffer, isbn);
+        tulisTeks(buffer, judul);
+        tulisTeks(buffer, pengarang);
+        buffer.putInt(buku.getJumlahTotal());
+        buffer.putInt(buku.getJumlahTersedia());
+        buffer.putDouble(buku.getHarga());
+        return buffer.array();
+    }
+
+    /**
+     * Payload yang hanya berisi ISBN, dipakai untuk rekaman hapus
+     */
+    static byte[] payloadIsbn(String isbn) {
+        byte[] teks = utf8(isbn);
+        ByteBuffer buffer = ByteBuffer.allocate(ukuranTeks(teks));
+        tulisTeks(buffer, teks);
+        return buffer.array();
+    }
+
+    /**
+     * Payload ISBN dan jumlah tersedia baru, dipakai untuk rekaman update jumlah
+     */
+    static byte[] payloadJumlah(String isbn, int jumlahTersedia) {
+        byte[] teks = utf8(isbn);
+        ByteBuffer buffer = ByteBuffer.allocate(ukuranTeks(teks) + 4);
+        tulisTeks(buffer, teks);
+        buffer.putInt(jumlahTersedia);
+        return buffer.array();
+    }
+
+    static int ukuranRekaman(byte[] payload) {
+        return UKURAN_HEADER_REKAMAN + payload.length;
+    }
+
+    /**
+     * Menulis satu rekaman pada posisi buffer saat ini
+     */
+    static void tulisRekaman(ByteBuffer tujuan, byte tipe, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(tipe);
+        crc.update(payload);
+        tujuan.putInt(payload.length);
+        tujuan.putInt((int) crc.getValue());
+        tujuan.put(tipe);
+        tujuan.put(payload);
+    }
+
+    /**
+     * Memeriksa rekaman yang dimulai pada posisi tertentu
+     * @return ukuran total rekaman jika utuh, atau -1 jika akhir log atau rekaman rusak
+     */
+    static int periksaRekaman(ByteBuffer sumber, int posisi, int batas) {
+        if (posisi + UKURAN_HEADER_REKAMAN > batas) {
+            return -1;
+        }
+        int panjang = sumber.getInt(posisi);
+        if (panjang <= 0 || panjang > batas - posisi - UKURAN_HEADER_REKAMAN) {
+            return -1;
+        }
+
+        ByteBuffer isi = sumber.duplicate();
+        isi.limit(posisi + UKURAN_HEADER_REKAMAN + panjang);
+        isi.position(posisi + 8);
+        CRC32 crc = new CRC32();
+        crc.update(isi);
+        if ((int) crc.getValue() != sumber.getInt(posisi + 4)) {
+            return -1;
+        }
+        return UKURAN_HEADER_REKAMAN + panjang;
+    }
+
+    static byte tipeRekaman(ByteBuffer sumber, int posisi) {
+        return sumber.get(posisi + 8);
+    }
+
+    /**
+     * Buffer baru yang posisinya berada di awal payload rekaman
+     */
+    static ByteBuffer payload(ByteBuffer sumber, int posisi) {
+        ByteBuffer isi = sumber.duplicate();
+        isi.position(posisi + UKURAN_HEADER_REKAMAN);
+        return isi;
+    }
+
+    static Buku bacaBuku(ByteBuffer sumber) {
+        Buku buku = new Buku();
+        buku.setIsbn(bacaTeks(sumber));
+        buku.setJudul(bacaTeks(sumber));
+        buku.setPengarang(bacaTeks(sumber));
+        buku.setJumlahTotal(sumber.getInt());
+        buku.setJumlahTersedia(sumber.getInt());
+        buku.setHarga(sumber.getDouble());
+        return buku;
+    }
+
+    static String bacaTeks(ByteBuffer sumber) {
+        int panjang = sumber.getInt();
+        if (panjang < 0) {
+            return null;
+        }
+        byte[] teks = new byte[panjang];
+        sumber.get(teks);
+        return new String(teks, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String teks) {
+        return teks == null ? null : teks.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int ukuranTeks(byte[] teks) {
+        return 4 + (teks == null ? 0 : teks.length);
+    }
+
+    private static void tulisTeks(ByteBuffer tujuan, byte[] teks) {
+        if (teks == null) {
+            tujuan.putInt(-1);
+            return;
+        }
+        tujuan.putInt(teks.length);
+        tujuan.put(teks);
+    }
+}
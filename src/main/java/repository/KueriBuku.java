@@ -0,0 +1,209 @@
+package repository;
+
+import model.Buku;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Kueri gabungan untuk pencarian buku
+ * Semua kriteria yang diisi harus terpenuhi (AND), kriteria yang tidak diisi diabaikan
+ * Contoh: new KueriBuku().judulMengandung("java").pengarangMengandung("doe")
+ *             .hanyaTersedia().urutkan(KueriBuku.Urutan.JUDUL).batas(20)
+ */
+public class KueriBuku {
+    /**
+     * Urutan hasil kueri, seri selalu diurutkan berdasarkan ISBN naik,
+     * termasuk pada HARGA_TURUN
+     */
+    public enum Urutan {
+        ISBN,
+        JUDUL,
+        HARGA_NAIK,
+        HARGA_TURUN
+    }
+
+    private static final Comparator<Buku> URUTAN_ISBN = Comparator.comparing(Buku::getIsbn);
+    private static final Comparator<Buku> URUTAN_JUDUL = Comparator
+            .comparing(Buku::getJudul, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(URUTAN_ISBN);
+
+    private String judul;
+    private String judulNormal;
+    private String pengarang;
+    private String pengarangNormal;
+    private double hargaMin = Double.NEGATIVE_INFINITY;
+    private double hargaMax = Double.POSITIVE_INFINITY;
+    private boolean hanyaTersedia;
+    private Urutan urutan = Urutan.ISBN;
+    private int batas = Integer.MAX_VALUE;
+
+    /**
+     * Judul harus mengandung teks ini (case insensitive, aksen diabaikan)
+     */
+    public KueriBuku judulMengandung(String judul) {
+        if (judul == null || judul.trim().isEmpty()) {
+            throw new IllegalArgumentException("Judul kueri tidak boleh kosong!");
+        }
+        this.judul = judul;
+        this.judulNormal = KunciPencarian.normalisasi(judul);
+        return this;
+    }
+
+    /**
+     * Pengarang harus mengandung teks ini (case insensitive, aksen diabaikan)
+     */
+    public KueriBuku pengarangMengandung(String pengarang) {
+        if (pengarang == null || pengarang.trim().isEmpty()) {
+            throw new IllegalArgumentException("Pengarang kueri tidak boleh kosong!");
+        }
+        this.pengarang = pengarang;
+        this.pengarangNormal = KunciPencarian.normalisasi(pengarang);
+        return this;
+    }
+
+    /**
+     * Harga harus di antara min dan max (inklusif)
+     */
+    public KueriBuku hargaAntara(double min, double max) {
+        if (min > max) {
+            throw new IllegalArgumentException("Harga minimal tidak boleh lebih besar dari harga maksimal!");
+        }
+        this.hargaMin = min;
+        this.hargaMax = max;
+        return this;
+    }
+
+    /**
+     * Hanya buku yang masih memiliki salinan tersedia
+     */
+    public KueriBuku hanyaTersedia() {
+        this.hanyaTersedia = true;
+        return this;
+    }
+
+    public KueriBuku urutkan(Urutan urutan) {
+        if (urutan == null) {
+            throw new IllegalArgumentException("Urutan tidak boleh null!");
+        }
+        this.urutan = urutan;
+        return this;
+    }
+
+    /**
+     * Jumlah hasil maksimal
+     */
+    public KueriBuku batas(int batas) {
+        if (batas <= 0) {
+            throw new IllegalArgumentException("Batas hasil harus positif!");
+        }
+        this.batas = batas;
+        return this;
+    }
+
+    public String getJudul() {
+        return judul;
+    }
+
+    public String getPengarang() {
+        return pengarang;
+    }
+
+    public double getHargaMin() {
+        return hargaMin;
+    }
+
+    public double getHargaMax() {
+        return hargaMax;
+    }
+
+    public boolean isHanyaTersedia() {
+        return hanyaTersedia;
+    }
+
+    public Urutan getUrutan() {
+        return urutan;
+    }
+
+    public int getBatas() {
+        return batas;
+    }
+
+    String getJudulNormal() {
+        return judulNormal;
+    }
+
+    String getPengarangNormal() {
+        return pengarangNormal;
+    }
+
+    /**
+     * Memeriksa semua kriteria, teks buku dinormalisasi saat itu juga
+     */
+    boolean cocok(Buku buku) {
+        return (judulNormal == null || mengandung(KunciPencarian.normalisasi(buku.getJudul()), judulNormal))
+                && (pengarangNormal == null || mengandung(KunciPencarian.normalisasi(buku.getPengarang()), pengarangNormal))
+                && cocokHargaDanStok(buku);
+    }
+
+    boolean cocokHargaDanStok(Buku buku) {
+        return buku.getHarga() >= hargaMin && buku.getHarga() <= hargaMax
+                && (!hanyaTersedia || buku.isTersedia());
+    }
+
+    Comparator<Buku> pembanding() {
+        switch (urutan) {
+            case JUDUL:
+                return URUTAN_JUDUL;
+            case HARGA_NAIK:
+                return RepositoryBuku.URUTAN_HARGA;
+            case HARGA_TURUN:
+                return RepositoryBuku.URUTAN_HARGA_TURUN;
+            default:
+                return URUTAN_ISBN;
+        }
+    }
+
+    /**
+     * Mengambil hasil teratas sesuai urutan dan batas kueri
+     * Dengan batas, hanya sejumlah batas buku yang disimpan di min-heap, bukan seluruh hasil
+     */
+    List<Buku> ambilTeratas(Stream<Buku> sumber) {
+        Comparator<Buku> pembanding = pembanding();
+        if (batas == Integer.MAX_VALUE) {
+            return sumber.sorted(pembanding).collect(Collectors.toList());
+        }
+
+        PriorityQueue<Buku> heap = new PriorityQueue<>(pembanding.reversed());
+        sumber.forEach(buku -> {
+            heap.add(buku);
+            if (heap.size() > batas) {
+                heap.poll();
+            }
+        });
+        List<Buku> hasil = new ArrayList<>(heap);
+        hasil.sort(pembanding);
+        return hasil;
+    }
+
+    private static boolean mengandung(String teks, String query) {
+        return teks != null && teks.contains(query);
+    }
+
+    @Override
+    public String toString() {
+        return "KueriBuku{" +
+                "judul='" + judul + '\'' +
+                ", pengarang='" + pengarang + '\'' +
+                ", hargaMin=" + hargaMin +
+                ", hargaMax=" + hargaMax +
+                ", hanyaTersedia=" + hanyaTersedia +
+                ", urutan=" + urutan +
+                ", batas=" + batas +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package repository;
+
+/**
+ * Representasi ISBN sebagai satu nilai long
+ * ISBN 10 dan 13 digit muat dalam long, panjang aslinya disimpan sebagai bit penanda
+ * sehingga "0987654321" dan "0000987654321" tetap berbeda, dan nilai 0 tidak pernah
+ * menjadi kunci yang valid
+ */
+final class KunciIsbn {
+    static final long TIDAK_VALID = 0L;
+
+    private static final long PENANDA_10_DIGIT = 1L << 60;
+    private static final long PENANDA_13_DIGIT = 1L << 61;
+    private static final long MASK_NILAI = PENANDA_10_DIGIT - 1;
+
+    private KunciIsbn() {
+    }
+
+    /**
+     * Mengemas ISBN menjadi long, tanda hubung dan spasi diabaikan seperti pada
+     * ValidationUtils.isValidISBN
+     * @param isbn ISBN yang dikemas
+     * @return kunci long, atau TIDAK_VALID jika bukan ISBN 10 atau 13 digit
+     */
+    static long kemas(String isbn) {
+        if (isbn == null) {
+            return TIDAK_VALID;
+        }
+
+        long nilai = 0;
+        int jumlahDigit = 0;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++jumlahDigit > 13) {
+                    return TIDAK_VALID;
+                }
+                nilai = nilai * 10 + (c - '0');
+            } else if (c != '-' && !Character.isWhitespace(c)) {
+                return TIDAK_VALID;
+            }
+        }
+
+        if (jumlahDigit == 10) {
+            return nilai | PENANDA_10_DIGIT;
+        } else if (jumlahDigit == 13) {
+            return nilai | PENANDA_13_DIGIT;
+        }
+        return TIDAK_VALID;
+    }
+
+    /**
+     * Mengembalikan kunci menjadi ISBN kanonik tanpa tanda hubung
+     * @param kunci kunci hasil kemas
+     * @return ISBN 10 atau 13 digit
+     */
+    static String buka(long kunci) {
+        long nilai = kunci & MASK_NILAI;
+        return (kunci & PENANDA_13_DIGIT) != 0
+                ? String.format("%013d", nilai)
+                : String.format("%010d", nilai);
+    }
+}
@@ -0,0 +1,106 @@
+package repository;
+
+import model.Buku;
+
+import java.text.Normalizer;
+
+/**
+ * Bentuk pencarian judul dan pengarang yang dihitung sekali saat buku disimpan
+ * Teks dinormalisasi menjadi huruf kecil, tanpa aksen, dan spasi beruntun
+ * dipadatkan menjadi satu, sehingga pencarian cukup membandingkan string
+ * yang sudah ada tanpa membuat salinan huruf kecil per buku per query
+ */
+final class KunciPencarian {
+    private final Buku buku;
+    private final String judul;
+    private final String pengarang;
+
+    KunciPencarian(Buku buku) {
+        this.buku = buku;
+        this.judul = normalisasi(buku.getJudul());
+        this.pengarang = normalisasi(buku.getPengarang());
+    }
+
+    Buku getBuku() {
+        return buku;
+    }
+
+    /**
+     * Judul yang sudah dinormalisasi, null jika buku tidak memiliki judul
+     */
+    String getJudul() {
+        return judul;
+    }
+
+    /**
+     * Pengarang yang sudah dinormalisasi, null jika buku tidak memiliki pengarang
+     */
+    String getPengarang() {
+        return pengarang;
+    }
+
+    boolean judulMengandung(String queryNormal) {
+        return judul != null && judul.contains(queryNormal);
+    }
+
+    boolean pengarangMengandung(String queryNormal) {
+        return pengarang != null && pengarang.contains(queryNormal);
+    }
+
+    /**
+     * Menormalisasi teks untuk pencarian: huruf kecil per code point (tidak
+     * bergantung locale), tanda diakritik dibuang setelah dekomposisi NFD,
+     * dan setiap deretan whitespace Unicode diganti satu spasi
+     * Teks yang sudah normal dikembalikan apa adanya tanpa alokasi
+     * @param teks teks asli, boleh null
+     * @return teks yang sudah dinormalisasi, atau null jika teks null
+     */
+    static String normalisasi(String teks) {
+        if (teks == null || sudahNormal(teks)) {
+            return teks;
+        }
+
+        String terurai = Normalizer.normalize(teks, Normalizer.Form.NFD);
+        StringBuilder hasil = new StringBuilder(terurai.length());
+        boolean dalamSpasi = false;
+        for (int i = 0; i < terurai.length(); ) {
+            int kodePoint = terurai.codePointAt(i);
+            i += Character.charCount(kodePoint);
+            if (tandaDiakritik(kodePoint)) {
+                continue;
+            }
+            if (Character.isWhitespace(kodePoint) || Character.isSpaceChar(kodePoint)) {
+                if (!dalamSpasi) {
+                    hasil.append(' ');
+                    dalamSpasi = true;
+                }
+                continue;
+            }
+            hasil.appendCodePoint(Character.toLowerCase(kodePoint));
+            dalamSpasi = false;
+        }
+        return hasil.toString();
+    }
+
+    /**
+     * Jalur cepat untuk teks ASCII tanpa huruf besar dan tanpa whitespace selain spasi tunggal
+     */
+    private static boolean sudahNormal(String teks) {
+        char sebelumnya = 0;
+        for (int i = 0; i < teks.length(); i++) {
+            char c = teks.charAt(i);
+            if (c >= 0x80 || (c >= 'A' && c <= 'Z') || (c < ' ') || (c == ' ' && sebelumnya == ' ')) {
+                return false;
+            }
+            sebelumnya = c;
+        }
+        return true;
+    }
+
+    private static boolean tandaDiakritik(int kodePoint) {
+        int tipe = Character.getType(kodePoint);
+        return tipe == Character.NON_SPACING_MARK
+                || tipe == Character.COMBINING_SPACING_MARK
+                || tipe == Character.ENCLOSING_MARK;
+    }
+}
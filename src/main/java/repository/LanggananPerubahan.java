@@ -0,0 +1,55 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Langganan aliran perubahan katalog mulai dari offset tertentu
+ * Konsumen memanggil ambil secara berkala untuk sinkronisasi inkremental.
+ * Satu langganan hanya boleh dipakai oleh satu thread
+ */
+public class LanggananPerubahan {
+    private final BufferCincinPerubahan buffer;
+    private long offset;
+
+    LanggananPerubahan(BufferCincinPerubahan buffer, long offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    /**
+     * Mengambil peristiwa berikutnya tanpa menunggu
+     * @param maks jumlah peristiwa maksimal
+     * @return peristiwa terurut, kosong jika belum ada perubahan baru
+     * @throws IllegalStateException jika konsumen tertinggal dan peristiwa di offset sudah ditimpa,
+     *         konsumen perlu sinkronisasi ulang penuh lalu berlangganan dari urutan terbaru
+     */
+    public List<PeristiwaPerubahan> ambil(int maks) {
+        if (maks <= 0) {
+            throw new IllegalArgumentException("Jumlah maksimal harus positif!");
+        }
+
+        List<PeristiwaPerubahan> hasil = new ArrayList<>(Math.min(maks, buffer.kapasitas()));
+        boolean utuh = buffer.baca(offset, maks, hasil);
+        if (!utuh && hasil.isEmpty()) {
+            throw new IllegalStateException("Langganan tertinggal, peristiwa urutan " + offset
+                    + " sudah ditimpa (tertua: " + buffer.urutanTertua() + ")");
+        }
+        offset += hasil.size();
+        return hasil;
+    }
+
+    /**
+     * Urutan peristiwa berikutnya yang akan dibaca, disimpan konsumen untuk melanjutkan langganan
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Jumlah peristiwa yang sudah diterbitkan tetapi belum dibaca
+     */
+    public long getJumlahTertunda() {
+        return Math.max(0, buffer.urutanBerikutnya() - offset);
+    }
+}
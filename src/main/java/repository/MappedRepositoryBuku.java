@@ -0,0 +1,257 @@
+package repository;
+
+import model.Buku;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Implementasi repository buku yang persisten
+ * Setiap perubahan ditambahkan ke log append-only yang dipetakan ke memori,
+ * sehingga simpan dan update tidak memerlukan system call per operasi
+ * Indeks ISBN ke offset rekaman terakhir disimpan di memori dan dibangun
+ * ulang dengan membaca log saat berkas dibuka
+ *
+ * Buku yang dikembalikan adalah salinan, perubahan harus melalui method repository
+ */
+public class MappedRepositoryBuku implements RepositoryBuku, Closeable {
+    private static final int MAGIC = 0x42554B55; // "BUKU"
+    private static final int UKURAN_HEADER_BERKAS = 4;
+    private static final int KAPASITAS_AWAL = 1 << 20;
+    private static final byte[] BLOK_NOL = new byte[8192];
+
+    private final FileChannel channel;
+    private final Map<String, Integer> offsetPerIsbn;
+    private MappedByteBuffer log;
+    private int posisiTulis;
+
+    /**
+     * Membuka atau membuat berkas log
+     * @param berkas lokasi berkas log
+     * @throws IOException jika berkas tidak bisa dibuka atau bukan log buku
+     */
+    public MappedRepositoryBuku(Path berkas) throws IOException {
+        this.channel = FileChannel.open(berkas, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.offsetPerIsbn = new HashMap<>();
+
+        try {
+            long ukuranBerkas = channel.size();
+            this.log = petakan((int) Math.max(KAPASITAS_AWAL, Math.min(ukuranBerkas, Integer.MAX_VALUE)));
+            if (ukuranBerkas == 0) {
+                log.putInt(0, MAGIC);
+            } else if (log.getInt(0) != MAGIC) {
+                throw new IOException("Berkas bukan log repository buku: " + berkas);
+            }
+            muatUlangIndeks();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Membaca seluruh log untuk membangun indeks ISBN
+     * Pembacaan berhenti pada rekaman pertama yang tidak utuh, sisa log setelahnya
+     * selalu dikosongkan agar tidak terbaca sebagai rekaman valid di kemudian hari,
+     * termasuk sisa rekaman yang panjangnya kebetulan nol
+     */
+    private void muatUlangIndeks() {
+        int posisi = UKURAN_HEADER_BERKAS;
+        int ukuran;
+        while ((ukuran = KodekBuku.periksaRekaman(log, posisi, log.capacity())) > 0) {
+            ByteBuffer payload = KodekBuku.payload(log, posisi);
+            String isbn = KodekBuku.bacaTeks(payload);
+            if (KodekBuku.tipeRekaman(log, posisi) == KodekBuku.TIPE_HAPUS) {
+                offsetPerIsbn.remove(isbn);
+            } else {
+                offsetPerIsbn.put(isbn, posisi);
+            }
+            posisi += ukuran;
+        }
+        posisiTulis = posisi;
+
+        ByteBuffer sisa = log.duplicate();
+        sisa.position(posisi);
+        while (sisa.hasRemaining()) {
+            sisa.put(BLOK_NOL, 0, Math.min(BLOK_NOL.length, sisa.remaining()));
+        }
+    }
+
+    @Override
+    public synchronized boolean simpan(Buku buku) {
+        if (buku == null || buku.getIsbn() == null || buku.getIsbn().trim().isEmpty()) {
+            return false;
+        }
+
+        int posisi = tambahkan(KodekBuku.TIPE_SIMPAN, KodekBuku.payloadBuku(buku));
+        offsetPerIsbn.put(buku.getIsbn(), posisi);
+        return true;
+    }
+
+    @Override
+    public synchronized Optional<Buku> cariByIsbn(String isbn) {
+        if (isbn == null || isbn.trim().isEmpty()) {
+            return Optional.empty();
+        }
+
+        Integer posisi = offsetPerIsbn.get(isbn);
+        return posisi == null ? Optional.empty() : Optional.of(baca(posisi));
+    }
+
+    @Override
+    public synchronized List<Buku> cariByJudul(String judul) {
+        if (judul == null || judul.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String judulLower = judul.toLowerCase();
+        return cariSemua().stream()
+                .filter(buku -> buku.getJudul() != null &&
+                        buku.getJudul().toLowerCase().contains(judulLower))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized List<Buku> cariByPengarang(String pengarang) {
+        if (pengarang == null || pengarang.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String pengarangLower = pengarang.toLowerCase();
+        return cariSemua().stream()
+                .filter(buku -> buku.getPengarang() != null &&
+                        buku.getPengarang().toLowerCase().contains(pengarangLower))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized boolean hapus(String isbn) {
+        if (isbn == null || isbn.trim().isEmpty() || !offsetPerIsbn.containsKey(isbn)) {
+            return false;
+        }
+
+        tambahkan(KodekBuku.TIPE_HAPUS, KodekBuku.payloadIsbn(isbn));
+        offsetPerIsbn.remove(isbn);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean updateJumlahTersedia(String isbn, int jumlahTersedia) {
+        if (isbn == null || jumlahTersedia < 0) {
+            return false;
+        }
+
+        Integer posisi = offsetPerIsbn.get(isbn);
+        if (posisi == null) {
+            return false;
+        }
+        Buku buku = baca(posisi);
+        if (jumlahTersedia > buku.getJumlahTotal()) {
+            return false;
+        }
+
+        buku.setJumlahTersedia(jumlahTersedia);
+        offsetPerIsbn.put(isbn, tambahkan(KodekBuku.TIPE_SIMPAN, KodekBuku.payloadBuku(buku)));
+        return true;
+    }
+
+    @Override
+    public synchronized boolean ubahJumlahTersedia(String isbn, int selisih) {
+        if (isbn == null) {
+            return false;
+        }
+
+        Integer posisi = offsetPerIsbn.get(isbn);
+        if (posisi == null) {
+            return false;
+        }
+        Buku buku = baca(posisi);
+        long jumlahBaru = (long) buku.getJumlahTersedia() + selisih;
+        if (jumlahBaru < 0 || jumlahBaru > buku.getJumlahTotal()) {
+            return false;
+        }
+
+        buku.setJumlahTersedia((int) jumlahBaru);
+        offsetPerIsbn.put(isbn, tambahkan(KodekBuku.TIPE_SIMPAN, KodekBuku.payloadBuku(buku)));
+        return true;
+    }
+
+    @Override
+    public synchronized List<Buku> cariSemua() {
+        List<Buku> hasil = new ArrayList<>(offsetPerIsbn.size());
+        for (int posisi : offsetPerIsbn.values()) {
+            hasil.add(baca(posisi));
+        }
+        return hasil;
+    }
+
+    /**
+     * Mendapatkan jumlah buku dalam repository
+     * @return jumlah buku
+     */
+    public synchronized int ukuran() {
+        return offsetPerIsbn.size();
+    }
+
+    /**
+     * Memaksa isi log ditulis ke disk, dipakai jika perlu tahan terhadap crash sistem operasi
+     * Tanpa pemanggilan ini, data tetap aman dari crash proses karena halaman
+     * yang dipetakan sudah berada di page cache
+     */
+    public synchronized void sinkronkan() {
+        log.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        log.force();
+        channel.close();
+    }
+
+    private Buku baca(int posisi) {
+        return KodekBuku.bacaBuku(KodekBuku.payload(log, posisi));
+    }
+
+    private int tambahkan(byte tipe, byte[] payload) {
+        int ukuran = KodekBuku.ukuranRekaman(payload);
+        // Sisakan 4 byte nol setelah rekaman terakhir sebagai penanda akhir log
+        if ((long) posisiTulis + ukuran + 4 > log.capacity()) {
+            perbesar((long) posisiTulis + ukuran + 4);
+        }
+
+        int posisi = posisiTulis;
+        ByteBuffer tujuan = log.duplicate();
+        tujuan.position(posisi);
+        KodekBuku.tulisRekaman(tujuan, tipe, payload);
+        posisiTulis = tujuan.position();
+        return posisi;
+    }
+
+    private void perbesar(long kebutuhan) {
+        if (kebutuhan > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Log repository buku melebihi batas 2 GB");
+        }
+        long kapasitasBaru = log.capacity();
+        while (kapasitasBaru < kebutuhan) {
+            kapasitasBaru *= 2;
+        }
+        try {
+            log = petakan((int) Math.min(kapasitasBaru, Integer.MAX_VALUE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MappedByteBuffer petakan(int kapasitas) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, kapasitas);
+    }
+}
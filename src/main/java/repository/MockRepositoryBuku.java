@@ -4,17 +4,41 @@ import model.Buku;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementasi mock manual untuk repository buku
  * Digunakan untuk testing tanpa dependency database
  */
-public class MockRepositoryBuku {
+public class MockRepositoryBuku implements RepositoryBuku {
     private final Map<String, Buku> repository;
+    private final Map<String, KunciPencarian> kunciPerIsbn;
+    private final NavigableSet<String> isbnTerurut;
+    private final IndeksTrigram indeksJudul;
+    private final IndeksPengarang indeksPengarang;
+    private final Map<String, Integer> ordinalPerIsbn;
+    private final Deque<Integer> ordinalBebas;
+    private final BitmapTersedia bitmapTersedia;
+    private final IndeksSaran indeksSaran;
+    private final IndeksBm25 indeksTeks;
+    private final IndeksHarga indeksHarga;
+    private final Object kunciTulis = new Object();
+    private int ordinalBerikutnya;
 
     public MockRepositoryBuku() {
         this.repository = new ConcurrentHashMap<>();
+        this.kunciPerIsbn = new ConcurrentHashMap<>();
+        this.isbnTerurut = new ConcurrentSkipListSet<>();
+        this.indeksJudul = new IndeksTrigram();
+        this.indeksPengarang = new IndeksPengarang();
+        this.ordinalPerIsbn = new ConcurrentHashMap<>();
+        this.ordinalBebas = new ArrayDeque<>();
+        this.bitmapTersedia = new BitmapTersedia();
+        this.indeksSaran = new IndeksSaran();
+        this.indeksTeks = new IndeksBm25();
+        this.indeksHarga = new IndeksHarga();
     }
 
     /**
@@ -22,20 +46,65 @@ public class MockRepositoryBuku {
      * @param buku buku yang akan disimpan
      * @return true jika berhasil, false jika gagal
      */
+    @Override
     public boolean simpan(Buku buku) {
-        if (buku == null || buku.getIsbn() == null || buku.getIsbn().trim().isEmpty()) {
+        if (!bisaDisimpan(buku)) {
             return false;
         }
 
-        repository.put(buku.getIsbn(), buku);
+        synchronized (kunciTulis) {
+            simpanDanIndeks(buku);
+        }
         return true;
     }
 
+    /**
+     * Menyimpan banyak buku dengan satu kali pengambilan kunci tulis
+     * @param daftarBuku buku yang akan disimpan
+     * @return hasil simpan per buku dengan urutan yang sama dengan input
+     */
+    @Override
+    public boolean[] simpanBatch(List<Buku> daftarBuku) {
+        boolean[] hasil = new boolean[daftarBuku.size()];
+        synchronized (kunciTulis) {
+            for (int i = 0; i < hasil.length; i++) {
+                Buku buku = daftarBuku.get(i);
+                if (bisaDisimpan(buku)) {
+                    simpanDanIndeks(buku);
+                    hasil[i] = true;
+                }
+            }
+        }
+        return hasil;
+    }
+
+    static boolean bisaDisimpan(Buku buku) {
+        return buku != null && buku.getIsbn() != null && !buku.getIsbn().trim().isEmpty();
+    }
+
+    private void simpanDanIndeks(Buku buku) {
+        int ordinal = ordinalPerIsbn.computeIfAbsent(buku.getIsbn(), k -> ambilOrdinal());
+        // Bit diset di dalam compute agar tidak balapan dengan perubahan stok pada ISBN yang sama
+        repository.compute(buku.getIsbn(), (kunci, lama) -> {
+            bitmapTersedia.set(ordinal, buku.isTersedia());
+            return buku;
+        });
+        KunciPencarian kunci = new KunciPencarian(buku);
+        kunciPerIsbn.put(buku.getIsbn(), kunci);
+        isbnTerurut.add(buku.getIsbn());
+        indeksJudul.tambah(buku.getIsbn(), kunci.getJudul());
+        indeksPengarang.tambah(buku.getIsbn(), kunci.getPengarang());
+        indeksSaran.tambah(buku.getIsbn(), buku.getJudul(), buku.getPengarang());
+        indeksTeks.tambah(buku.getIsbn(), kunci.getJudul(), kunci.getPengarang());
+        indeksHarga.tambah(buku.getIsbn(), buku.getHarga());
+    }
+
     /**
      * Mencari buku berdasarkan ISBN
      * @param isbn ISBN buku yang dicari
      * @return Optional berisi buku jika ditemukan, empty jika tidak
      */
+    @Override
     public Optional<Buku> cariByIsbn(String isbn) {
         if (isbn == null || isbn.trim().isEmpty()) {
             return Optional.empty();
@@ -46,49 +115,372 @@ public class MockRepositoryBuku {
 
     /**
      * Mencari buku berdasarkan judul (case insensitive, partial match)
+     * Query dengan panjang minimal 3 karakter dijawab lewat indeks trigram,
+     * query yang lebih pendek tetap memakai full scan
      * @param judul judul atau bagian judul yang dicari
      * @return list buku yang sesuai
      */
+    @Override
     public List<Buku> cariByJudul(String judul) {
+        return streamByJudul(judul).collect(Collectors.toList());
+    }
+
+    /**
+     * Mencari buku berdasarkan judul sebagai stream lazy
+     * Kandidat dari indeks trigram atau isi repository diverifikasi satu per satu
+     * saat stream dikonsumsi, sehingga operasi seperti findFirst berhenti lebih awal
+     * Perubahan yang terjadi selama iterasi mungkin terlihat dan mungkin tidak
+     * @param judul judul atau bagian judul yang dicari
+     * @return stream buku yang sesuai
+     */
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        if (judul == null || judul.trim().isEmpty()) {
+            return Stream.empty();
+        }
+
+        String judulNormal = KunciPencarian.normalisasi(judul);
+        return sumberJudul(judulNormal)
+                .filter(kunci -> kunci != null && kunci.judulMengandung(judulNormal))
+                .map(KunciPencarian::getBuku);
+    }
+
+    /**
+     * Menghitung buku berdasarkan judul tanpa alokasi per buku yang cocok
+     * @param judul judul atau bagian judul yang dicari
+     * @return jumlah buku yang sesuai
+     */
+    @Override
+    public long hitungByJudul(String judul) {
+        if (judul == null || judul.trim().isEmpty()) {
+            return 0;
+        }
+
+        String judulNormal = KunciPencarian.normalisasi(judul);
+        return sumberJudul(judulNormal)
+                .filter(kunci -> kunci != null && kunci.judulMengandung(judulNormal))
+                .count();
+    }
+
+    /**
+     * Kunci pencarian kandidat judul: irisan lazy posting list trigram, atau
+     * seluruh isi repository jika query terlalu pendek untuk indeks trigram
+     */
+    private Stream<KunciPencarian> sumberJudul(String judulNormal) {
+        Stream<String> kandidat = indeksJudul.streamKandidat(judulNormal);
+        return kandidat != null
+                ? kandidat.map(kunciPerIsbn::get)
+                : kunciPerIsbn.values().stream();
+    }
+
+    /**
+     * Mencari buku berdasarkan judul dengan toleransi salah ketik
+     * Kandidat disaring lewat jumlah trigram yang sama (q-gram lemma), lalu
+     * diverifikasi dengan jarak edit substring. Query yang terlalu pendek untuk
+     * jarak yang diminta tetap memakai full scan
+     * @param judul judul atau bagian judul yang dicari
+     * @param jarakMaks jumlah salah ketik maksimal
+     * @return list buku yang sesuai, yang paling mirip lebih dulu
+     */
+    @Override
+    public List<Buku> cariByJudulFuzzy(String judul, int jarakMaks) {
+        if (jarakMaks < 0) {
+            throw new IllegalArgumentException("Jarak maksimal tidak boleh negatif!");
+        }
         if (judul == null || judul.trim().isEmpty()) {
             return new ArrayList<>();
         }
 
-        String judulLower = judul.toLowerCase();
-        return repository.values().stream()
-                .filter(buku -> buku.getJudul() != null &&
-                        buku.getJudul().toLowerCase().contains(judulLower))
-                .collect(Collectors.toList());
+        String judulNormal = KunciPencarian.normalisasi(judul);
+        Set<String> kandidat = indeksJudul.cariKandidatFuzzy(judulNormal, jarakMaks);
+        Stream<Buku> sumber = kandidat != null
+                ? kandidat.stream().map(repository::get).filter(Objects::nonNull)
+                : repository.values().stream();
+        return RepositoryBuku.urutkanFuzzy(sumber, this::judulNormal, judulNormal, jarakMaks);
     }
 
     /**
-     * Mencari buku berdasarkan pengarang
+     * Mencari buku berdasarkan pengarang (case insensitive, partial match)
+     * Kandidat diambil dari indeks token pengarang, sehingga biaya pencarian
+     * mengikuti jumlah pengarang dan hasil, bukan jumlah buku
      * @param pengarang nama pengarang
      * @return list buku yang sesuai
      */
+    @Override
     public List<Buku> cariByPengarang(String pengarang) {
+        return streamByPengarang(pengarang).collect(Collectors.toList());
+    }
+
+    /**
+     * Mencari buku berdasarkan pengarang sebagai stream lazy
+     * @param pengarang nama pengarang
+     * @return stream buku yang sesuai
+     */
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        if (pengarang == null || pengarang.trim().isEmpty()) {
+            return Stream.empty();
+        }
+
+        String pengarangNormal = KunciPencarian.normalisasi(pengarang);
+        return indeksPengarang.streamCari(pengarangNormal)
+                .map(kunciPerIsbn::get)
+                .filter(kunci -> kunci != null && kunci.pengarangMengandung(pengarangNormal))
+                .map(KunciPencarian::getBuku);
+    }
+
+    /**
+     * Menghitung buku berdasarkan pengarang langsung dari ukuran posting list indeks pengarang
+     * @param pengarang nama pengarang
+     * @return jumlah buku yang sesuai
+     */
+    @Override
+    public long hitungByPengarang(String pengarang) {
         if (pengarang == null || pengarang.trim().isEmpty()) {
+            return 0;
+        }
+        return indeksPengarang.hitung(KunciPencarian.normalisasi(pengarang));
+    }
+
+    /**
+     * Mencari buku tersedia berdasarkan judul
+     * Kandidat dari indeks trigram disaring dulu lewat bitmap ketersediaan,
+     * sehingga hanya buku yang ada di rak yang judulnya diverifikasi
+     * @param judul judul atau bagian judul yang dicari
+     * @return list buku tersedia yang sesuai
+     */
+    @Override
+    public List<Buku> cariTersediaByJudul(String judul) {
+        if (judul == null || judul.trim().isEmpty()) {
             return new ArrayList<>();
         }
 
-        String pengarangLower = pengarang.toLowerCase();
-        return repository.values().stream()
-                .filter(buku -> buku.getPengarang() != null &&
-                        buku.getPengarang().toLowerCase().contains(pengarangLower))
+        String judulNormal = KunciPencarian.normalisasi(judul);
+        Set<String> kandidat = indeksJudul.cariKandidat(judulNormal);
+        Stream<KunciPencarian> sumber = kandidat != null
+                ? kandidat.stream().filter(this::tersedia).map(kunciPerIsbn::get)
+                : kunciPerIsbn.values().stream();
+        return sumber
+                .filter(kunci -> kunci != null && kunci.getBuku().isTersedia() && kunci.judulMengandung(judulNormal))
+                .map(KunciPencarian::getBuku)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Mencari buku tersedia berdasarkan pengarang
+     * @param pengarang nama pengarang
+     * @return list buku tersedia yang sesuai
+     */
+    @Override
+    public List<Buku> cariTersediaByPengarang(String pengarang) {
+        if (pengarang == null || pengarang.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String pengarangNormal = KunciPencarian.normalisasi(pengarang);
+        return indeksPengarang.cari(pengarangNormal).stream()
+                .filter(this::tersedia)
+                .map(kunciPerIsbn::get)
+                .filter(kunci -> kunci != null && kunci.getBuku().isTersedia() && kunci.pengarangMengandung(pengarangNormal))
+                .map(KunciPencarian::getBuku)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Saran autocomplete judul untuk kotak pencarian
+     * Awalan dicocokkan dengan awal setiap kata judul, diurutkan berdasarkan jumlah peminjaman
+     * @param awalan teks yang sudah diketik
+     * @param jumlah jumlah saran maksimal
+     * @return saran dengan popularitas tertinggi lebih dulu
+     */
+    @Override
+    public List<SaranPencarian> sarankanJudul(String awalan, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah saran harus positif!");
+        }
+        return indeksSaran.sarankanJudul(awalan, jumlah);
+    }
+
+    /**
+     * Saran autocomplete nama pengarang untuk kotak pencarian
+     * @param awalan teks yang sudah diketik
+     * @param jumlah jumlah saran maksimal
+     * @return saran dengan popularitas tertinggi lebih dulu
+     */
+    @Override
+    public List<SaranPencarian> sarankanPengarang(String awalan, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah saran harus positif!");
+        }
+        return indeksSaran.sarankanPengarang(awalan, jumlah);
+    }
+
+    /**
+     * Mencari buku dengan kueri gabungan melalui perencana kueri sederhana
+     * Jika ada kriteria teks, posting list terkecil dari indeks judul dan pengarang
+     * menjadi penggerak dan dibaca langsung tanpa disalin, kriteria lainnya diverifikasi
+     * dengan kunci pencarian. Tanpa kriteria teks,
+     * indeks yang urutannya sama dengan urutan kueri (ISBN atau harga) dibaca secara
+     * lazy sehingga pembacaan berhenti begitu batas terpenuhi. Ketersediaan dicek
+     * lewat bitmap sebelum buku dibaca, harga dan teks diverifikasi dengan kunci pencarian
+     * @param kueri kriteria, urutan dan batas hasil
+     * @return list buku sesuai urutan kueri, paling banyak sebanyak batas kueri
+     */
+    @Override
+    public List<Buku> cari(KueriBuku kueri) {
+        if (kueri == null) {
+            throw new IllegalArgumentException("Kueri tidak boleh null!");
+        }
+
+        // Ukuran posting list yang hidup dibandingkan tanpa menyalinnya, lalu hanya
+        // posting list terkecil yang dibaca. Kriteria lain diverifikasi oleh cocok
+        long ukuranJudul = kueri.getJudulNormal() != null ? indeksJudul.perkiraanKandidat(kueri.getJudulNormal()) : -1;
+        long ukuranPengarang = kueri.getPengarangNormal() != null ? indeksPengarang.hitung(kueri.getPengarangNormal()) : -1;
+
+        Stream<String> sumber;
+        boolean sudahTerurut;
+        if (ukuranJudul >= 0 && (ukuranPengarang < 0 || ukuranJudul <= ukuranPengarang)) {
+            sumber = indeksJudul.streamKandidat(kueri.getJudulNormal());
+            sudahTerurut = false;
+        } else if (ukuranPengarang >= 0) {
+            sumber = indeksPengarang.streamCari(kueri.getPengarangNormal());
+            sudahTerurut = false;
+        } else if (kueri.getUrutan() == KueriBuku.Urutan.HARGA_NAIK || kueri.getUrutan() == KueriBuku.Urutan.HARGA_TURUN) {
+            sumber = indeksHarga.streamRentang(kueri.getHargaMin(), kueri.getHargaMax(),
+                    kueri.getUrutan() == KueriBuku.Urutan.HARGA_TURUN);
+            sudahTerurut = true;
+        } else {
+            sumber = isbnTerurut.stream();
+            sudahTerurut = kueri.getUrutan() == KueriBuku.Urutan.ISBN;
+        }
+
+        if (kueri.isHanyaTersedia()) {
+            sumber = sumber.filter(this::tersedia);
+        }
+        Stream<Buku> hasil = sumber
+                .map(kunciPerIsbn::get)
+                .filter(kunci -> kunci != null && cocok(kueri, kunci))
+                .map(KunciPencarian::getBuku);
+        return sudahTerurut
+                ? hasil.limit(kueri.getBatas()).collect(Collectors.toList())
+                : kueri.ambilTeratas(hasil);
+    }
+
+    private static boolean cocok(KueriBuku kueri, KunciPencarian kunci) {
+        return (kueri.getJudulNormal() == null || kunci.judulMengandung(kueri.getJudulNormal()))
+                && (kueri.getPengarangNormal() == null || kunci.pengarangMengandung(kueri.getPengarangNormal()))
+                && kueri.cocokHargaDanStok(kunci.getBuku());
+    }
+
+    /**
+     * Mencari buku dengan harga di antara min dan max (inklusif) melalui indeks harga
+     * @param min harga minimal
+     * @param max harga maksimal
+     * @return list buku, harga termurah lebih dulu lalu berdasarkan ISBN
+     */
+    @Override
+    public List<Buku> cariByRentangHarga(double min, double max) {
+        if (min > max) {
+            throw new IllegalArgumentException("Harga minimal tidak boleh lebih besar dari harga maksimal!");
+        }
+        // Buku diganti sebelum indeks harga diperbarui, sehingga harga dicek ulang
+        return indeksHarga.cariRentang(min, max).stream()
+                .map(repository::get)
+                .filter(buku -> buku != null && buku.getHarga() >= min && buku.getHarga() <= max)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Mencari buku dengan harga tertinggi melalui indeks harga
+     * @param jumlah jumlah buku maksimal
+     * @return list buku, harga termahal lebih dulu lalu berdasarkan ISBN
+     */
+    @Override
+    public List<Buku> cariTermahal(int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah buku harus positif!");
+        }
+        return indeksHarga.cariTermahal(jumlah).stream()
+                .map(repository::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Pencarian teks lengkap pada judul dan pengarang dengan skor BM25
+     * Memakai indeks BM25 yang diperbarui setiap simpan dan hapus
+     * @param query teks pencarian
+     * @param jumlah jumlah hasil maksimal
+     * @return hasil paling relevan lebih dulu
+     */
+    @Override
+    public List<HasilPencarian> cariTeks(String query, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah hasil harus positif!");
+        }
+
+        List<HasilPencarian> hasil = new ArrayList<>();
+        indeksTeks.cari(query, jumlah).forEach((isbn, skor) -> {
+            Buku buku = repository.get(isbn);
+            if (buku != null) {
+                hasil.add(new HasilPencarian(buku, skor));
+            }
+        });
+        return hasil;
+    }
+
+    private String judulNormal(Buku buku) {
+        KunciPencarian kunci = kunciPerIsbn.get(buku.getIsbn());
+        return kunci != null ? kunci.getJudul() : null;
+    }
+
+    private boolean tersedia(String isbn) {
+        Integer ordinal = ordinalPerIsbn.get(isbn);
+        return ordinal != null && bitmapTersedia.get(ordinal);
+    }
+
     /**
      * Menghapus buku berdasarkan ISBN
      * @param isbn ISBN buku yang akan dihapus
      * @return true jika berhasil dihapus, false jika tidak ditemukan
      */
+    @Override
     public boolean hapus(String isbn) {
         if (isbn == null || isbn.trim().isEmpty()) {
             return false;
         }
 
-        return repository.remove(isbn) != null;
+        synchronized (kunciTulis) {
+            kunciPerIsbn.remove(isbn);
+            indeksJudul.hapus(isbn);
+            indeksPengarang.hapus(isbn);
+            indeksSaran.hapus(isbn);
+            indeksTeks.hapus(isbn);
+            indeksHarga.hapus(isbn);
+            isbnTerurut.remove(isbn);
+            Integer ordinal = ordinalPerIsbn.get(isbn);
+            boolean[] terhapus = {false};
+            repository.computeIfPresent(isbn, (kunci, buku) -> {
+                bitmapTersedia.set(ordinal, false);
+                terhapus[0] = true;
+                return null;
+            });
+            if (terhapus[0]) {
+                ordinalPerIsbn.remove(isbn);
+                ordinalBebas.push(ordinal);
+            }
+            return terhapus[0];
+        }
+    }
+
+    private int ambilOrdinal() {
+        int ordinal = ordinalBebas.isEmpty() ? ordinalBerikutnya++ : ordinalBebas.pop();
+        bitmapTersedia.siapkan(ordinal);
+        return ordinal;
+    }
+
+    private void tandaiKetersediaan(String isbn, Buku buku) {
+        bitmapTersedia.set(ordinalPerIsbn.get(isbn), buku.isTersedia());
     }
 
     /**
@@ -97,38 +489,121 @@ public class MockRepositoryBuku {
      * @param jumlahTersedia jumlah tersedia baru
      * @return true jika berhasil, false jika gagal
      */
+    @Override
     public boolean updateJumlahTersedia(String isbn, int jumlahTersedia) {
         if (isbn == null || jumlahTersedia < 0) {
             return false;
         }
 
-        Buku buku = repository.get(isbn);
-        if (buku == null) {
-            return false;
-        }
+        boolean[] berhasil = {false};
+        repository.computeIfPresent(isbn, (kunci, buku) -> {
+            // Validasi: jumlah tersedia tidak boleh melebihi jumlah total
+            if (jumlahTersedia <= buku.getJumlahTotal()) {
+                buku.setJumlahTersedia(jumlahTersedia);
+                tandaiKetersediaan(kunci, buku);
+                berhasil[0] = true;
+            }
+            return buku;
+        });
+        return berhasil[0];
+    }
 
-        // Validasi: jumlah tersedia tidak boleh melebihi jumlah total
-        if (jumlahTersedia > buku.getJumlahTotal()) {
+    /**
+     * Mengubah jumlah tersedia buku secara atomik
+     * Baca-ubah-tulis dilakukan di dalam computeIfPresent sehingga hanya
+     * entri ISBN tersebut yang terkunci, ISBN lain tetap bisa diubah paralel
+     * @param isbn ISBN buku
+     * @param selisih selisih jumlah tersedia
+     * @return true jika berhasil, false jika buku tidak ada atau hasil di luar batas
+     */
+    @Override
+    public boolean ubahJumlahTersedia(String isbn, int selisih) {
+        if (isbn == null) {
             return false;
         }
 
-        buku.setJumlahTersedia(jumlahTersedia);
-        return true;
+        boolean[] berhasil = {false};
+        repository.computeIfPresent(isbn, (kunci, buku) -> {
+            long jumlahBaru = (long) buku.getJumlahTersedia() + selisih;
+            if (jumlahBaru >= 0 && jumlahBaru <= buku.getJumlahTotal()) {
+                buku.setJumlahTersedia((int) jumlahBaru);
+                tandaiKetersediaan(kunci, buku);
+                berhasil[0] = true;
+            }
+            return buku;
+        });
+        if (berhasil[0] && selisih < 0) {
+            indeksSaran.catatPeminjaman(isbn, -(long) selisih);
+        }
+        return berhasil[0];
     }
 
     /**
      * Mengembalikan semua buku dalam repository
      * @return list semua buku
      */
+    @Override
     public List<Buku> cariSemua() {
         return new ArrayList<>(repository.values());
     }
 
+    /**
+     * Mengambil satu halaman katalog dalam urutan ISBN
+     * Halaman dibaca langsung dari himpunan ISBN terurut, tanpa menyalin seluruh katalog
+     * @param ukuranHalaman jumlah buku maksimal per halaman
+     * @param tokenLanjutan token dari halaman sebelumnya, null untuk halaman pertama
+     * @return halaman berisi buku dan token untuk halaman berikutnya
+     */
+    @Override
+    public HalamanBuku cariHalaman(int ukuranHalaman, String tokenLanjutan) {
+        if (ukuranHalaman <= 0) {
+            throw new IllegalArgumentException("Ukuran halaman harus positif!");
+        }
+
+        Iterator<String> iterator = (tokenLanjutan == null ? isbnTerurut : isbnTerurut.tailSet(tokenLanjutan, false)).iterator();
+        List<Buku> isi = new ArrayList<>(ukuranHalaman);
+        String isbnTerakhir = null;
+        while (iterator.hasNext() && isi.size() < ukuranHalaman) {
+            String isbn = iterator.next();
+            Buku buku = repository.get(isbn);
+            if (buku != null) {
+                isi.add(buku);
+                isbnTerakhir = isbn;
+            }
+        }
+        return new HalamanBuku(isi, iterator.hasNext() ? isbnTerakhir : null);
+    }
+
+    /**
+     * Mengiterasi seluruh katalog secara lazy dalam urutan ISBN
+     * Buku yang dihapus selama iterasi dilewati
+     * @return stream buku
+     */
+    @Override
+    public Stream<Buku> streamSemua() {
+        return isbnTerurut.stream()
+                .map(repository::get)
+                .filter(Objects::nonNull);
+    }
+
     /**
      * Membersihkan repository (menghapus semua data)
      */
     public void bersihkan() {
-        repository.clear();
+        synchronized (kunciTulis) {
+            repository.clear();
+            kunciPerIsbn.clear();
+            isbnTerurut.clear();
+            indeksJudul.bersihkan();
+            indeksPengarang.bersihkan();
+            indeksSaran.bersihkan();
+            indeksTeks.bersihkan();
+            indeksHarga.bersihkan();
+            ordinalPerIsbn.clear();
+            ordinalBebas.clear();
+            ordinalBerikutnya = 0;
+            bitmapTersedia.bersihkan();
+        }
     }
 
     /**
@@ -139,6 +614,14 @@ public class MockRepositoryBuku {
         return repository.size();
     }
 
+    /**
+     * Mendapatkan jumlah buku yang masih memiliki salinan tersedia
+     * @return jumlah buku tersedia
+     */
+    public int hitungBukuTersedia() {
+        return bitmapTersedia.hitung();
+    }
+
     /**
      * Mengecek apakah repository mengandung buku dengan ISBN tertentu
      * @param isbn ISBN yang dicek
@@ -0,0 +1,392 @@
+package repository;
+
+import model.Buku;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Implementasi repository buku dengan multi-version concurrency control
+ * Setiap perubahan membuat versi baru yang immutable dan ditautkan ke versi
+ * sebelumnya, sehingga pembaca yang mengunci sebuah nomor versi selalu melihat
+ * katalog yang konsisten, misalnya total ketersediaan yang benar-benar pernah ada
+ * Pembaca tidak pernah mengambil kunci, penulis hanya diserialkan sesama penulis
+ * dan tidak pernah menunggu pembaca. Versi lama dibuang begitu tidak ada snapshot
+ * yang masih membutuhkannya
+ *
+ * Buku yang dikembalikan adalah salinan, perubahan harus melalui method repository
+ */
+public class MvccRepositoryBuku implements RepositoryBuku {
+    private static final int AMBANG_REKLAMASI = 1024;
+
+    private final Map<String, Versi> rantaiPerIsbn = new ConcurrentHashMap<>();
+    private final NavigableSet<SnapshotKatalog> snapshotAktif = new ConcurrentSkipListSet<>();
+    private final AtomicLong versiTerbit = new AtomicLong();
+    private final AtomicLong nomorSnapshot = new AtomicLong();
+    private final Object kunciTulis = new Object();
+    private volatile long batasReklamasi;
+    private int tulisSejakReklamasi;
+
+    /**
+     * Membuka snapshot katalog pada versi terbaru yang sudah diterbitkan
+     * Snapshot wajib ditutup agar versi lama bisa dibuang
+     * @return snapshot yang konsisten
+     */
+    public SnapshotKatalog bukaSnapshot() {
+        while (true) {
+            long versi = versiTerbit.get();
+            SnapshotKatalog snapshot = new SnapshotKatalog(versi, nomorSnapshot.incrementAndGet());
+            snapshotAktif.add(snapshot);
+            // Reklamasi yang dimulai sebelum snapshot terdaftar mungkin sudah membuang versi ini
+            if (batasReklamasi <= versi) {
+                return snapshot;
+            }
+            snapshotAktif.remove(snapshot);
+        }
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (!bisaDisimpan(buku)) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            long versi = versiTerbit.get() + 1;
+            tulis(buku.getIsbn(), versi, salin(buku));
+            terbitkan(versi, 1);
+        }
+        return true;
+    }
+
+    /**
+     * Menyimpan banyak buku sebagai satu versi, pembaca melihat semua atau tidak sama sekali
+     */
+    @Override
+    public boolean[] simpanBatch(List<Buku> daftarBuku) {
+        boolean[] hasil = new boolean[daftarBuku.size()];
+        synchronized (kunciTulis) {
+            long versi = versiTerbit.get() + 1;
+            for (int i = 0; i < hasil.length; i++) {
+                Buku buku = daftarBuku.get(i);
+                if (bisaDisimpan(buku)) {
+                    tulis(buku.getIsbn(), versi, salin(buku));
+                    hasil[i] = true;
+                }
+            }
+            terbitkan(versi, hasil.length);
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        if (isbn == null || isbn.trim().isEmpty()) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            if (bukuTerbaru(isbn) == null) {
+                return false;
+            }
+            long versi = versiTerbit.get() + 1;
+            tulis(isbn, versi, null);
+            terbitkan(versi, 1);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersedia) {
+        if (isbn == null || jumlahTersedia < 0) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            Buku lama = bukuTerbaru(isbn);
+            if (lama == null || jumlahTersedia > lama.getJumlahTotal()) {
+                return false;
+            }
+            gantiJumlahTersedia(lama, jumlahTersedia);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean ubahJumlahTersedia(String isbn, int selisih) {
+        if (isbn == null) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            Buku lama = bukuTerbaru(isbn);
+            if (lama == null) {
+                return false;
+            }
+            long jumlahBaru = (long) lama.getJumlahTersedia() + selisih;
+            if (jumlahBaru < 0 || jumlahBaru > lama.getJumlahTotal()) {
+                return false;
+            }
+            gantiJumlahTersedia(lama, (int) jumlahBaru);
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        try (SnapshotKatalog snapshot = bukaSnapshot()) {
+            return snapshot.cariByIsbn(isbn);
+        }
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        try (SnapshotKatalog snapshot = bukaSnapshot()) {
+            return snapshot.cariByJudul(judul);
+        }
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        try (SnapshotKatalog snapshot = bukaSnapshot()) {
+            return snapshot.cariByPengarang(pengarang);
+        }
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        try (SnapshotKatalog snapshot = bukaSnapshot()) {
+            return snapshot.cariSemua();
+        }
+    }
+
+    /**
+     * Nomor versi terbaru yang sudah terlihat oleh pembaca
+     */
+    public long getVersiTerbit() {
+        return versiTerbit.get();
+    }
+
+    /**
+     * Jumlah versi yang masih disimpan, termasuk versi lama yang belum dibuang
+     * @return jumlah versi
+     */
+    public int getJumlahVersiTersimpan() {
+        int jumlah = 0;
+        for (Versi kepala : rantaiPerIsbn.values()) {
+            for (Versi v = kepala; v != null; v = v.sebelumnya) {
+                jumlah++;
+            }
+        }
+        return jumlah;
+    }
+
+    /**
+     * Membuang versi yang tidak lagi terlihat oleh snapshot mana pun
+     * Dijalankan otomatis secara berkala oleh penulis
+     */
+    public void reklamasi() {
+        synchronized (kunciTulis) {
+            long batas = hitungBatasReklamasi();
+            for (Map.Entry<String, Versi> entri : rantaiPerIsbn.entrySet()) {
+                pangkas(entri.getKey(), entri.getValue(), batas);
+            }
+            tulisSejakReklamasi = 0;
+        }
+    }
+
+    private void gantiJumlahTersedia(Buku lama, int jumlahTersedia) {
+        Buku baru = salin(lama);
+        baru.setJumlahTersedia(jumlahTersedia);
+        long versi = versiTerbit.get() + 1;
+        tulis(lama.getIsbn(), versi, baru);
+        terbitkan(versi, 1);
+    }
+
+    /**
+     * Menautkan versi baru di depan rantai ISBN sekaligus memangkas versi lama di rantai tersebut
+     */
+    private void tulis(String isbn, long versi, Buku buku) {
+        Versi kepala = new Versi(versi, buku, rantaiPerIsbn.get(isbn));
+        rantaiPerIsbn.put(isbn, kepala);
+        pangkas(isbn, kepala, hitungBatasReklamasi());
+    }
+
+    /**
+     * Menerbitkan versi ke pembaca
+     * Rantai ISBN yang tidak ditulis ulang, termasuk buku yang sudah dihapus,
+     * dipangkas lewat reklamasi penuh setelah jumlah tulis sebanding ukuran katalog
+     */
+    private void terbitkan(long versi, int jumlahTulis) {
+        versiTerbit.set(versi);
+        tulisSejakReklamasi += jumlahTulis;
+        if (tulisSejakReklamasi >= Math.max(AMBANG_REKLAMASI, rantaiPerIsbn.size())) {
+            reklamasi();
+        }
+    }
+
+    /**
+     * Versi tertua yang masih mungkin dibaca
+     * Batas diterbitkan sebelum snapshot aktif dibaca, sehingga snapshot yang
+     * terdaftar setelahnya dengan versi lebih lama akan mencoba ulang di bukaSnapshot
+     */
+    private long hitungBatasReklamasi() {
+        long batas = versiTerbit.get();
+        batasReklamasi = batas;
+        if (!snapshotAktif.isEmpty()) {
+            try {
+                batas = Math.min(batas, snapshotAktif.first().versi);
+            } catch (NoSuchElementException e) {
+                // Snapshot terakhir baru saja ditutup
+            }
+        }
+        return batas;
+    }
+
+    /**
+     * Menyisakan versi terbaru yang terlihat pada batas beserta versi yang lebih baru
+     */
+    private void pangkas(String isbn, Versi kepala, long batas) {
+        Versi v = kepala;
+        while (v != null && v.versi > batas) {
+            v = v.sebelumnya;
+        }
+        if (v == null) {
+            return;
+        }
+        v.sebelumnya = null;
+        if (v == kepala && v.buku == null) {
+            rantaiPerIsbn.remove(isbn, kepala);
+        }
+    }
+
+    private Buku bukuTerbaru(String isbn) {
+        Versi kepala = rantaiPerIsbn.get(isbn);
+        return kepala == null ? null : kepala.buku;
+    }
+
+    private static Versi versiTerlihat(Versi kepala, long versi) {
+        Versi v = kepala;
+        while (v != null && v.versi > versi) {
+            v = v.sebelumnya;
+        }
+        return v;
+    }
+
+    private static boolean bisaDisimpan(Buku buku) {
+        return buku != null && buku.getIsbn() != null && !buku.getIsbn().trim().isEmpty();
+    }
+
+    private static Buku salin(Buku buku) {
+        Buku salinan = new Buku(buku.getIsbn(), buku.getJudul(), buku.getPengarang(),
+                buku.getJumlahTotal(), buku.getHarga());
+        salinan.setJumlahTersedia(buku.getJumlahTersedia());
+        return salinan;
+    }
+
+    /**
+     * Satu versi buku, buku null menandakan buku dihapus pada versi ini
+     */
+    private static class Versi {
+        private final long versi;
+        private final Buku buku;
+        private volatile Versi sebelumnya;
+
+        Versi(long versi, Buku buku, Versi sebelumnya) {
+            this.versi = versi;
+            this.buku = buku;
+            this.sebelumnya = sebelumnya;
+        }
+    }
+
+    /**
+     * Pandangan katalog yang dikunci pada satu nomor versi
+     * Semua pembacaan lewat snapshot yang sama melihat data yang konsisten
+     * meskipun ada penulis yang berjalan bersamaan
+     */
+    public class SnapshotKatalog implements AutoCloseable, Comparable<SnapshotKatalog> {
+        private final long versi;
+        private final long nomor;
+
+        private SnapshotKatalog(long versi, long nomor) {
+            this.versi = versi;
+            this.nomor = nomor;
+        }
+
+        public long getVersi() {
+            return versi;
+        }
+
+        public Optional<Buku> cariByIsbn(String isbn) {
+            if (isbn == null || isbn.trim().isEmpty()) {
+                return Optional.empty();
+            }
+            Versi v = versiTerlihat(rantaiPerIsbn.get(isbn), versi);
+            return v == null || v.buku == null ? Optional.empty() : Optional.of(salin(v.buku));
+        }
+
+        public List<Buku> cariByJudul(String judul) {
+            if (judul == null || judul.trim().isEmpty()) {
+                return new ArrayList<>();
+            }
+            String judulLower = judul.toLowerCase();
+            return saring(buku -> buku.getJudul() != null && buku.getJudul().toLowerCase().contains(judulLower));
+        }
+
+        public List<Buku> cariByPengarang(String pengarang) {
+            if (pengarang == null || pengarang.trim().isEmpty()) {
+                return new ArrayList<>();
+            }
+            String pengarangLower = pengarang.toLowerCase();
+            return saring(buku -> buku.getPengarang() != null && buku.getPengarang().toLowerCase().contains(pengarangLower));
+        }
+
+        public List<Buku> cariSemua() {
+            return saring(buku -> true);
+        }
+
+        /**
+         * Total jumlah tersedia seluruh katalog pada versi snapshot
+         */
+        public long hitungTotalTersedia() {
+            long total = 0;
+            for (Versi kepala : rantaiPerIsbn.values()) {
+                Versi v = versiTerlihat(kepala, versi);
+                if (v != null && v.buku != null) {
+                    total += v.buku.getJumlahTersedia();
+                }
+            }
+            return total;
+        }
+
+        private List<Buku> saring(Predicate<Buku> syarat) {
+            List<Buku> hasil = new ArrayList<>();
+            for (Versi kepala : rantaiPerIsbn.values()) {
+                Versi v = versiTerlihat(kepala, versi);
+                if (v != null && v.buku != null && syarat.test(v.buku)) {
+                    hasil.add(salin(v.buku));
+                }
+            }
+            return hasil;
+        }
+
+        @Override
+        public void close() {
+            snapshotAktif.remove(this);
+        }
+
+        @Override
+        public int compareTo(SnapshotKatalog lain) {
+            int banding = Long.compare(versi, lain.versi);
+            return banding != 0 ? banding : Long.compare(nomor, lain.nomor);
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package repository;
+
+import model.Buku;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementasi repository buku yang menyimpan data di luar heap
+ * Setiap field buku disimpan sebagai kolom primitif di direct ByteBuffer,
+ * sedangkan judul dan pengarang disimpan sebagai UTF-8 di arena string off-heap.
+ * Heap hanya berisi beberapa array primitif untuk indeks ISBN, sehingga
+ * jumlah objek yang harus ditelusuri GC tidak bertambah seiring ukuran katalog
+ *
+ * Objek Buku hanya dibuat saat dibaca dan merupakan salinan lepas,
+ * perubahan harus melalui method repository. ISBN diperlakukan seperti
+ * pada PrimitiveRepositoryBuku (10 atau 13 digit, dikembalikan dalam bentuk kanonik)
+ */
+public class OffHeapRepositoryBuku implements RepositoryBuku {
+    private static final int KAPASITAS_AWAL = 1024;
+    private static final int KAPASITAS_ARENA_AWAL = 64 * 1024;
+    private static final int AMBANG_PEMADATAN_ARENA = 1 << 20;
+    private static final long TANPA_TEKS = -1L;
+    private static final VarHandle KOLOM_INT =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final ReadWriteLock kunci = new ReentrantReadWriteLock();
+    private final PetaLongInt ordinalPerIsbn;
+    private int kapasitas;
+    private ByteBuffer kolomIsbn;
+    private ByteBuffer kolomJumlahTotal;
+    private ByteBuffer kolomJumlahTersedia;
+    private ByteBuffer kolomHarga;
+    private ByteBuffer kolomJudul;
+    private ByteBuffer kolomPengarang;
+    private ByteBuffer arena;
+    private int posisiArena;
+    private int sampahArena;
+    private int[] ordinalBebas;
+    private int jumlahOrdinalBebas;
+    private int ordinalBerikutnya;
+
+    public OffHeapRepositoryBuku() {
+        this(KAPASITAS_AWAL);
+    }
+
+    /**
+     * @param kapasitasAwal perkiraan jumlah buku, untuk menghindari resize berulang
+     */
+    public OffHeapRepositoryBuku(int kapasitasAwal) {
+        this.kapasitas = Math.max(16, kapasitasAwal);
+        this.ordinalPerIsbn = new PetaLongInt(kapasitas);
+        this.kolomIsbn = alokasi(kapasitas * 8);
+        this.kolomJumlahTotal = alokasi(kapasitas * 4);
+        this.kolomJumlahTersedia = alokasi(kapasitas * 4);
+        this.kolomHarga = alokasi(kapasitas * 8);
+        this.kolomJudul = alokasi(kapasitas * 8);
+        this.kolomPengarang = alokasi(kapasitas * 8);
+        this.arena = alokasi(KAPASITAS_ARENA_AWAL);
+        this.ordinalBebas = new int[16];
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (buku == null) {
+            return false;
+        }
+        long isbn = KunciIsbn.kemas(buku.getIsbn());
+        if (isbn == KunciIsbn.TIDAK_VALID) {
+            return false;
+        }
+
+        kunci.writeLock().lock();
+        try {
+            int ordinal = ordinalPerIsbn.get(isbn);
+            if (ordinal == PetaLongInt.TIDAK_ADA) {
+                ordinal = ambilOrdinal();
+                ordinalPerIsbn.put(isbn, ordinal);
+            } else {
+                buangTeks(kolomJudul.getLong(ordinal * 8));
+                buangTeks(kolomPengarang.getLong(ordinal * 8));
+            }
+
+            kolomIsbn.putLong(ordinal * 8, isbn);
+            kolomJumlahTotal.putInt(ordinal * 4, buku.getJumlahTotal());
+            KOLOM_INT.setVolatile(kolomJumlahTersedia, ordinal * 4, buku.getJumlahTersedia());
+            kolomHarga.putDouble(ordinal * 8, buku.getHarga());
+            kolomJudul.putLong(ordinal * 8, tulisTeks(buku.getJudul()));
+            kolomPengarang.putLong(ordinal * 8, tulisTeks(buku.getPengarang()));
+            padatkanArenaJikaPerlu();
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        long kunciIsbn = KunciIsbn.kemas(isbn);
+        if (kunciIsbn == KunciIsbn.TIDAK_VALID) {
+            return Optional.empty();
+        }
+
+        kunci.readLock().lock();
+        try {
+            int ordinal = ordinalPerIsbn.get(kunciIsbn);
+            return ordinal == PetaLongInt.TIDAK_ADA ? Optional.empty() : Optional.of(bangunBuku(ordinal));
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        if (judul == null || judul.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return cariTeks(true, judul.toLowerCase());
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        if (pengarang == null || pengarang.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return cariTeks(false, pengarang.toLowerCase());
+    }
+
+    private List<Buku> cariTeks(boolean kolomJudulDipakai, String queryLower) {
+        List<Buku> hasil = new ArrayList<>();
+        kunci.readLock().lock();
+        try {
+            ByteBuffer kolom = kolomJudulDipakai ? kolomJudul : kolomPengarang;
+            for (int ordinal = 0; ordinal < ordinalBerikutnya; ordinal++) {
+                if (kolomIsbn.getLong(ordinal * 8) == KunciIsbn.TIDAK_VALID) {
+                    continue;
+                }
+                String teks = bacaTeks(kolom.getLong(ordinal * 8));
+                if (teks != null && teks.toLowerCase().contains(queryLower)) {
+                    hasil.add(bangunBuku(ordinal));
+                }
+            }
+        } finally {
+            kunci.readLock().unlock();
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        long kunciIsbn = KunciIsbn.kemas(isbn);
+        if (kunciIsbn == KunciIsbn.TIDAK_VALID) {
+            return false;
+        }
+
+        kunci.writeLock().lock();
+        try {
+            int ordinal = ordinalPerIsbn.remove(kunciIsbn);
+            if (ordinal == PetaLongInt.TIDAK_ADA) {
+                return false;
+            }
+            buangTeks(kolomJudul.getLong(ordinal * 8));
+            buangTeks(kolomPengarang.getLong(ordinal * 8));
+            kolomIsbn.putLong(ordinal * 8, KunciIsbn.TIDAK_VALID);
+            kembalikanOrdinal(ordinal);
+            padatkanArenaJikaPerlu();
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersedia) {
+        if (jumlahTersedia < 0) {
+            return false;
+        }
+
+        kunci.readLock().lock();
+        try {
+            int ordinal = ordinal(isbn);
+            if (ordinal == PetaLongInt.TIDAK_ADA || jumlahTersedia > kolomJumlahTotal.getInt(ordinal * 4)) {
+                return false;
+            }
+            KOLOM_INT.setVolatile(kolomJumlahTersedia, ordinal * 4, jumlahTersedia);
+            return true;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean ubahJumlahTersedia(String isbn, int selisih) {
+        // Read lock menjaga kolom tidak dipindah saat resize, perubahan stok
+        // sendiri memakai CAS langsung pada memori off-heap
+        kunci.readLock().lock();
+        try {
+            int ordinal = ordinal(isbn);
+            if (ordinal == PetaLongInt.TIDAK_ADA) {
+                return false;
+            }
+            int jumlahTotal = kolomJumlahTotal.getInt(ordinal * 4);
+            while (true) {
+                int jumlahLama = (int) KOLOM_INT.getVolatile(kolomJumlahTersedia, ordinal * 4);
+                long jumlahBaru = (long) jumlahLama + selisih;
+                if (jumlahBaru < 0 || jumlahBaru > jumlahTotal) {
+                    return false;
+                }
+                if (KOLOM_INT.compareAndSet(kolomJumlahTersedia, ordinal * 4, jumlahLama, (int) jumlahBaru)) {
+                    return true;
+                }
+            }
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        kunci.readLock().lock();
+        try {
+            List<Buku> hasil = new ArrayList<>(ordinalPerIsbn.size());
+            for (int ordinal = 0; ordinal < ordinalBerikutnya; ordinal++) {
+                if (kolomIsbn.getLong(ordinal * 8) != KunciIsbn.TIDAK_VALID) {
+                    hasil.add(bangunBuku(ordinal));
+                }
+            }
+            return hasil;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mendapatkan jumlah buku dalam repository
+     * @return jumlah buku
+     */
+    public int ukuran() {
+        kunci.readLock().lock();
+        try {
+            return ordinalPerIsbn.size();
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mendapatkan jumlah byte off-heap yang sedang dialokasikan
+     * @return total byte kolom dan arena string
+     */
+    public long getUkuranOffHeap() {
+        kunci.readLock().lock();
+        try {
+            return (long) kapasitas * 40 + arena.capacity();
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    private int ordinal(String isbn) {
+        long kunciIsbn = KunciIsbn.kemas(isbn);
+        return kunciIsbn == KunciIsbn.TIDAK_VALID ? PetaLongInt.TIDAK_ADA : ordinalPerIsbn.get(kunciIsbn);
+    }
+
+    private Buku bangunBuku(int ordinal) {
+        Buku buku = new Buku();
+        buku.setIsbn(KunciIsbn.buka(kolomIsbn.getLong(ordinal * 8)));
+        buku.setJudul(bacaTeks(kolomJudul.getLong(ordinal * 8)));
+        buku.setPengarang(bacaTeks(kolomPengarang.getLong(ordinal * 8)));
+        buku.setJumlahTotal(kolomJumlahTotal.getInt(ordinal * 4));
+        buku.setJumlahTersedia((int) KOLOM_INT.getVolatile(kolomJumlahTersedia, ordinal * 4));
+        buku.setHarga(kolomHarga.getDouble(ordinal * 8));
+        return buku;
+    }
+
+    private long tulisTeks(String teks) {
+        if (teks == null) {
+            return TANPA_TEKS;
+        }
+
+        byte[] isi = teks.getBytes(StandardCharsets.UTF_8);
+        if ((long) posisiArena + isi.length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Arena string melebihi batas 2 GB");
+        }
+        if (posisiArena + isi.length > arena.capacity()) {
+            long kapasitasBaru = Math.max((long) arena.capacity() * 2, (long) posisiArena + isi.length);
+            arena = salin(arena, (int) Math.min(kapasitasBaru, Integer.MAX_VALUE), posisiArena);
+        }
+
+        ByteBuffer tujuan = arena.duplicate();
+        tujuan.position(posisiArena);
+        tujuan.put(isi);
+        long referensi = ((long) posisiArena << 32) | isi.length;
+        posisiArena += isi.length;
+        return referensi;
+    }
+
+    private String bacaTeks(long referensi) {
+        if (referensi == TANPA_TEKS) {
+            return null;
+        }
+
+        byte[] isi = new byte[(int) referensi];
+        ByteBuffer sumber = arena.duplicate();
+        sumber.position((int) (referensi >>> 32));
+        sumber.get(isi);
+        return new String(isi, StandardCharsets.UTF_8);
+    }
+
+    private void buangTeks(long referensi) {
+        if (referensi != TANPA_TEKS) {
+            sampahArena += (int) referensi;
+        }
+    }
+
+    /**
+     * Arena bersifat append-only, teks lama dari buku yang ditimpa atau dihapus
+     * dibuang dengan menyalin ulang teks yang masih hidup ke arena baru
+     */
+    private void padatkanArenaJikaPerlu() {
+        if (sampahArena < AMBANG_PEMADATAN_ARENA || sampahArena < posisiArena / 2) {
+            return;
+        }
+
+        ByteBuffer arenaLama = arena;
+        arena = alokasi(Math.max(KAPASITAS_ARENA_AWAL, posisiArena - sampahArena));
+        posisiArena = 0;
+        sampahArena = 0;
+        for (int ordinal = 0; ordinal < ordinalBerikutnya; ordinal++) {
+            if (kolomIsbn.getLong(ordinal * 8) != KunciIsbn.TIDAK_VALID) {
+                kolomJudul.putLong(ordinal * 8, pindahkanTeks(arenaLama, kolomJudul.getLong(ordinal * 8)));
+                kolomPengarang.putLong(ordinal * 8, pindahkanTeks(arenaLama, kolomPengarang.getLong(ordinal * 8)));
+            }
+        }
+    }
+
+    private long pindahkanTeks(ByteBuffer arenaLama, long referensi) {
+        if (referensi == TANPA_TEKS) {
+            return TANPA_TEKS;
+        }
+
+        ByteBuffer sumber = arenaLama.duplicate();
+        sumber.position((int) (referensi >>> 32));
+        sumber.limit(sumber.position() + (int) referensi);
+        ByteBuffer tujuan = arena.duplicate();
+        tujuan.position(posisiArena);
+        tujuan.put(sumber);
+        long referensiBaru = ((long) posisiArena << 32) | (int) referensi;
+        posisiArena += (int) referensi;
+        return referensiBaru;
+    }
+
+    private int ambilOrdinal() {
+        if (jumlahOrdinalBebas > 0) {
+            return ordinalBebas[--jumlahOrdinalBebas];
+        }
+        if (ordinalBerikutnya == kapasitas) {
+            perbesarKolom();
+        }
+        return ordinalBerikutnya++;
+    }
+
+    private void kembalikanOrdinal(int ordinal) {
+        if (jumlahOrdinalBebas == ordinalBebas.length) {
+            ordinalBebas = Arrays.copyOf(ordinalBebas, ordinalBebas.length * 2);
+        }
+        ordinalBebas[jumlahOrdinalBebas++] = ordinal;
+    }
+
+    private void perbesarKolom() {
+        if ((long) kapasitas * 2 * 8 > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Kolom off-heap melebihi batas 2 GB");
+        }
+        int kapasitasBaru = kapasitas * 2;
+        kolomIsbn = salin(kolomIsbn, kapasitasBaru * 8, kapasitas * 8);
+        kolomJumlahTotal = salin(kolomJumlahTotal, kapasitasBaru * 4, kapasitas * 4);
+        kolomJumlahTersedia = salin(kolomJumlahTersedia, kapasitasBaru * 4, kapasitas * 4);
+        kolomHarga = salin(kolomHarga, kapasitasBaru * 8, kapasitas * 8);
+        kolomJudul = salin(kolomJudul, kapasitasBaru * 8, kapasitas * 8);
+        kolomPengarang = salin(kolomPengarang, kapasitasBaru * 8, kapasitas * 8);
+        kapasitas = kapasitasBaru;
+    }
+
+    private static ByteBuffer salin(ByteBuffer lama, int kapasitasBaru, int jumlahByte) {
+        ByteBuffer baru = alokasi(kapasitasBaru);
+        ByteBuffer sumber = lama.duplicate();
+        sumber.position(0);
+        sumber.limit(jumlahByte);
+        baru.put(sumber);
+        baru.clear();
+        return baru;
+    }
+
+    private static ByteBuffer alokasi(int kapasitas) {
+        return ByteBuffer.allocateDirect(kapasitas).order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,55 @@
+package repository;
+
+import model.Buku;
+
+/**
+ * Satu peristiwa perubahan katalog untuk change-data-capture
+ * Buku lama dan baru adalah salinan pada saat perubahan terjadi,
+ * bukuLama null untuk TAMBAH dan bukuBaru null untuk HAPUS
+ */
+public class PeristiwaPerubahan {
+    public enum Jenis {
+        TAMBAH, UBAH, HAPUS, STOK
+    }
+
+    private final long urutan;
+    private final Jenis jenis;
+    private final Buku bukuLama;
+    private final Buku bukuBaru;
+
+    public PeristiwaPerubahan(long urutan, Jenis jenis, Buku bukuLama, Buku bukuBaru) {
+        this.urutan = urutan;
+        this.jenis = jenis;
+        this.bukuLama = bukuLama;
+        this.bukuBaru = bukuBaru;
+    }
+
+    public long getUrutan() {
+        return urutan;
+    }
+
+    public Jenis getJenis() {
+        return jenis;
+    }
+
+    public Buku getBukuLama() {
+        return bukuLama;
+    }
+
+    public Buku getBukuBaru() {
+        return bukuBaru;
+    }
+
+    public String getIsbn() {
+        return bukuBaru != null ? bukuBaru.getIsbn() : bukuLama.getIsbn();
+    }
+
+    @Override
+    public String toString() {
+        return "PeristiwaPerubahan{" +
+                "urutan=" + urutan +
+                ", jenis=" + jenis +
+                ", isbn='" + getIsbn() + '\'' +
+                '}';
+    }
+}
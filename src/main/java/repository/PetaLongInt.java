@@ -0,0 +1,140 @@
+package repository;
+
+import java.util.Arrays;
+
+/**
+ * Hash map open addressing dari long ke int tanpa objek per entri
+ * Memakai linear probing dengan penghapusan backward-shift sehingga tidak
+ * memerlukan tombstone. Kunci 0 dipakai sebagai penanda slot kosong
+ * Tidak thread-safe, pemanggil bertanggung jawab atas sinkronisasi
+ */
+final class PetaLongInt {
+    static final int TIDAK_ADA = -1;
+
+    private static final long KOSONG = 0L;
+    private static final double FAKTOR_BEBAN = 0.75;
+
+    private long[] kunci;
+    private int[] nilai;
+    private int ukuran;
+    private int batasUkuran;
+
+    PetaLongInt(int kapasitasAwal) {
+        int kapasitas = Integer.highestOneBit(Math.max(16, (int) (kapasitasAwal / FAKTOR_BEBAN)) - 1) << 1;
+        alokasi(kapasitas);
+    }
+
+    int get(long k) {
+        int mask = kunci.length - 1;
+        for (int i = slot(k, mask); ; i = (i + 1) & mask) {
+            long kunciSlot = kunci[i];
+            if (kunciSlot == k) {
+                return nilai[i];
+            }
+            if (kunciSlot == KOSONG) {
+                return TIDAK_ADA;
+            }
+        }
+    }
+
+    /**
+     * @return nilai lama, atau TIDAK_ADA jika kunci baru
+     */
+    int put(long k, int v) {
+        if (k == KOSONG) {
+            throw new IllegalArgumentException("Kunci 0 tidak didukung!");
+        }
+
+        int mask = kunci.length - 1;
+        int i = slot(k, mask);
+        while (kunci[i] != KOSONG) {
+            if (kunci[i] == k) {
+                int lama = nilai[i];
+                nilai[i] = v;
+                return lama;
+            }
+            i = (i + 1) & mask;
+        }
+
+        kunci[i] = k;
+        nilai[i] = v;
+        if (++ukuran > batasUkuran) {
+            perbesar();
+        }
+        return TIDAK_ADA;
+    }
+
+    /**
+     * @return nilai yang dihapus, atau TIDAK_ADA jika kunci tidak ada
+     */
+    int remove(long k) {
+        int mask = kunci.length - 1;
+        int i = slot(k, mask);
+        while (kunci[i] != k) {
+            if (kunci[i] == KOSONG) {
+                return TIDAK_ADA;
+            }
+            i = (i + 1) & mask;
+        }
+
+        int lama = nilai[i];
+        // Geser entri berikutnya ke belakang agar rantai probing tetap utuh
+        int kosong = i;
+        for (int j = (i + 1) & mask; kunci[j] != KOSONG; j = (j + 1) & mask) {
+            int ideal = slot(kunci[j], mask);
+            if (((j - ideal) & mask) >= ((j - kosong) & mask)) {
+                kunci[kosong] = kunci[j];
+                nilai[kosong] = nilai[j];
+                kosong = j;
+            }
+        }
+        kunci[kosong] = KOSONG;
+        ukuran--;
+        return lama;
+    }
+
+    int size() {
+        return ukuran;
+    }
+
+    void clear() {
+        Arrays.fill(kunci, KOSONG);
+        ukuran = 0;
+    }
+
+    /**
+     * Ukuran array internal, dipakai untuk menghitung memori per entri
+     */
+    int kapasitas() {
+        return kunci.length;
+    }
+
+    private void perbesar() {
+        long[] kunciLama = kunci;
+        int[] nilaiLama = nilai;
+        alokasi(kunciLama.length * 2);
+        ukuran = 0;
+        for (int i = 0; i < kunciLama.length; i++) {
+            if (kunciLama[i] != KOSONG) {
+                put(kunciLama[i], nilaiLama[i]);
+            }
+        }
+    }
+
+    private void alokasi(int kapasitas) {
+        kunci = new long[kapasitas];
+        nilai = new int[kapasitas];
+        batasUkuran = (int) (kapasitas * FAKTOR_BEBAN);
+    }
+
+    private static int slot(long k, int mask) {
+        // Finalizer MurmurHash3 agar digit ISBN yang berurutan tersebar merata
+        long h = k;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
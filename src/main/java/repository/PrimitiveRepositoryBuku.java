@@ -0,0 +1,257 @@
+package repository;
+
+import model.Buku;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementasi repository buku dengan kunci ISBN berupa long
+ * ISBN dikemas menjadi long (lihat KunciIsbn) dan dipetakan ke ordinal lewat
+ * hash map primitif, lalu buku disimpan dalam array berdasarkan ordinal.
+ * Tidak ada objek String kunci maupun node per entri seperti pada ConcurrentHashMap
+ *
+ * Hanya ISBN 10 atau 13 digit yang diterima, tanda hubung dan spasi diabaikan
+ * sehingga "978-602-1234-56-7" dan "9786021234567" dianggap ISBN yang sama
+ */
+public class PrimitiveRepositoryBuku implements RepositoryBuku {
+    private static final int KAPASITAS_AWAL = 1024;
+
+    private final ReadWriteLock kunci = new ReentrantReadWriteLock();
+    private final PetaLongInt ordinalPerIsbn;
+    private Buku[] daftarBuku;
+    private int[] ordinalBebas;
+    private int jumlahOrdinalBebas;
+    private int ordinalBerikutnya;
+
+    public PrimitiveRepositoryBuku() {
+        this(KAPASITAS_AWAL);
+    }
+
+    /**
+     * @param kapasitasAwal perkiraan jumlah buku, untuk menghindari resize berulang
+     */
+    public PrimitiveRepositoryBuku(int kapasitasAwal) {
+        int kapasitas = Math.max(16, kapasitasAwal);
+        this.ordinalPerIsbn = new PetaLongInt(kapasitas);
+        this.daftarBuku = new Buku[kapasitas];
+        this.ordinalBebas = new int[16];
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (buku == null) {
+            return false;
+        }
+        long isbn = KunciIsbn.kemas(buku.getIsbn());
+        if (isbn == KunciIsbn.TIDAK_VALID) {
+            return false;
+        }
+
+        kunci.writeLock().lock();
+        try {
+            int ordinal = ordinalPerIsbn.get(isbn);
+            if (ordinal == PetaLongInt.TIDAK_ADA) {
+                ordinal = ambilOrdinal();
+                ordinalPerIsbn.put(isbn, ordinal);
+            }
+            daftarBuku[ordinal] = buku;
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        return Optional.ofNullable(cari(KunciIsbn.kemas(isbn)));
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        if (judul == null || judul.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String judulLower = judul.toLowerCase();
+        List<Buku> hasil = new ArrayList<>();
+        kunci.readLock().lock();
+        try {
+            for (int i = 0; i < ordinalBerikutnya; i++) {
+                Buku buku = daftarBuku[i];
+                if (buku != null && buku.getJudul() != null && buku.getJudul().toLowerCase().contains(judulLower)) {
+                    hasil.add(buku);
+                }
+            }
+        } finally {
+            kunci.readLock().unlock();
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        if (pengarang == null || pengarang.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String pengarangLower = pengarang.toLowerCase();
+        List<Buku> hasil = new ArrayList<>();
+        kunci.readLock().lock();
+        try {
+            for (int i = 0; i < ordinalBerikutnya; i++) {
+                Buku buku = daftarBuku[i];
+                if (buku != null && buku.getPengarang() != null && buku.getPengarang().toLowerCase().contains(pengarangLower)) {
+                    hasil.add(buku);
+                }
+            }
+        } finally {
+            kunci.readLock().unlock();
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        long kunciIsbn = KunciIsbn.kemas(isbn);
+        if (kunciIsbn == KunciIsbn.TIDAK_VALID) {
+            return false;
+        }
+
+        kunci.writeLock().lock();
+        try {
+            int ordinal = ordinalPerIsbn.remove(kunciIsbn);
+            if (ordinal == PetaLongInt.TIDAK_ADA) {
+                return false;
+            }
+            daftarBuku[ordinal] = null;
+            kembalikanOrdinal(ordinal);
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersedia) {
+        if (jumlahTersedia < 0) {
+            return false;
+        }
+
+        // Read lock cukup karena struktur map tidak berubah, perubahan stok
+        // dikunci per buku sehingga ISBN lain tetap bisa diubah paralel
+        kunci.readLock().lock();
+        try {
+            Buku buku = cari(KunciIsbn.kemas(isbn));
+            if (buku == null) {
+                return false;
+            }
+            synchronized (buku) {
+                if (jumlahTersedia > buku.getJumlahTotal()) {
+                    return false;
+                }
+                buku.setJumlahTersedia(jumlahTersedia);
+                return true;
+            }
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean ubahJumlahTersedia(String isbn, int selisih) {
+        kunci.readLock().lock();
+        try {
+            Buku buku = cari(KunciIsbn.kemas(isbn));
+            if (buku == null) {
+                return false;
+            }
+            synchronized (buku) {
+                long jumlahBaru = (long) buku.getJumlahTersedia() + selisih;
+                if (jumlahBaru < 0 || jumlahBaru > buku.getJumlahTotal()) {
+                    return false;
+                }
+                buku.setJumlahTersedia((int) jumlahBaru);
+                return true;
+            }
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        kunci.readLock().lock();
+        try {
+            List<Buku> hasil = new ArrayList<>(ordinalPerIsbn.size());
+            for (int i = 0; i < ordinalBerikutnya; i++) {
+                if (daftarBuku[i] != null) {
+                    hasil.add(daftarBuku[i]);
+                }
+            }
+            return hasil;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mendapatkan jumlah buku dalam repository
+     * @return jumlah buku
+     */
+    public int ukuran() {
+        kunci.readLock().lock();
+        try {
+            return ordinalPerIsbn.size();
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    /**
+     * Membersihkan repository (menghapus semua data)
+     */
+    public void bersihkan() {
+        kunci.writeLock().lock();
+        try {
+            ordinalPerIsbn.clear();
+            Arrays.fill(daftarBuku, 0, ordinalBerikutnya, null);
+            ordinalBerikutnya = 0;
+            jumlahOrdinalBebas = 0;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    private Buku cari(long isbn) {
+        if (isbn == KunciIsbn.TIDAK_VALID) {
+            return null;
+        }
+
+        kunci.readLock().lock();
+        try {
+            int ordinal = ordinalPerIsbn.get(isbn);
+            return ordinal == PetaLongInt.TIDAK_ADA ? null : daftarBuku[ordinal];
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    private int ambilOrdinal() {
+        if (jumlahOrdinalBebas > 0) {
+            return ordinalBebas[--jumlahOrdinalBebas];
+        }
+        if (ordinalBerikutnya == daftarBuku.length) {
+            daftarBuku = Arrays.copyOf(daftarBuku, daftarBuku.length * 2);
+        }
+        return ordinalBerikutnya++;
+    }
+
+    private void kembalikanOrdinal(int ordinal) {
+        if (jumlahOrdinalBebas == ordinalBebas.length) {
+            ordinalBebas = Arrays.copyOf(ordinalBebas, ordinalBebas.length * 2);
+        }
+        ordinalBebas[jumlahOrdinalBebas++] = ordinal;
+    }
+}
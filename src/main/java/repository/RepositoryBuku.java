@@ -1,16 +1,313 @@
 package repository;
 
 import model.Buku;
+import util.JarakEdit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface RepositoryBuku {
+    /**
+     * Urutan harga lalu ISBN, dipakai oleh pencarian berdasarkan harga
+     */
+    Comparator<Buku> URUTAN_HARGA = Comparator.comparingDouble(Buku::getHarga).thenComparing(Buku::getIsbn);
+
+    /**
+     * Urutan harga termahal lebih dulu, harga yang sama tetap berdasarkan ISBN naik
+     */
+    Comparator<Buku> URUTAN_HARGA_TURUN = Comparator.comparingDouble(Buku::getHarga).reversed()
+            .thenComparing(Buku::getIsbn);
+
     boolean simpan (Buku buku);
     Optional<Buku> cariByIsbn (String isbn);
     List<Buku> cariByJudul (String Judul);
     List<Buku> cariByPengarang (String Pengarang);
     boolean hapus (String Isbn);
     boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru);
+
+    /**
+     * Mengubah jumlah tersedia secara atomik dengan selisih tertentu
+     * Perubahan hanya diterapkan jika hasilnya tetap di antara 0 dan jumlah total
+     * @param isbn ISBN buku
+     * @param selisih selisih jumlah tersedia, misalnya -1 untuk pinjam dan +1 untuk kembali
+     * @return true jika berhasil, false jika buku tidak ada atau hasil di luar batas
+     */
+    boolean ubahJumlahTersedia(String isbn, int selisih);
     List<Buku> cariSemua();
 
+    /**
+     * Menyimpan banyak buku sekaligus
+     * Implementasi bawaan memanggil simpan satu per satu, implementasi yang
+     * bisa melakukan bulk insert sebaiknya meng-override method ini
+     * @param daftarBuku buku yang akan disimpan
+     * @return hasil simpan per buku dengan urutan yang sama dengan input
+     */
+    default boolean[] simpanBatch(List<Buku> daftarBuku) {
+        boolean[] hasil = new boolean[daftarBuku.size()];
+        for (int i = 0; i < hasil.length; i++) {
+            hasil[i] = simpan(daftarBuku.get(i));
+        }
+        return hasil;
+    }
+
+    /**
+     * Mengambil satu halaman katalog dalam urutan ISBN yang stabil
+     * Implementasi bawaan mengurutkan cariSemua, implementasi yang menyimpan
+     * ISBN secara terurut sebaiknya meng-override method ini
+     * @param ukuranHalaman jumlah buku maksimal per halaman
+     * @param tokenLanjutan token dari halaman sebelumnya, null untuk halaman pertama
+     * @return halaman berisi buku dan token untuk halaman berikutnya
+     */
+    default HalamanBuku cariHalaman(int ukuranHalaman, String tokenLanjutan) {
+        if (ukuranHalaman <= 0) {
+            throw new IllegalArgumentException("Ukuran halaman harus positif!");
+        }
+
+        List<Buku> isi = cariSemua().stream()
+                .filter(buku -> tokenLanjutan == null || buku.getIsbn().compareTo(tokenLanjutan) > 0)
+                .sorted(Comparator.comparing(Buku::getIsbn))
+                .limit(ukuranHalaman + 1L)
+                .collect(Collectors.toList());
+        if (isi.size() <= ukuranHalaman) {
+            return new HalamanBuku(isi, null);
+        }
+        isi = isi.subList(0, ukuranHalaman);
+        return new HalamanBuku(isi, isi.get(ukuranHalaman - 1).getIsbn());
+    }
+
+    /**
+     * Mengiterasi seluruh katalog secara lazy dalam urutan ISBN
+     * Implementasi bawaan tetap membuat salinan lewat cariSemua
+     * @return stream buku
+     */
+    default Stream<Buku> streamSemua() {
+        return cariSemua().stream().sorted(Comparator.comparing(Buku::getIsbn));
+    }
+
+    /**
+     * Mencari buku berdasarkan judul sebagai stream lazy
+     * Cocok untuk pemanggil yang hanya butuh hasil pertama atau berhenti lebih awal
+     * Implementasi bawaan tetap membuat list lewat cariByJudul
+     * @param judul judul atau bagian judul yang dicari
+     * @return stream buku yang sesuai
+     */
+    default Stream<Buku> streamByJudul(String judul) {
+        return cariByJudul(judul).stream();
+    }
+
+    /**
+     * Mencari buku berdasarkan pengarang sebagai stream lazy
+     * Implementasi bawaan tetap membuat list lewat cariByPengarang
+     * @param pengarang nama pengarang
+     * @return stream buku yang sesuai
+     */
+    default Stream<Buku> streamByPengarang(String pengarang) {
+        return cariByPengarang(pengarang).stream();
+    }
+
+    /**
+     * Menghitung buku yang judulnya mengandung teks tertentu tanpa membuat list hasil
+     * @param judul judul atau bagian judul yang dicari
+     * @return jumlah buku yang sesuai
+     */
+    default long hitungByJudul(String judul) {
+        return streamByJudul(judul).count();
+    }
+
+    /**
+     * Menghitung buku yang pengarangnya mengandung teks tertentu tanpa membuat list hasil
+     * @param pengarang nama pengarang
+     * @return jumlah buku yang sesuai
+     */
+    default long hitungByPengarang(String pengarang) {
+        return streamByPengarang(pengarang).count();
+    }
+
+    /**
+     * Mencari buku yang masih memiliki salinan tersedia berdasarkan judul
+     * Implementasi bawaan menyaring hasil cariByJudul, implementasi yang
+     * menyimpan indeks ketersediaan sebaiknya meng-override method ini
+     * @param judul judul atau bagian judul yang dicari
+     * @return list buku tersedia yang sesuai
+     */
+    default List<Buku> cariTersediaByJudul(String judul) {
+        return cariByJudul(judul).stream().filter(Buku::isTersedia).collect(Collectors.toList());
+    }
+
+    /**
+     * Mencari buku yang masih memiliki salinan tersedia berdasarkan pengarang
+     * @param pengarang nama pengarang
+     * @return list buku tersedia yang sesuai
+     */
+    default List<Buku> cariTersediaByPengarang(String pengarang) {
+        return cariByPengarang(pengarang).stream().filter(Buku::isTersedia).collect(Collectors.toList());
+    }
+
+    /**
+     * Mencari buku berdasarkan judul dengan toleransi salah ketik
+     * Judul cocok jika memuat substring dengan jarak edit paling banyak jarakMaks dari query
+     * Implementasi bawaan memverifikasi setiap judul di cariSemua, implementasi
+     * yang memiliki indeks teks sebaiknya meng-override method ini
+     * @param judul judul atau bagian judul yang dicari
+     * @param jarakMaks jumlah salah ketik maksimal
+     * @return list buku yang sesuai, yang paling mirip lebih dulu
+     */
+    default List<Buku> cariByJudulFuzzy(String judul, int jarakMaks) {
+        if (jarakMaks < 0) {
+            throw new IllegalArgumentException("Jarak maksimal tidak boleh negatif!");
+        }
+        if (judul == null || judul.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return urutkanFuzzy(cariSemua().stream(), buku -> KunciPencarian.normalisasi(buku.getJudul()),
+                KunciPencarian.normalisasi(judul), jarakMaks);
+    }
+
+    /**
+     * Menyaring buku yang judulnya dalam jarak edit dan mengurutkannya dari yang paling mirip
+     * @param judulNormal bentuk pencarian judul setiap buku, null jika buku tidak memiliki judul
+     * @param queryNormal query yang sudah dinormalisasi dengan cara yang sama
+     */
+    static List<Buku> urutkanFuzzy(Stream<Buku> sumber, Function<Buku, String> judulNormal,
+                                   String queryNormal, int jarakMaks) {
+        Map<Buku, Integer> jarakPerBuku = new HashMap<>();
+        sumber.forEach(buku -> {
+            String judul = judulNormal.apply(buku);
+            if (judul == null) {
+                return;
+            }
+            int jarak = JarakEdit.jarakSubstring(queryNormal, judul);
+            if (jarak <= jarakMaks) {
+                jarakPerBuku.put(buku, jarak);
+            }
+        });
+        return jarakPerBuku.entrySet().stream()
+                .sorted(Map.Entry.<Buku, Integer>comparingByValue()
+                        .thenComparing(entri -> entri.getKey().getJudul()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Saran autocomplete judul, awalan dicocokkan dengan awal setiap kata judul
+     * Implementasi bawaan memindai cariSemua dan tidak mengenal popularitas,
+     * sehingga saran diurutkan alfabetis dengan popularitas 0
+     * @param awalan teks yang sudah diketik
+     * @param jumlah jumlah saran maksimal
+     * @return saran dengan popularitas tertinggi lebih dulu
+     */
+    default List<SaranPencarian> sarankanJudul(String awalan, int jumlah) {
+        return sarankanDariTeks(cariSemua().stream().map(Buku::getJudul), awalan, jumlah);
+    }
+
+    /**
+     * Saran autocomplete nama pengarang
+     * @param awalan teks yang sudah diketik
+     * @param jumlah jumlah saran maksimal
+     * @return saran dengan popularitas tertinggi lebih dulu
+     */
+    default List<SaranPencarian> sarankanPengarang(String awalan, int jumlah) {
+        return sarankanDariTeks(cariSemua().stream().map(Buku::getPengarang), awalan, jumlah);
+    }
+
+    /**
+     * Mencari buku dengan kueri gabungan judul, pengarang, rentang harga dan ketersediaan
+     * Implementasi bawaan menyaring cariSemua, implementasi yang memiliki indeks
+     * sebaiknya meng-override method ini agar memakai indeks yang paling selektif
+     * @param kueri kriteria, urutan dan batas hasil
+     * @return list buku sesuai urutan kueri, paling banyak sebanyak batas kueri
+     */
+    default List<Buku> cari(KueriBuku kueri) {
+        if (kueri == null) {
+            throw new IllegalArgumentException("Kueri tidak boleh null!");
+        }
+        return kueri.ambilTeratas(cariSemua().stream().filter(kueri::cocok));
+    }
+
+    /**
+     * Mencari buku dengan harga di antara min dan max (inklusif)
+     * Implementasi bawaan menyaring dan mengurutkan cariSemua, implementasi
+     * yang memiliki indeks harga sebaiknya meng-override method ini
+     * @param min harga minimal
+     * @param max harga maksimal
+     * @return list buku, harga termurah lebih dulu lalu berdasarkan ISBN
+     */
+    default List<Buku> cariByRentangHarga(double min, double max) {
+        if (min > max) {
+            throw new IllegalArgumentException("Harga minimal tidak boleh lebih besar dari harga maksimal!");
+        }
+        return cariSemua().stream()
+                .filter(buku -> buku.getHarga() >= min && buku.getHarga() <= max)
+                .sorted(URUTAN_HARGA)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Mencari buku dengan harga tertinggi
+     * @param jumlah jumlah buku maksimal
+     * @return list buku, harga termahal lebih dulu lalu berdasarkan ISBN
+     */
+    default List<Buku> cariTermahal(int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah buku harus positif!");
+        }
+        return cariSemua().stream()
+                .sorted(URUTAN_HARGA_TURUN)
+                .limit(jumlah)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Pencarian teks lengkap pada judul dan pengarang, diurutkan berdasarkan skor BM25
+     * Kata di judul berbobot lebih besar daripada kata di pengarang, stop-word diabaikan
+     * Implementasi bawaan membangun indeks sementara dari cariSemua pada setiap pemanggilan
+     * @param query teks pencarian
+     * @param jumlah jumlah hasil maksimal
+     * @return hasil paling relevan lebih dulu
+     */
+    default List<HasilPencarian> cariTeks(String query, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah hasil harus positif!");
+        }
+        Map<String, Buku> bukuPerIsbn = new HashMap<>();
+        IndeksBm25 indeks = new IndeksBm25();
+        for (Buku buku : cariSemua()) {
+            bukuPerIsbn.put(buku.getIsbn(), buku);
+            indeks.tambah(buku.getIsbn(), buku.getJudul(), buku.getPengarang());
+        }
+        List<HasilPencarian> hasil = new ArrayList<>();
+        indeks.cari(query, jumlah).forEach((isbn, skor) -> hasil.add(new HasilPencarian(bukuPerIsbn.get(isbn), skor)));
+        return hasil;
+    }
+
+    private static List<SaranPencarian> sarankanDariTeks(Stream<String> daftarTeks, String awalan, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah saran harus positif!");
+        }
+        String awalanNormal = TrieSaran.normalisasi(awalan);
+        if (awalanNormal == null) {
+            return new ArrayList<>();
+        }
+
+        Map<String, String> tampilanPerTeks = new TreeMap<>();
+        daftarTeks.filter(Objects::nonNull).forEach(teks -> {
+            String teksNormal = TrieSaran.normalisasi(teks);
+            if (teksNormal != null && (teksNormal.startsWith(awalanNormal) || teksNormal.contains(" " + awalanNormal))) {
+                tampilanPerTeks.putIfAbsent(teksNormal, teks.trim());
+            }
+        });
+        return tampilanPerTeks.values().stream()
+                .limit(jumlah)
+                .map(teks -> new SaranPencarian(teks, 0))
+                .collect(Collectors.toList());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package repository;
+
+import model.Buku;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Dasar decorator repository buku yang meneruskan setiap operasi ke repository asli
+ * Decorator cukup meng-override operasi yang memang dicegatnya, sehingga
+ * operasi baca yang dioptimalkan repository asli tetap dipakai apa adanya
+ */
+public abstract class RepositoryBukuDelegasi implements RepositoryBuku {
+    protected final RepositoryBuku repositoryAsli;
+
+    /**
+     * @param repositoryAsli repository yang dibungkus
+     */
+    protected RepositoryBukuDelegasi(RepositoryBuku repositoryAsli) {
+        if (repositoryAsli == null) {
+            throw new IllegalArgumentException("Repository tidak boleh null!");
+        }
+        this.repositoryAsli = repositoryAsli;
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        return repositoryAsli.simpan(buku);
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        return repositoryAsli.cariByIsbn(isbn);
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return repositoryAsli.cariByJudul(judul);
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return repositoryAsli.cariByPengarang(pengarang);
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        return repositoryAsli.hapus(isbn);
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        return repositoryAsli.updateJumlahTersedia(isbn, jumlahTersediaBaru);
+    }
+
+    @Override
+    public boolean ubahJumlahTersedia(String isbn, int selisih) {
+        return repositoryAsli.ubahJumlahTersedia(isbn, selisih);
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        return repositoryAsli.cariSemua();
+    }
+
+    @Override
+    public boolean[] simpanBatch(List<Buku> daftarBuku) {
+        return repositoryAsli.simpanBatch(daftarBuku);
+    }
+
+    @Override
+    public HalamanBuku cariHalaman(int ukuranHalaman, String tokenLanjutan) {
+        return repositoryAsli.cariHalaman(ukuranHalaman, tokenLanjutan);
+    }
+
+    @Override
+    public Stream<Buku> streamSemua() {
+        return repositoryAsli.streamSemua();
+    }
+
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        return repositoryAsli.streamByJudul(judul);
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        return repositoryAsli.streamByPengarang(pengarang);
+    }
+
+    @Override
+    public long hitungByJudul(String judul) {
+        return repositoryAsli.hitungByJudul(judul);
+    }
+
+    @Override
+    public long hitungByPengarang(String pengarang) {
+        return repositoryAsli.hitungByPengarang(pengarang);
+    }
+
+    @Override
+    public List<Buku> cariTersediaByJudul(String judul) {
+        return repositoryAsli.cariTersediaByJudul(judul);
+    }
+
+    @Override
+    public List<Buku> cariTersediaByPengarang(String pengarang) {
+        return repositoryAsli.cariTersediaByPengarang(pengarang);
+    }
+
+    @Override
+    public List<Buku> cariByJudulFuzzy(String judul, int jarakMaks) {
+        return repositoryAsli.cariByJudulFuzzy(judul, jarakMaks);
+    }
+
+    @Override
+    public List<SaranPencarian> sarankanJudul(String awalan, int jumlah) {
+        return repositoryAsli.sarankanJudul(awalan, jumlah);
+    }
+
+    @Override
+    public List<SaranPencarian> sarankanPengarang(String awalan, int jumlah) {
+        return repositoryAsli.sarankanPengarang(awalan, jumlah);
+    }
+
+    @Override
+    public List<Buku> cari(KueriBuku kueri) {
+        return repositoryAsli.cari(kueri);
+    }
+
+    @Override
+    public List<Buku> cariByRentangHarga(double min, double max) {
+        return repositoryAsli.cariByRentangHarga(min, max);
+    }
+
+    @Override
+    public List<Buku> cariTermahal(int jumlah) {
+        return repositoryAsli.cariTermahal(jumlah);
+    }
+
+    @Override
+    public List<HasilPencarian> cariTeks(String query, int jumlah) {
+        return repositoryAsli.cariTeks(query, jumlah);
+    }
+}
@@ -0,0 +1,30 @@
+package repository;
+
+/**
+ * Satu saran autocomplete beserta skor popularitasnya
+ */
+public class SaranPencarian {
+    private final String teks;
+    private final long popularitas;
+
+    public SaranPencarian(String teks, long popularitas) {
+        this.teks = teks;
+        this.popularitas = popularitas;
+    }
+
+    public String getTeks() {
+        return teks;
+    }
+
+    /**
+     * Jumlah peminjaman seluruh buku dengan teks ini
+     */
+    public long getPopularitas() {
+        return popularitas;
+    }
+
+    @Override
+    public String toString() {
+        return teks + " (" + popularitas + ")";
+    }
+}
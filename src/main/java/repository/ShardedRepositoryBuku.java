@@ -0,0 +1,423 @@
+package repository;
+
+import model.Buku;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Repository buku yang membagi katalog ke beberapa shard independen berdasarkan hash ISBN
+ * Operasi satu buku hanya menyentuh satu shard sehingga tulis di shard berbeda
+ * tidak saling berebut kunci. Pencarian judul, pengarang dan seluruh katalog
+ * disebar ke semua shard secara paralel lalu hasilnya digabung
+ */
+public class ShardedRepositoryBuku implements RepositoryBuku {
+    private static final Comparator<Buku> URUTAN_ISBN = Comparator.comparing(Buku::getIsbn);
+
+    private final List<RepositoryBuku> daftarShard;
+    private final ForkJoinPool pool;
+
+    /**
+     * Membuat repository dengan shard yang dijalankan pada common pool
+     * @param daftarShard shard repository, minimal satu
+     */
+    public ShardedRepositoryBuku(List<RepositoryBuku> daftarShard) {
+        this(daftarShard, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param daftarShard shard repository, minimal satu
+     * @param pool pool untuk pencarian paralel
+     */
+    public ShardedRepositoryBuku(List<RepositoryBuku> daftarShard, ForkJoinPool pool) {
+        if (daftarShard == null || daftarShard.isEmpty()) {
+            throw new IllegalArgumentException("Minimal harus ada satu shard!");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool tidak boleh null!");
+        }
+        this.daftarShard = new ArrayList<>(daftarShard);
+        this.pool = pool;
+    }
+
+    /**
+     * Membuat repository dengan sejumlah shard MockRepositoryBuku
+     * @param jumlahShard jumlah shard
+     * @return repository baru
+     */
+    public static ShardedRepositoryBuku denganMock(int jumlahShard) {
+        if (jumlahShard <= 0) {
+            throw new IllegalArgumentException("Jumlah shard harus positif!");
+        }
+        List<RepositoryBuku> daftarShard = new ArrayList<>(jumlahShard);
+        for (int i = 0; i < jumlahShard; i++) {
+            daftarShard.add(new MockRepositoryBuku());
+        }
+        return new ShardedRepositoryBuku(daftarShard);
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (buku == null || buku.getIsbn() == null) {
+            return false;
+        }
+        return shard(buku.getIsbn()).simpan(buku);
+    }
+
+    /**
+     * Menyimpan banyak buku, dikelompokkan per shard lalu setiap kelompok disimpan paralel
+     */
+    @Override
+    public boolean[] simpanBatch(List<Buku> daftarBuku) {
+        int jumlahShard = daftarShard.size();
+        List<List<Buku>> bukuPerShard = new ArrayList<>(jumlahShard);
+        List<List<Integer>> posisiPerShard = new ArrayList<>(jumlahShard);
+        for (int i = 0; i < jumlahShard; i++) {
+            bukuPerShard.add(new ArrayList<>());
+            posisiPerShard.add(new ArrayList<>());
+        }
+        for (int i = 0; i < daftarBuku.size(); i++) {
+            Buku buku = daftarBuku.get(i);
+            if (buku != null && buku.getIsbn() != null) {
+                int indeks = indeksShard(buku.getIsbn());
+                bukuPerShard.get(indeks).add(buku);
+                posisiPerShard.get(indeks).add(i);
+            }
+        }
+
+        List<ForkJoinTask<boolean[]>> tugas = new ArrayList<>(jumlahShard);
+        for (int i = 0; i < jumlahShard; i++) {
+            RepositoryBuku shard = daftarShard.get(i);
+            List<Buku> kelompok = bukuPerShard.get(i);
+            tugas.add(kelompok.isEmpty() ? null : pool.submit(() -> shard.simpanBatch(kelompok)));
+        }
+
+        boolean[] hasil = new boolean[daftarBuku.size()];
+        for (int i = 0; i < jumlahShard; i++) {
+            if (tugas.get(i) == null) {
+                continue;
+            }
+            boolean[] hasilShard = tugas.get(i).join();
+            List<Integer> posisi = posisiPerShard.get(i);
+            for (int j = 0; j < hasilShard.length; j++) {
+                hasil[posisi.get(j)] = hasilShard[j];
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public Optional<Buku> cariByIsbn(String isbn) {
+        if (isbn == null) {
+            return Optional.empty();
+        }
+        return shard(isbn).cariByIsbn(isbn);
+    }
+
+    @Override
+    public List<Buku> cariByJudul(String judul) {
+        return sebarKumpulkan(shard -> shard.cariByJudul(judul));
+    }
+
+    @Override
+    public List<Buku> cariByPengarang(String pengarang) {
+        return sebarKumpulkan(shard -> shard.cariByPengarang(pengarang));
+    }
+
+    /**
+     * Shard dibaca bergiliran, shard berikutnya baru ditanya setelah shard sebelumnya habis
+     */
+    @Override
+    public Stream<Buku> streamByJudul(String judul) {
+        return daftarShard.stream().flatMap(shard -> shard.streamByJudul(judul));
+    }
+
+    @Override
+    public Stream<Buku> streamByPengarang(String pengarang) {
+        return daftarShard.stream().flatMap(shard -> shard.streamByPengarang(pengarang));
+    }
+
+    @Override
+    public long hitungByJudul(String judul) {
+        long jumlah = 0;
+        for (RepositoryBuku shard : daftarShard) {
+            jumlah += shard.hitungByJudul(judul);
+        }
+        return jumlah;
+    }
+
+    @Override
+    public long hitungByPengarang(String pengarang) {
+        long jumlah = 0;
+        for (RepositoryBuku shard : daftarShard) {
+            jumlah += shard.hitungByPengarang(pengarang);
+        }
+        return jumlah;
+    }
+
+    @Override
+    public List<Buku> cariTersediaByJudul(String judul) {
+        return sebarKumpulkan(shard -> shard.cariTersediaByJudul(judul));
+    }
+
+    @Override
+    public List<Buku> cariByJudulFuzzy(String judul, int jarakMaks) {
+        List<Buku> hasil = sebarKumpulkan(shard -> shard.cariByJudulFuzzy(judul, jarakMaks));
+        if (hasil.isEmpty() || daftarShard.size() == 1) {
+            return hasil;
+        }
+        // Urutan kemiripan hanya berlaku per shard, gabungan perlu diurutkan ulang
+        return RepositoryBuku.urutkanFuzzy(hasil.stream(), buku -> KunciPencarian.normalisasi(buku.getJudul()),
+                KunciPencarian.normalisasi(judul), jarakMaks);
+    }
+
+    /**
+     * Setiap shard menjalankan kueri lengkap dengan batasnya, lalu hasil digabung sesuai urutan kueri
+     */
+    @Override
+    public List<Buku> cari(KueriBuku kueri) {
+        if (kueri == null) {
+            throw new IllegalArgumentException("Kueri tidak boleh null!");
+        }
+        List<Buku> hasil = sebarKumpulkan(shard -> shard.cari(kueri));
+        if (daftarShard.size() == 1) {
+            return hasil;
+        }
+        return kueri.ambilTeratas(hasil.stream());
+    }
+
+    @Override
+    public List<Buku> cariByRentangHarga(double min, double max) {
+        List<Buku> hasil = sebarKumpulkan(shard -> shard.cariByRentangHarga(min, max));
+        if (daftarShard.size() > 1) {
+            hasil.sort(URUTAN_HARGA);
+        }
+        return hasil;
+    }
+
+    /**
+     * Setiap shard mengembalikan jumlah buku termahalnya, lalu diambil jumlah teratas dari gabungannya
+     */
+    @Override
+    public List<Buku> cariTermahal(int jumlah) {
+        List<Buku> hasil = sebarKumpulkan(shard -> shard.cariTermahal(jumlah));
+        if (daftarShard.size() == 1) {
+            return hasil;
+        }
+        return hasil.stream()
+                .sorted(URUTAN_HARGA_TURUN)
+                .limit(jumlah)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Setiap shard mengembalikan jumlah hasil teratasnya, lalu digabung berdasarkan skor
+     * Statistik BM25 (idf dan rata-rata panjang) dihitung per shard, sehingga skor
+     * sedikit berbeda dari satu indeks global jika distribusi term antar shard timpang
+     */
+    @Override
+    public List<HasilPencarian> cariTeks(String query, int jumlah) {
+        List<HasilPencarian> hasil = sebarKumpulkan(shard -> shard.cariTeks(query, jumlah));
+        if (daftarShard.size() == 1) {
+            return hasil;
+        }
+        return hasil.stream()
+                .sorted(Comparator.comparingDouble(HasilPencarian::getSkor).reversed())
+                .limit(jumlah)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Buku> cariTersediaByPengarang(String pengarang) {
+        return sebarKumpulkan(shard -> shard.cariTersediaByPengarang(pengarang));
+    }
+
+    /**
+     * Saran judul dari semua shard, popularitas teks yang sama dijumlahkan
+     * Setiap shard hanya mengirim top-K lokalnya, sehingga teks yang tersebar
+     * tipis di banyak shard bisa terlewat dari peringkat global
+     */
+    @Override
+    public List<SaranPencarian> sarankanJudul(String awalan, int jumlah) {
+        return gabungSaran(sebarKumpulkan(shard -> shard.sarankanJudul(awalan, jumlah)), jumlah);
+    }
+
+    @Override
+    public List<SaranPencarian> sarankanPengarang(String awalan, int jumlah) {
+        return gabungSaran(sebarKumpulkan(shard -> shard.sarankanPengarang(awalan, jumlah)), jumlah);
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        if (isbn == null) {
+            return false;
+        }
+        return shard(isbn).hapus(isbn);
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+        if (isbn == null) {
+            return false;
+        }
+        return shard(isbn).updateJumlahTersedia(isbn, jumlahTersediaBaru);
+    }
+
+    @Override
+    public boolean ubahJumlahTersedia(String isbn, int selisih) {
+        if (isbn == null) {
+            return false;
+        }
+        return shard(isbn).ubahJumlahTersedia(isbn, selisih);
+    }
+
+    @Override
+    public List<Buku> cariSemua() {
+        return sebarKumpulkan(RepositoryBuku::cariSemua);
+    }
+
+    /**
+     * Mengambil satu halaman dari setiap shard secara paralel lalu menggabungkannya
+     * Karena setiap shard mengembalikan halaman terurut ISBN, cukup ambil
+     * ukuranHalaman buku terkecil dari gabungan semua halaman
+     */
+    @Override
+    public HalamanBuku cariHalaman(int ukuranHalaman, String tokenLanjutan) {
+        if (ukuranHalaman <= 0) {
+            throw new IllegalArgumentException("Ukuran halaman harus positif!");
+        }
+
+        List<ForkJoinTask<HalamanBuku>> tugas = new ArrayList<>(daftarShard.size());
+        for (RepositoryBuku shard : daftarShard) {
+            tugas.add(pool.submit(() -> shard.cariHalaman(ukuranHalaman, tokenLanjutan)));
+        }
+        List<Buku> gabungan = new ArrayList<>();
+        boolean adaSisa = false;
+        for (ForkJoinTask<HalamanBuku> t : tugas) {
+            HalamanBuku halaman = t.join();
+            gabungan.addAll(halaman.getIsi());
+            adaSisa |= halaman.adaHalamanBerikutnya();
+        }
+
+        gabungan.sort(URUTAN_ISBN);
+        if (gabungan.size() > ukuranHalaman) {
+            gabungan = gabungan.subList(0, ukuranHalaman);
+            adaSisa = true;
+        }
+        String token = adaSisa && !gabungan.isEmpty() ? gabungan.get(gabungan.size() - 1).getIsbn() : null;
+        return new HalamanBuku(gabungan, token);
+    }
+
+    /**
+     * Menggabungkan stream terurut dari setiap shard secara lazy (k-way merge)
+     */
+    @Override
+    public Stream<Buku> streamSemua() {
+        List<Stream<Buku>> daftarStream = new ArrayList<>(daftarShard.size());
+        for (RepositoryBuku shard : daftarShard) {
+            daftarStream.add(shard.streamSemua());
+        }
+        Iterator<Buku> gabungan = new IteratorGabungan(daftarStream);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(gabungan,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> daftarStream.forEach(Stream::close));
+    }
+
+    public int getJumlahShard() {
+        return daftarShard.size();
+    }
+
+    private RepositoryBuku shard(String isbn) {
+        return daftarShard.get(indeksShard(isbn));
+    }
+
+    private int indeksShard(String isbn) {
+        return Math.floorMod(isbn.hashCode(), daftarShard.size());
+    }
+
+    private <T> List<T> sebarKumpulkan(Function<RepositoryBuku, List<T>> operasi) {
+        if (daftarShard.size() == 1) {
+            return operasi.apply(daftarShard.get(0));
+        }
+
+        List<ForkJoinTask<List<T>>> tugas = new ArrayList<>(daftarShard.size());
+        for (RepositoryBuku shard : daftarShard) {
+            tugas.add(pool.submit(() -> operasi.apply(shard)));
+        }
+        List<T> hasil = new ArrayList<>();
+        for (ForkJoinTask<List<T>> t : tugas) {
+            hasil.addAll(t.join());
+        }
+        return hasil;
+    }
+
+    private static List<SaranPencarian> gabungSaran(List<SaranPencarian> daftarSaran, int jumlah) {
+        Map<String, Long> popularitasPerTeks = new LinkedHashMap<>();
+        for (SaranPencarian saran : daftarSaran) {
+            popularitasPerTeks.merge(saran.getTeks(), saran.getPopularitas(), Long::sum);
+        }
+        List<SaranPencarian> hasil = new ArrayList<>();
+        popularitasPerTeks.forEach((teks, popularitas) -> hasil.add(new SaranPencarian(teks, popularitas)));
+        hasil.sort(Comparator.comparingLong(SaranPencarian::getPopularitas).reversed()
+                .thenComparing(SaranPencarian::getTeks));
+        return hasil.size() > jumlah ? new ArrayList<>(hasil.subList(0, jumlah)) : hasil;
+    }
+
+    private static class IteratorGabungan implements Iterator<Buku> {
+        private final PriorityQueue<Kepala> antrian;
+
+        IteratorGabungan(List<Stream<Buku>> daftarStream) {
+            this.antrian = new PriorityQueue<>(Math.max(1, daftarStream.size()),
+                    (a, b) -> URUTAN_ISBN.compare(a.buku, b.buku));
+            for (Stream<Buku> stream : daftarStream) {
+                Iterator<Buku> iterator = stream.iterator();
+                if (iterator.hasNext()) {
+                    antrian.add(new Kepala(iterator.next(), iterator));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !antrian.isEmpty();
+        }
+
+        @Override
+        public Buku next() {
+            Kepala kepala = antrian.poll();
+            if (kepala == null) {
+                throw new NoSuchElementException();
+            }
+            Buku buku = kepala.buku;
+            if (kepala.sisa.hasNext()) {
+                antrian.add(new Kepala(kepala.sisa.next(), kepala.sisa));
+            }
+            return buku;
+        }
+    }
+
+    private static class Kepala {
+        private final Buku buku;
+        private final Iterator<Buku> sisa;
+
+        Kepala(Buku buku, Iterator<Buku> sisa) {
+            this.buku = buku;
+            this.sisa = sisa;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package repository;
+
+/**
+ * Count-min sketch kecil untuk memperkirakan frekuensi akses sebuah kunci
+ * Setiap kunci dihitung pada 4 baris counter dengan hash berbeda, perkiraan
+ * frekuensi adalah nilai minimum dari keempatnya. Semua counter dibagi dua
+ * secara berkala agar kunci yang dulu populer tidak bertahan selamanya
+ */
+final class SketsaFrekuensi {
+    private static final int JUMLAH_BARIS = 4;
+    private static final int NILAI_MAKS = 15;
+    private static final long[] BENIH = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final int[][] counter;
+    private final int mask;
+    private final int ambangPenuaan;
+    private int jumlahPenambahan;
+
+    /**
+     * @param kapasitas jumlah entri cache yang frekuensinya perlu dibedakan
+     */
+    SketsaFrekuensi(int kapasitas) {
+        int lebar = Integer.highestOneBit(Math.max(16, kapasitas * 2) - 1) << 1;
+        this.counter = new int[JUMLAH_BARIS][lebar];
+        this.mask = lebar - 1;
+        this.ambangPenuaan = Math.max(16, kapasitas * 10);
+    }
+
+    void tambah(Object kunci) {
+        int hash = kunci.hashCode();
+        boolean bertambah = false;
+        for (int i = 0; i < JUMLAH_BARIS; i++) {
+            int indeks = indeks(hash, i);
+            if (counter[i][indeks] < NILAI_MAKS) {
+                counter[i][indeks]++;
+                bertambah = true;
+            }
+        }
+        if (bertambah && ++jumlahPenambahan >= ambangPenuaan) {
+            tuakan();
+        }
+    }
+
+    int perkiraan(Object kunci) {
+        int hash = kunci.hashCode();
+        int minimum = NILAI_MAKS;
+        for (int i = 0; i < JUMLAH_BARIS; i++) {
+            minimum = Math.min(minimum, counter[i][indeks(hash, i)]);
+        }
+        return minimum;
+    }
+
+    private void tuakan() {
+        for (int[] baris : counter) {
+            for (int i = 0; i < baris.length; i++) {
+                baris[i] >>>= 1;
+            }
+        }
+        jumlahPenambahan /= 2;
+    }
+
+    private int indeks(int hash, int baris) {
+        long h = (hash + BENIH[baris]) * BENIH[(baris + 1) % JUMLAH_BARIS];
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
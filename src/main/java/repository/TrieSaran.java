@@ -0,0 +1,206 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Trie untuk autocomplete dengan peringkat popularitas
+ * Setiap simpul menyimpan bobot maksimum di subtree-nya sehingga top-K bisa
+ * dicari best-first: simpul dengan bobot maksimum terbesar selalu dibuka lebih dulu
+ * dan pencarian berhenti begitu K saran sudah didapat, tanpa menjelajah seluruh subtree
+ * Tidak thread-safe, pemanggil bertanggung jawab atas sinkronisasi
+ */
+final class TrieSaran {
+    private static final long TANPA_ENTRI = -1;
+
+    private final Simpul akar = new Simpul(null, '\0');
+
+    /**
+     * Menormalkan teks untuk kunci trie dengan bentuk yang sama seperti kunci pencarian
+     * (huruf kecil tanpa bergantung locale, tanpa aksen, spasi tunggal), lalu di-trim
+     * @return teks yang sudah dinormalkan, null jika teks kosong
+     */
+    static String normalisasi(String teks) {
+        String hasil = KunciPencarian.normalisasi(teks);
+        if (hasil == null) {
+            return null;
+        }
+        hasil = hasil.trim();
+        return hasil.isEmpty() ? null : hasil;
+    }
+
+    /**
+     * Menambah atau mengurangi entri untuk teks yang sudah dinormalkan
+     * Setiap akhiran yang dimulai di awal kata ikut diindeks, sehingga
+     * "pelangi" juga menyarankan "Laskar Pelangi"
+     * @param kunci teks yang sudah dinormalkan
+     * @param tampilan teks asli yang ditampilkan sebagai saran
+     * @param selisihEntri +1 untuk buku baru, -1 untuk buku yang dihapus, 0 jika hanya bobot yang berubah
+     * @param selisihBobot perubahan popularitas
+     */
+    void ubah(String kunci, String tampilan, int selisihEntri, long selisihBobot) {
+        for (int i = 0; i < kunci.length(); i++) {
+            if (i == 0 || kunci.charAt(i - 1) == ' ') {
+                ubahSatu(kunci, i, tampilan, selisihEntri, selisihBobot);
+            }
+        }
+    }
+
+    /**
+     * Mencari K saran dengan popularitas tertinggi untuk awalan tertentu
+     * @param awalan awalan yang sudah dinormalkan
+     * @param jumlah jumlah saran maksimal
+     * @return saran terurut dari popularitas tertinggi, saran dengan popularitas sama tidak dijamin urutannya
+     */
+    List<SaranPencarian> sarankan(String awalan, int jumlah) {
+        List<SaranPencarian> hasil = new ArrayList<>();
+        Simpul simpul = akar;
+        for (int i = 0; i < awalan.length() && simpul != null; i++) {
+            simpul = simpul.anak.get(awalan.charAt(i));
+        }
+        if (simpul == null || simpul.maksSubtree == TANPA_ENTRI) {
+            return hasil;
+        }
+
+        PriorityQueue<Kandidat> antrian = new PriorityQueue<>();
+        antrian.add(new Kandidat(simpul.maksSubtree, simpul, null));
+        Set<String> sudahDisarankan = new HashSet<>();
+        while (!antrian.isEmpty() && hasil.size() < jumlah) {
+            Kandidat kandidat = antrian.poll();
+            if (kandidat.simpul == null) {
+                // Teks yang sama bisa tercapai lewat beberapa akhiran kata
+                if (sudahDisarankan.add(kandidat.entri.kunci)) {
+                    hasil.add(new SaranPencarian(kandidat.entri.tampilan, kandidat.bobot));
+                }
+                continue;
+            }
+            Simpul s = kandidat.simpul;
+            if (s.entri != null) {
+                for (Entri entri : s.entri.values()) {
+                    antrian.add(new Kandidat(entri.bobot, null, entri));
+                }
+            }
+            for (Simpul anak : s.anak.values()) {
+                antrian.add(new Kandidat(anak.maksSubtree, anak, null));
+            }
+        }
+        return hasil;
+    }
+
+    void bersihkan() {
+        akar.anak.clear();
+        akar.maksSubtree = TANPA_ENTRI;
+    }
+
+    private void ubahSatu(String kunci, int mulai, String tampilan, int selisihEntri, long selisihBobot) {
+        Simpul simpul = akar;
+        for (int i = mulai; i < kunci.length(); i++) {
+            char huruf = kunci.charAt(i);
+            Simpul induk = simpul;
+            simpul = simpul.anak.computeIfAbsent(huruf, h -> new Simpul(induk, h));
+        }
+
+        // Akhiran dari judul yang berbeda bisa berakhir di simpul yang sama, entri dibedakan per teks lengkap
+        if (simpul.entri == null) {
+            simpul.entri = new HashMap<>(2);
+        }
+        Entri entri = simpul.entri.computeIfAbsent(kunci, k -> new Entri(k, tampilan));
+        entri.jumlah += selisihEntri;
+        entri.bobot += selisihBobot;
+        if (entri.jumlah <= 0) {
+            simpul.entri.remove(kunci);
+            if (simpul.entri.isEmpty()) {
+                simpul.entri = null;
+            }
+        }
+        perbaruiKeAtas(simpul);
+    }
+
+    /**
+     * Menghitung ulang bobot maksimum dari simpul sampai akar dan membuang simpul kosong
+     * Berhenti lebih awal jika bobot maksimum simpul tidak berubah
+     */
+    private void perbaruiKeAtas(Simpul simpul) {
+        while (simpul != null) {
+            long maks = TANPA_ENTRI;
+            if (simpul.entri != null) {
+                for (Entri entri : simpul.entri.values()) {
+                    maks = Math.max(maks, entri.bobot);
+                }
+            }
+            for (Simpul anak : simpul.anak.values()) {
+                maks = Math.max(maks, anak.maksSubtree);
+            }
+
+            boolean dibuang = simpul != akar && simpul.entri == null && simpul.anak.isEmpty();
+            if (dibuang) {
+                simpul.induk.anak.remove(simpul.huruf);
+            } else if (maks == simpul.maksSubtree) {
+                return;
+            }
+            simpul.maksSubtree = maks;
+            simpul = simpul.induk;
+        }
+    }
+
+    private static class Simpul {
+        private final Simpul induk;
+        private final char huruf;
+        private final Map<Character, Simpul> anak = new HashMap<>(4);
+        private Map<String, Entri> entri;
+        private long maksSubtree = TANPA_ENTRI;
+
+        Simpul(Simpul induk, char huruf) {
+            this.induk = induk;
+            this.huruf = huruf;
+        }
+    }
+
+    /**
+     * Teks lengkap yang berakhir di sebuah simpul, jumlah adalah banyaknya buku dengan teks tersebut
+     */
+    private static class Entri {
+        private final String kunci;
+        private final String tampilan;
+        private int jumlah;
+        private long bobot;
+
+        Entri(String kunci, String tampilan) {
+            this.kunci = kunci;
+            this.tampilan = tampilan;
+        }
+    }
+
+    /**
+     * Elemen antrian best-first, simpul null berarti saran yang sudah siap dikeluarkan
+     */
+    private static class Kandidat implements Comparable<Kandidat> {
+        private final long bobot;
+        private final Simpul simpul;
+        private final Entri entri;
+
+        Kandidat(long bobot, Simpul simpul, Entri entri) {
+            this.bobot = bobot;
+            this.simpul = simpul;
+            this.entri = entri;
+        }
+
+        @Override
+        public int compareTo(Kandidat lain) {
+            int banding = Long.compare(lain.bobot, bobot);
+            if (banding != 0) {
+                return banding;
+            }
+            // Saran didahulukan dari simpul dengan bobot sama agar pencarian berhenti lebih cepat
+            if ((simpul == null) != (lain.simpul == null)) {
+                return simpul == null ? -1 : 1;
+            }
+            return simpul == null ? entri.kunci.compareTo(lain.entri.kunci) : 0;
+        }
+    }
+}
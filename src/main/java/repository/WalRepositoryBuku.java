@@ -0,0 +1,381 @@
+package repository;
+
+import model.Buku;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementasi repository buku dengan snapshot dan write-ahead log (WAL)
+ * Seluruh katalog disimpan di memori, setiap perubahan dicatat ke WAL,
+ * dan secara berkala seluruh katalog ditulis sebagai snapshot biner
+ * sehingga WAL bisa dikosongkan kembali
+ *
+ * Saat dibuka, snapshot dibaca sekaligus lewat memory-mapping lalu hanya
+ * ekor WAL sejak snapshot terakhir yang diputar ulang
+ *
+ * Setiap perubahan divalidasi, dicatat ke WAL, baru kemudian diterapkan ke
+ * memori, sehingga perubahan yang terlihat pembaca selalu sudah ada di WAL
+ *
+ * Kebijakan fsync: secara default rekaman hanya ditulis ke page cache sistem
+ * operasi tanpa force per rekaman, sehingga tahan terhadap crash proses tetapi
+ * rekaman terakhir bisa hilang saat listrik padam sampai {@link #sinkronkan()},
+ * {@link #close()}, atau snapshot berikutnya. Dengan sinkronPerRekaman, WAL
+ * di-force setelah setiap penulisan (satu kali untuk satu batch)
+ */
+public class WalRepositoryBuku extends RepositoryBukuDelegasi implements Closeable {
+    static final String NAMA_SNAPSHOT = "snapshot.bin";
+    static final String NAMA_WAL = "wal.log";
+    public static final int AMBANG_SNAPSHOT_DEFAULT = 100_000;
+
+    private static final int MAGIC_SNAPSHOT = 0x534E4150; // "SNAP"
+    private static final int UKURAN_HEADER_SNAPSHOT = 8;
+
+    private final Path direktori;
+    private final int ambangSnapshot;
+    private final boolean sinkronPerRekaman;
+    private final MockRepositoryBuku katalog;
+    private final Object kunciTulis = new Object();
+    private FileChannel wal;
+    private int jumlahRekamanWal;
+
+    public WalRepositoryBuku(Path direktori) throws IOException {
+        this(direktori, AMBANG_SNAPSHOT_DEFAULT);
+    }
+
+    public WalRepositoryBuku(Path direktori, int ambangSnapshot) throws IOException {
+        this(direktori, ambangSnapshot, false);
+    }
+
+    /**
+     * Membuka repository pada direktori tertentu, memulihkan isi katalog jika sudah ada
+     * @param direktori direktori tempat snapshot dan WAL disimpan
+     * @param ambangSnapshot jumlah rekaman WAL sebelum snapshot baru dibuat otomatis
+     * @param sinkronPerRekaman true untuk memaksa WAL ke disk setelah setiap penulisan
+     * @throws IOException jika snapshot atau WAL tidak bisa dibaca
+     */
+    public WalRepositoryBuku(Path direktori, int ambangSnapshot, boolean sinkronPerRekaman) throws IOException {
+        this(direktori, ambangSnapshot, sinkronPerRekaman, new MockRepositoryBuku());
+    }
+
+    private WalRepositoryBuku(Path direktori, int ambangSnapshot, boolean sinkronPerRekaman,
+                              MockRepositoryBuku katalog) throws IOException {
+        super(katalog);
+        if (ambangSnapshot <= 0) {
+            throw new IllegalArgumentException("Ambang snapshot harus positif!");
+        }
+        this.direktori = direktori;
+        this.ambangSnapshot = ambangSnapshot;
+        this.sinkronPerRekaman = sinkronPerRekaman;
+        this.katalog = katalog;
+
+        Files.createDirectories(direktori);
+        muatSnapshot();
+        this.wal = FileChannel.open(direktori.resolve(NAMA_WAL), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            putarUlangWal();
+        } catch (IOException | RuntimeException e) {
+            wal.close();
+            throw e;
+        }
+    }
+
+    private void muatSnapshot() throws IOException {
+        Path berkas = direktori.resolve(NAMA_SNAPSHOT);
+        if (!Files.exists(berkas)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(berkas, StandardOpenOption.READ)) {
+            MappedByteBuffer isi = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (isi.capacity() < UKURAN_HEADER_SNAPSHOT || isi.getInt(0) != MAGIC_SNAPSHOT) {
+                throw new IOException("Berkas bukan snapshot repository buku: " + berkas);
+            }
+
+            int jumlahBuku = isi.getInt(4);
+            int posisi = UKURAN_HEADER_SNAPSHOT;
+            for (int i = 0; i < jumlahBuku; i++) {
+                int ukuran = KodekBuku.periksaRekaman(isi, posisi, isi.capacity());
+                if (ukuran < 0) {
+                    throw new IOException("Snapshot rusak pada rekaman ke-" + i);
+                }
+                katalog.simpan(KodekBuku.bacaBuku(KodekBuku.payload(isi, posisi)));
+                posisi += ukuran;
+            }
+        }
+    }
+
+    /**
+     * Memutar ulang rekaman WAL di atas snapshot
+     * Rekaman WAL bersifat idempoten (nilai absolut, bukan selisih), sehingga
+     * aman diputar ulang walaupun crash terjadi tepat setelah snapshot ditulis
+     * tetapi sebelum WAL dikosongkan
+     */
+    private void putarUlangWal() throws IOException {
+        long ukuranBerkas = wal.size();
+        if (ukuranBerkas > Integer.MAX_VALUE) {
+            throw new IOException("WAL terlalu besar untuk diputar ulang: " + ukuranBerkas);
+        }
+
+        int posisi = 0;
+        if (ukuranBerkas > 0) {
+            MappedByteBuffer isi = wal.map(FileChannel.MapMode.READ_ONLY, 0, ukuranBerkas);
+            int ukuran;
+            while ((ukuran = KodekBuku.periksaRekaman(isi, posisi, isi.capacity())) > 0) {
+                terapkan(KodekBuku.tipeRekaman(isi, posisi), KodekBuku.payload(isi, posisi));
+                posisi += ukuran;
+                jumlahRekamanWal++;
+            }
+        }
+
+        // Buang ekor yang tidak utuh agar rekaman baru tidak tertulis setelah sampah
+        wal.truncate(posisi);
+        wal.position(posisi);
+    }
+
+    private void terapkan(byte tipe, ByteBuffer payload) {
+        switch (tipe) {
+            case KodekBuku.TIPE_SIMPAN:
+                katalog.simpan(KodekBuku.bacaBuku(payload));
+                break;
+            case KodekBuku.TIPE_HAPUS:
+                katalog.hapus(KodekBuku.bacaTeks(payload));
+                break;
+            case KodekBuku.TIPE_UPDATE_JUMLAH:
+                String isbn = KodekBuku.bacaTeks(payload);
+                katalog.updateJumlahTersedia(isbn, payload.getInt());
+                break;
+            default:
+                throw new IllegalStateException("Tipe rekaman WAL tidak dikenal: " + tipe);
+        }
+    }
+
+    @Override
+    public boolean simpan(Buku buku) {
+        if (!MockRepositoryBuku.bisaDisimpan(buku)) {
+            return false;
+        }
+
+        synchronized (kunciTulis) {
+            catat(KodekBuku.TIPE_SIMPAN, KodekBuku.payloadBuku(buku));
+            return katalog.simpan(buku);
+        }
+    }
+
+    /**
+     * Menyimpan banyak buku sebagai satu group commit, seluruh rekaman WAL
+     * untuk batch ditulis dengan satu kali penulisan ke berkas
+     * @param daftarBuku buku yang akan disimpan
+     * @return hasil simpan per buku dengan urutan yang sama dengan input
+     */
+    @Override
+    public boolean[] simpanBatch(List<Buku> daftarBuku) {
+        List<byte[]> daftarPayload = new ArrayList<>();
+        int ukuranTotal = 0;
+        for (Buku buku : daftarBuku) {
+            if (MockRepositoryBuku.bisaDisimpan(buku)) {
+                byte[] payload = KodekBuku.payloadBuku(buku);
+                daftarPayload.add(payload);
+                ukuranTotal += KodekBuku.ukuranRekaman(payload);
+            }
+        }
+
+        synchronized (kunciTulis) {
+            if (!daftarPayload.isEmpty()) {
+                ByteBuffer buffer = ByteBuffer.allocate(ukuranTotal);
+                for (byte[] payload : daftarPayload) {
+                    KodekBuku.tulisRekaman(buffer, KodekBuku.TIPE_SIMPAN, payload);
+                }
+                tulis(buffer, daftarPayload.size());
+            }
+            return katalog.simpanBatch(daftarBuku);
+        }
+    }
+
+    @Override
+    public boolean hapus(String isbn) {
+        synchronized (kunciTulis) {
+            if (isbn == null || !katalog.mengandung(isbn)) {
+                return false;
+            }
+            catat(KodekBuku.TIPE_HAPUS, KodekBuku.payloadIsbn(isbn));
+            return katalog.hapus(isbn);
+        }
+    }
+
+    @Override
+    public boolean updateJumlahTersedia(String isbn, int jumlahTersedia) {
+        synchronized (kunciTulis) {
+            Optional<Buku> buku = isbn == null ? Optional.empty() : katalog.cariByIsbn(isbn);
+            if (!buku.isPresent() || jumlahTersedia < 0 || jumlahTersedia > buku.get().getJumlahTotal()) {
+                return false;
+            }
+            catat(KodekBuku.TIPE_UPDATE_JUMLAH, KodekBuku.payloadJumlah(isbn, jumlahTersedia));
+            return katalog.updateJumlahTersedia(isbn, jumlahTersedia);
+        }
+    }
+
+    @Override
+    public boolean ubahJumlahTersedia(String isbn, int selisih) {
+        synchronized (kunciTulis) {
+            Optional<Buku> buku = isbn == null ? Optional.empty() : katalog.cariByIsbn(isbn);
+            if (!buku.isPresent()) {
+                return false;
+            }
+            long jumlahBaru = (long) buku.get().getJumlahTersedia() + selisih;
+            if (jumlahBaru < 0 || jumlahBaru > buku.get().getJumlahTotal()) {
+                return false;
+            }
+            // WAL selalu menyimpan nilai absolut agar pemutaran ulang tetap idempoten
+            catat(KodekBuku.TIPE_UPDATE_JUMLAH, KodekBuku.payloadJumlah(isbn, (int) jumlahBaru));
+            return katalog.ubahJumlahTersedia(isbn, selisih);
+        }
+    }
+
+    /**
+     * Mendapatkan jumlah buku dalam repository
+     * @return jumlah buku
+     */
+    public int ukuran() {
+        return katalog.ukuran();
+    }
+
+    /**
+     * Mendapatkan jumlah rekaman WAL sejak snapshot terakhir
+     * @return jumlah rekaman WAL
+     */
+    public int getJumlahRekamanWal() {
+        synchronized (kunciTulis) {
+            return jumlahRekamanWal;
+        }
+    }
+
+    /**
+     * Menulis seluruh katalog sebagai snapshot baru lalu mengosongkan WAL
+     * Snapshot ditulis ke berkas sementara dan dipindahkan secara atomik
+     */
+    public void buatSnapshot() {
+        synchronized (kunciTulis) {
+            try {
+                tulisSnapshot();
+                wal.truncate(0);
+                wal.position(0);
+                jumlahRekamanWal = 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void tulisSnapshot() throws IOException {
+        List<Buku> semuaBuku = katalog.cariSemua();
+        Path sementara = direktori.resolve(NAMA_SNAPSHOT + ".tmp");
+        try (FileChannel channel = FileChannel.open(sementara, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            buffer.putInt(MAGIC_SNAPSHOT);
+            buffer.putInt(semuaBuku.size());
+            for (Buku buku : semuaBuku) {
+                byte[] payload = KodekBuku.payloadBuku(buku);
+                int ukuran = KodekBuku.ukuranRekaman(payload);
+                if (buffer.remaining() < ukuran) {
+                    tulisPenuh(channel, buffer);
+                    if (buffer.capacity() < ukuran) {
+                        buffer = ByteBuffer.allocate(ukuran);
+                    }
+                }
+                KodekBuku.tulisRekaman(buffer, KodekBuku.TIPE_SIMPAN, payload);
+            }
+            tulisPenuh(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(sementara, direktori.resolve(NAMA_SNAPSHOT),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memaksa isi WAL ditulis ke disk
+     */
+    public void sinkronkan() {
+        synchronized (kunciTulis) {
+            try {
+                wal.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (kunciTulis) {
+            wal.force(false);
+            wal.close();
+        }
+    }
+
+    private void catat(byte tipe, byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(KodekBuku.ukuranRekaman(payload));
+        KodekBuku.tulisRekaman(buffer, tipe, payload);
+        tulis(buffer, 1);
+    }
+
+    /**
+     * Menambahkan rekaman ke WAL, jika gagal ekor yang sempat tertulis dipotong
+     * kembali agar rekaman berikutnya tidak tertulis setelah rekaman yang tidak utuh
+     */
+    private void tulis(ByteBuffer buffer, int jumlahRekaman) {
+        long posisiAwal = -1;
+        try {
+            posisiAwal = wal.position();
+            tulisPenuh(wal, buffer);
+            if (sinkronPerRekaman) {
+                wal.force(false);
+            }
+        } catch (IOException e) {
+            potongWal(posisiAwal, e);
+            throw new UncheckedIOException(e);
+        }
+
+        jumlahRekamanWal += jumlahRekaman;
+        if (jumlahRekamanWal >= ambangSnapshot) {
+            try {
+                buatSnapshot();
+            } catch (UncheckedIOException e) {
+                // Rekaman sudah aman di WAL, snapshot dicoba lagi pada penulisan berikutnya
+            }
+        }
+    }
+
+    private void potongWal(long posisi, IOException penyebab) {
+        if (posisi < 0) {
+            return;
+        }
+        try {
+            wal.truncate(posisi);
+            wal.position(posisi);
+        } catch (IOException e) {
+            penyebab.addSuppressed(e);
+        }
+    }
+
+    private static void tulisPenuh(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
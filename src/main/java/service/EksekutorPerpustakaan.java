@@ -0,0 +1,80 @@
+package service;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pembuat executor untuk menjalankan setiap permintaan perpustakaan sebagai task tersendiri
+ * Pada Java 21 ke atas dipakai virtual thread per task, sehingga ribuan peminjam
+ * yang tertahan I/O repository tidak membutuhkan ribuan thread platform.
+ * Pada Java sebelumnya pemanggil memilih sendiri pool thread platform berukuran tetap
+ */
+public final class EksekutorPerpustakaan {
+    private static final Method PEMBUAT_VIRTUAL_THREAD = cariPembuatVirtualThread();
+
+    private EksekutorPerpustakaan() {
+    }
+
+    /**
+     * Mengecek apakah JVM yang berjalan mendukung virtual thread
+     * @return true jika virtual thread tersedia
+     */
+    public static boolean virtualThreadTersedia() {
+        return PEMBUAT_VIRTUAL_THREAD != null;
+    }
+
+    /**
+     * Executor yang membuat satu virtual thread per task
+     * @return executor baru, pemanggil bertanggung jawab menutupnya
+     * @throws UnsupportedOperationException jika virtual thread tidak tersedia
+     */
+    public static ExecutorService virtualThreadPerTask() {
+        if (PEMBUAT_VIRTUAL_THREAD == null) {
+            throw new UnsupportedOperationException("Virtual thread membutuhkan Java 21 ke atas, JVM ini Java "
+                    + Runtime.version().feature());
+        }
+        try {
+            return (ExecutorService) PEMBUAT_VIRTUAL_THREAD.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Gagal membuat executor virtual thread", e);
+        }
+    }
+
+    /**
+     * Executor virtual thread per task jika tersedia, jika tidak pool thread platform
+     * dengan ukuran delapan kali jumlah prosesor
+     * Cek virtualThreadTersedia() untuk mengetahui executor mana yang didapat
+     * @return executor baru, pemanggil bertanggung jawab menutupnya
+     */
+    public static ExecutorService virtualThreadAtauPoolPlatform() {
+        return virtualThreadTersedia()
+                ? virtualThreadPerTask()
+                : poolPlatform(Runtime.getRuntime().availableProcessors() * 8);
+    }
+
+    /**
+     * Pool thread platform berukuran tetap
+     * @param jumlahThread jumlah thread dalam pool
+     * @return executor baru, pemanggil bertanggung jawab menutupnya
+     */
+    public static ExecutorService poolPlatform(int jumlahThread) {
+        if (jumlahThread <= 0) {
+            throw new IllegalArgumentException("Jumlah thread harus positif!");
+        }
+        return Executors.newFixedThreadPool(jumlahThread);
+    }
+
+    // Dicari lewat refleksi agar kode tetap bisa dikompilasi dengan target Java 11,
+    // Java 19 dan 20 dilewati karena di sana virtual thread masih fitur preview
+    private static Method cariPembuatVirtualThread() {
+        if (Runtime.version().feature() < 21) {
+            return null;
+        }
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
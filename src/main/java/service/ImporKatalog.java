@@ -0,0 +1,374 @@
+package service;
+
+import model.Buku;
+import repository.RepositoryBuku;
+import util.ValidationUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Impor katalog secara streaming dari berkas CSV atau NDJSON
+ * Pipeline: baca chunk lewat NIO -> parse ke Buku -> validasi -> simpanBatch.
+ * Antar tahap dihubungkan antrian berkapasitas tetap sehingga memori tetap
+ * konstan berapapun ukuran berkas, dan parsing berjalan paralel dengan penyimpanan
+ * Setiap batch diberi nomor urut dan disimpan sesuai urutan berkas, sehingga
+ * untuk ISBN yang muncul lebih dari sekali, baris terakhir yang berlaku
+ */
+public class ImporKatalog {
+    private static final int UKURAN_CHUNK_DEFAULT = 1 << 20;
+    private static final int UKURAN_BATCH_DEFAULT = 1000;
+    private static final int KAPASITAS_ANTRIAN_DEFAULT = 4;
+    private static final Batch<String> AKHIR_BARIS = new Batch<>(-1, Collections.emptyList());
+    private static final Batch<Buku> AKHIR_BUKU = new Batch<>(-1, Collections.emptyList());
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final RepositoryBuku repositoryBuku;
+    private final int ukuranChunk;
+    private final int ukuranBatch;
+    private final int jumlahParser;
+    private final int kapasitasAntrian;
+
+    public ImporKatalog(RepositoryBuku repositoryBuku) {
+        this(repositoryBuku, UKURAN_CHUNK_DEFAULT, UKURAN_BATCH_DEFAULT,
+                Math.max(1, Runtime.getRuntime().availableProcessors() - 1), KAPASITAS_ANTRIAN_DEFAULT);
+    }
+
+    /**
+     * @param repositoryBuku repository tujuan
+     * @param ukuranChunk ukuran buffer baca dalam byte, sekaligus panjang baris maksimal
+     * @param ukuranBatch jumlah baris per batch antar tahap
+     * @param jumlahParser jumlah thread parser dan validasi
+     * @param kapasitasAntrian jumlah batch maksimal yang menunggu di setiap antrian
+     */
+    public ImporKatalog(RepositoryBuku repositoryBuku, int ukuranChunk, int ukuranBatch,
+                        int jumlahParser, int kapasitasAntrian) {
+        if (repositoryBuku == null) {
+            throw new IllegalArgumentException("Repository tidak boleh null!");
+        }
+        if (ukuranChunk <= 0 || ukuranBatch <= 0 || jumlahParser <= 0 || kapasitasAntrian <= 0) {
+            throw new IllegalArgumentException("Ukuran chunk, batch, parser dan antrian harus positif!");
+        }
+        this.repositoryBuku = repositoryBuku;
+        this.ukuranChunk = ukuranChunk;
+        this.ukuranBatch = ukuranBatch;
+        this.jumlahParser = jumlahParser;
+        this.kapasitasAntrian = kapasitasAntrian;
+    }
+
+    /**
+     * Isi satu batch beserta nomor urutnya di berkas
+     */
+    private static final class Batch<T> {
+        private final long urutan;
+        private final List<T> isi;
+
+        Batch(long urutan, List<T> isi) {
+            this.urutan = urutan;
+            this.isi = isi;
+        }
+    }
+
+    /**
+     * Ringkasan hasil impor
+     */
+    public static class HasilImpor {
+        private final long jumlahBaris;
+        private final long jumlahBerhasil;
+        private final long jumlahTidakValid;
+        private final long jumlahGagal;
+
+        HasilImpor(long jumlahBaris, long jumlahBerhasil, long jumlahTidakValid, long jumlahGagal) {
+            this.jumlahBaris = jumlahBaris;
+            this.jumlahBerhasil = jumlahBerhasil;
+            this.jumlahTidakValid = jumlahTidakValid;
+            this.jumlahGagal = jumlahGagal;
+        }
+
+        public long getJumlahBaris() {
+            return jumlahBaris;
+        }
+
+        public long getJumlahBerhasil() {
+            return jumlahBerhasil;
+        }
+
+        public long getJumlahTidakValid() {
+            return jumlahTidakValid;
+        }
+
+        public long getJumlahGagal() {
+            return jumlahGagal;
+        }
+
+        @Override
+        public String toString() {
+            return "HasilImpor{" +
+                    "jumlahBaris=" + jumlahBaris +
+                    ", jumlahBerhasil=" + jumlahBerhasil +
+                    ", jumlahTidakValid=" + jumlahTidakValid +
+                    ", jumlahGagal=" + jumlahGagal +
+                    '}';
+        }
+    }
+
+    /**
+     * Mengimpor seluruh isi berkas ke repository
+     * Baris kosong dilewati, baris header CSV yang diawali "isbn" juga dilewati
+     * @param berkas berkas feed
+     * @param format format berkas
+     * @return ringkasan hasil impor
+     * @throws IOException jika berkas tidak bisa dibaca
+     */
+    public HasilImpor impor(Path berkas, Format format) throws IOException {
+        if (berkas == null || format == null) {
+            throw new IllegalArgumentException("Berkas dan format tidak boleh null!");
+        }
+
+        BlockingQueue<Batch<String>> antrianBaris = new ArrayBlockingQueue<>(kapasitasAntrian);
+        BlockingQueue<Batch<Buku>> antrianBuku = new ArrayBlockingQueue<>(kapasitasAntrian);
+        // Membatasi batch yang sudah dibaca tetapi belum disimpan, termasuk yang menunggu
+        // giliran di penyimpan, agar memori tetap konstan walau satu parser tertinggal
+        Semaphore izinBatch = new Semaphore(2 * kapasitasAntrian + jumlahParser + 1);
+        AtomicBoolean dibatalkan = new AtomicBoolean();
+        AtomicLong jumlahBaris = new AtomicLong();
+        AtomicLong jumlahBerhasil = new AtomicLong();
+        AtomicLong jumlahTidakValid = new AtomicLong();
+        AtomicLong jumlahGagal = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahParser + 1);
+        try {
+            List<Future<?>> daftarTugas = new ArrayList<>();
+            for (int i = 0; i < jumlahParser; i++) {
+                daftarTugas.add(executor.submit(() -> {
+                    parse(format, antrianBaris, antrianBuku, jumlahTidakValid, dibatalkan);
+                    return null;
+                }));
+            }
+            daftarTugas.add(executor.submit(() -> {
+                simpan(antrianBuku, izinBatch, jumlahBerhasil, jumlahGagal, dibatalkan);
+                return null;
+            }));
+
+            try {
+                baca(berkas, antrianBaris, izinBatch, jumlahBaris, dibatalkan);
+            } catch (IOException | RuntimeException e) {
+                dibatalkan.set(true);
+                throw e;
+            }
+            for (Future<?> tugas : daftarTugas) {
+                tunggu(tugas, dibatalkan);
+            }
+        } catch (InterruptedException e) {
+            dibatalkan.set(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Impor katalog diinterupsi", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new HasilImpor(jumlahBaris.get(), jumlahBerhasil.get(), jumlahTidakValid.get(), jumlahGagal.get());
+    }
+
+    private void baca(Path berkas, BlockingQueue<Batch<String>> antrianBaris, Semaphore izinBatch,
+                      AtomicLong jumlahBaris, AtomicBoolean dibatalkan) throws IOException, InterruptedException {
+        try (FileChannel channel = FileChannel.open(berkas, StandardOpenOption.READ)) {
+            // Satu byte ekstra untuk '\n' sehingga baris sepanjang tepat ukuranChunk
+            // masih muat, hanya baris yang benar-benar lebih panjang yang ditolak
+            ByteBuffer buffer = ByteBuffer.allocate(ukuranChunk + 1);
+            List<String> batch = new ArrayList<>(ukuranBatch);
+            boolean barisPertama = true;
+            long urutan = 0;
+
+            while (!dibatalkan.get()) {
+                boolean akhirBerkas = channel.read(buffer) < 0;
+                buffer.flip();
+
+                // '\n' tidak pernah muncul di tengah karakter UTF-8 multi-byte,
+                // sehingga aman memotong baris langsung pada level byte
+                int awalBaris = 0;
+                for (int i = 0; i < buffer.limit(); i++) {
+                    if (buffer.get(i) == '\n') {
+                        barisPertama = tambahBaris(buffer, awalBaris, i, barisPertama, batch, jumlahBaris);
+                        awalBaris = i + 1;
+                        if (batch.size() >= ukuranBatch) {
+                            kirimBerurutan(antrianBaris, izinBatch, new Batch<>(urutan++, batch), dibatalkan);
+                            batch = new ArrayList<>(ukuranBatch);
+                        }
+                    }
+                }
+                if (akhirBerkas) {
+                    tambahBaris(buffer, awalBaris, buffer.limit(), barisPertama, batch, jumlahBaris);
+                    break;
+                }
+                if (awalBaris == 0 && buffer.limit() == buffer.capacity()) {
+                    throw new IOException("Baris melebihi ukuran chunk " + ukuranChunk + " byte");
+                }
+
+                buffer.position(awalBaris);
+                buffer.compact();
+            }
+
+            if (!batch.isEmpty()) {
+                kirimBerurutan(antrianBaris, izinBatch, new Batch<>(urutan, batch), dibatalkan);
+            }
+        } finally {
+            for (int i = 0; i < jumlahParser; i++) {
+                kirim(antrianBaris, AKHIR_BARIS, dibatalkan);
+            }
+        }
+    }
+
+    private boolean tambahBaris(ByteBuffer buffer, int awal, int akhir, boolean barisPertama,
+                                List<String> batch, AtomicLong jumlahBaris) {
+        if (akhir > awal && buffer.get(akhir - 1) == '\r') {
+            akhir--;
+        }
+        if (akhir <= awal) {
+            return barisPertama;
+        }
+
+        byte[] isi = new byte[akhir - awal];
+        for (int i = 0; i < isi.length; i++) {
+            isi[i] = buffer.get(awal + i);
+        }
+        String baris = new String(isi, StandardCharsets.UTF_8);
+        if (barisPertama && baris.regionMatches(true, 0, "isbn", 0, 4)) {
+            return false;
+        }
+
+        batch.add(baris);
+        jumlahBaris.incrementAndGet();
+        return false;
+    }
+
+    private void parse(Format format, BlockingQueue<Batch<String>> antrianBaris, BlockingQueue<Batch<Buku>> antrianBuku,
+                       AtomicLong jumlahTidakValid, AtomicBoolean dibatalkan) throws InterruptedException {
+        try {
+            while (!dibatalkan.get()) {
+                Batch<String> batch = ambil(antrianBaris, dibatalkan);
+                if (batch == null || batch == AKHIR_BARIS) {
+                    return;
+                }
+
+                List<Buku> valid = new ArrayList<>(batch.isi.size());
+                for (String baris : batch.isi) {
+                    Buku buku = format == Format.CSV ? ParserBuku.dariCsv(baris) : ParserBuku.dariNdjson(baris);
+                    if (ValidationUtils.isValidBuku(buku)) {
+                        valid.add(buku);
+                    } else {
+                        jumlahTidakValid.incrementAndGet();
+                    }
+                }
+                // Batch kosong tetap dikirim agar penyimpan bisa melanjutkan ke nomor urut berikutnya
+                kirim(antrianBuku, new Batch<>(batch.urutan, valid), dibatalkan);
+            }
+        } catch (RuntimeException e) {
+            dibatalkan.set(true);
+            throw e;
+        } finally {
+            kirim(antrianBuku, AKHIR_BUKU, dibatalkan);
+        }
+    }
+
+    /**
+     * Menyimpan batch sesuai nomor urutnya, batch yang datang lebih awal dari gilirannya
+     * ditahan sampai semua batch sebelumnya tersimpan
+     */
+    private void simpan(BlockingQueue<Batch<Buku>> antrianBuku, Semaphore izinBatch, AtomicLong jumlahBerhasil,
+                        AtomicLong jumlahGagal, AtomicBoolean dibatalkan) throws InterruptedException {
+        Map<Long, List<Buku>> tertunda = new HashMap<>();
+        long urutanBerikutnya = 0;
+        int parserSelesai = 0;
+        try {
+            while (parserSelesai < jumlahParser && !dibatalkan.get()) {
+                Batch<Buku> batch = ambil(antrianBuku, dibatalkan);
+                if (batch == null) {
+                    return;
+                }
+                if (batch == AKHIR_BUKU) {
+                    parserSelesai++;
+                    continue;
+                }
+
+                tertunda.put(batch.urutan, batch.isi);
+                List<Buku> giliran;
+                while ((giliran = tertunda.remove(urutanBerikutnya)) != null) {
+                    if (!giliran.isEmpty()) {
+                        for (boolean berhasil : repositoryBuku.simpanBatch(giliran)) {
+                            (berhasil ? jumlahBerhasil : jumlahGagal).incrementAndGet();
+                        }
+                    }
+                    urutanBerikutnya++;
+                    izinBatch.release();
+                }
+            }
+        } catch (RuntimeException e) {
+            dibatalkan.set(true);
+            throw e;
+        }
+    }
+
+    private static <T> void kirimBerurutan(BlockingQueue<T> antrian, Semaphore izinBatch, T isi,
+                                           AtomicBoolean dibatalkan) throws InterruptedException {
+        while (!dibatalkan.get()) {
+            if (izinBatch.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                kirim(antrian, isi, dibatalkan);
+                return;
+            }
+        }
+    }
+
+    private static <T> void kirim(BlockingQueue<T> antrian, T isi, AtomicBoolean dibatalkan) throws InterruptedException {
+        while (!dibatalkan.get()) {
+            if (antrian.offer(isi, 100, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    private static <T> T ambil(BlockingQueue<T> antrian, AtomicBoolean dibatalkan) throws InterruptedException {
+        while (!dibatalkan.get()) {
+            T isi = antrian.poll(100, TimeUnit.MILLISECONDS);
+            if (isi != null) {
+                return isi;
+            }
+        }
+        return null;
+    }
+
+    private static void tunggu(Future<?> tugas, AtomicBoolean dibatalkan) throws IOException, InterruptedException {
+        try {
+            tugas.get();
+        } catch (ExecutionException e) {
+            dibatalkan.set(true);
+            Throwable penyebab = e.getCause();
+            if (penyebab instanceof RuntimeException) {
+                throw (RuntimeException) penyebab;
+            }
+            throw new IOException("Impor katalog gagal", penyebab);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package service;
+
+import model.Buku;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser satu baris feed katalog menjadi Buku
+ * Kolom CSV: isbn,judul,pengarang,jumlahTotal,harga dengan tanda kutip ganda
+ * untuk field yang mengandung koma. Baris NDJSON berupa satu objek JSON datar
+ * dengan nama field yang sama seperti pada Buku
+ */
+final class ParserBuku {
+    private static final int JUMLAH_KOLOM_CSV = 5;
+
+    private ParserBuku() {
+    }
+
+    /**
+     * @return buku hasil parsing, atau null jika baris tidak bisa diparse
+     */
+    static Buku dariCsv(String baris) {
+        List<String> kolom = pecahCsv(baris);
+        if (kolom == null || kolom.size() != JUMLAH_KOLOM_CSV) {
+            return null;
+        }
+        return bangun(kolom.get(0), kolom.get(1), kolom.get(2), kolom.get(3), kolom.get(4));
+    }
+
+    /**
+     * @return buku hasil parsing, atau null jika baris tidak bisa diparse
+     */
+    static Buku dariNdjson(String baris) {
+        Map<String, String> field = parseObjekJson(baris);
+        if (field == null) {
+            return null;
+        }
+        return bangun(field.get("isbn"), field.get("judul"), field.get("pengarang"),
+                field.get("jumlahTotal"), field.get("harga"));
+    }
+
+    private static Buku bangun(String isbn, String judul, String pengarang, String jumlahTotal, String harga) {
+        if (jumlahTotal == null || harga == null) {
+            return null;
+        }
+        try {
+            return new Buku(isbn, judul, pengarang, Integer.parseInt(jumlahTotal.trim()), Double.parseDouble(harga.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static List<String> pecahCsv(String baris) {
+        List<String> kolom = new ArrayList<>();
+        StringBuilder isi = new StringBuilder();
+        boolean dalamKutip = false;
+        for (int i = 0; i < baris.length(); i++) {
+            char c = baris.charAt(i);
+            if (dalamKutip) {
+                if (c == '"' && i + 1 < baris.length() && baris.charAt(i + 1) == '"') {
+                    isi.append('"');
+                    i++;
+                } else if (c == '"') {
+                    dalamKutip = false;
+                } else {
+                    isi.append(c);
+                }
+            } else if (c == '"') {
+                dalamKutip = true;
+            } else if (c == ',') {
+                kolom.add(isi.toString());
+                isi.setLength(0);
+            } else {
+                isi.append(c);
+            }
+        }
+        if (dalamKutip) {
+            return null;
+        }
+        kolom.add(isi.toString());
+        return kolom;
+    }
+
+    /**
+     * Parser JSON minimal untuk objek datar, nilai string, angka, boolean dan null
+     * dikembalikan sebagai teks. Objek atau array bersarang dianggap tidak valid
+     */
+    private static Map<String, String> parseObjekJson(String baris) {
+        PembacaJson pembaca = new PembacaJson(baris);
+        Map<String, String> hasil = new HashMap<>();
+        if (!pembaca.lewati('{')) {
+            return null;
+        }
+        if (pembaca.lewati('}')) {
+            return pembaca.selesai() ? hasil : null;
+        }
+        do {
+            String nama = pembaca.bacaString();
+            if (nama == null || !pembaca.lewati(':')) {
+                return null;
+            }
+            String nilai = pembaca.bacaNilai();
+            if (nilai == null) {
+                return null;
+            }
+            hasil.put(nama, nilai.equals("null") && !pembaca.nilaiTerakhirString ? null : nilai);
+        } while (pembaca.lewati(','));
+        return pembaca.lewati('}') && pembaca.selesai() ? hasil : null;
+    }
+
+    private static final class PembacaJson {
+        private final String teks;
+        private int posisi;
+        private boolean nilaiTerakhirString;
+
+        PembacaJson(String teks) {
+            this.teks = teks;
+        }
+
+        boolean lewati(char c) {
+            lewatiSpasi();
+            if (posisi < teks.length() && teks.charAt(posisi) == c) {
+                posisi++;
+                return true;
+            }
+            return false;
+        }
+
+        boolean selesai() {
+            lewatiSpasi();
+            return posisi == teks.length();
+        }
+
+        String bacaNilai() {
+            lewatiSpasi();
+            if (posisi < teks.length() && teks.charAt(posisi) == '"') {
+                nilaiTerakhirString = true;
+                return bacaString();
+            }
+            nilaiTerakhirString = false;
+            int mulai = posisi;
+            while (posisi < teks.length() && "-+.0123456789eEtruefalsn".indexOf(teks.charAt(posisi)) >= 0) {
+                posisi++;
+            }
+            return posisi > mulai ? teks.substring(mulai, posisi) : null;
+        }
+
+        String bacaString() {
+            lewatiSpasi();
+            if (posisi >= teks.length() || teks.charAt(posisi) != '"') {
+                return null;
+            }
+            posisi++;
+            StringBuilder isi = new StringBuilder();
+            while (posisi < teks.length()) {
+                char c = teks.charAt(posisi++);
+                if (c == '"') {
+                    return isi.toString();
+                }
+                if (c != '\\') {
+                    isi.append(c);
+                    continue;
+                }
+                if (posisi >= teks.length()) {
+                    return null;
+                }
+                char escape = teks.charAt(posisi++);
+                switch (escape) {
+                    case 'n': isi.append('\n'); break;
+                    case 't': isi.append('\t'); break;
+                    case 'r': isi.append('\r'); break;
+                    case 'b': isi.append('\b'); break;
+                    case 'f': isi.append('\f'); break;
+                    case 'u':
+                        if (posisi + 4 > teks.length()) {
+                            return null;
+                        }
+                        try {
+                            isi.append((char) Integer.parseInt(teks.substring(posisi, posisi + 4), 16));
+                        } catch (NumberFormatException e) {
+                            return null;
+                        }
+                        posisi += 4;
+                        break;
+                    default: isi.append(escape);
+                }
+            }
+            return null;
+        }
+
+        private void lewatiSpasi() {
+            while (posisi < teks.length() && Character.isWhitespace(teks.charAt(posisi))) {
+                posisi++;
+            }
+        }
+    }
+}
@@ -2,11 +2,18 @@ package service;
 
 import model.Buku;
 import model.Anggota;
+import repository.HalamanBuku;
 import repository.RepositoryBuku;
 import service.KalkulatorDenda;
 import util.ValidationUtils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 
 
@@ -15,6 +22,10 @@ public class ServicePerpustakaan {
     private final RepositoryBuku repositoryBuku;
     private final KalkulatorDenda kalkulatorDenda;
 
+    public enum StatusTambahBuku {
+        BERHASIL, TIDAK_VALID, DUPLIKAT_DALAM_BATCH, SUDAH_ADA, GAGAL
+    }
+
     public ServicePerpustakaan(RepositoryBuku repositoryBuku, KalkulatorDenda kalkulatorDenda) {
         this.repositoryBuku = repositoryBuku;
         this.kalkulatorDenda = kalkulatorDenda;
@@ -32,6 +43,57 @@ public class ServicePerpustakaan {
         return repositoryBuku.simpan(buku);
     }
 
+    /**
+     * Menambahkan banyak buku sekaligus, misalnya untuk sinkronisasi katalog
+     * Validasi dan pengecekan buku yang sudah ada dijalankan paralel, ISBN yang
+     * muncul lebih dari sekali dalam batch hanya diambil kemunculan pertamanya,
+     * lalu semua buku yang lolos disimpan lewat satu bulk insert
+     * @param daftarBuku buku yang akan ditambahkan
+     * @return status per buku dengan urutan yang sama dengan input
+     */
+    public List<StatusTambahBuku> tambahBukuBatch(List<Buku> daftarBuku) {
+        if (daftarBuku == null || daftarBuku.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int jumlah = daftarBuku.size();
+        StatusTambahBuku[] status = new StatusTambahBuku[jumlah];
+        IntStream.range(0, jumlah).parallel().forEach(i -> {
+            if (!ValidationUtils.isValidBuku(daftarBuku.get(i))) {
+                status[i] = StatusTambahBuku.TIDAK_VALID;
+            }
+        });
+
+        Set<String> isbnDalamBatch = new HashSet<>();
+        for (int i = 0; i < jumlah; i++) {
+            if (status[i] == null && !isbnDalamBatch.add(daftarBuku.get(i).getIsbn())) {
+                status[i] = StatusTambahBuku.DUPLIKAT_DALAM_BATCH;
+            }
+        }
+
+        IntStream.range(0, jumlah).parallel().forEach(i -> {
+            if (status[i] == null && repositoryBuku.cariByIsbn(daftarBuku.get(i).getIsbn()).isPresent()) {
+                status[i] = StatusTambahBuku.SUDAH_ADA;
+            }
+        });
+
+        List<Integer> indeksDisimpan = new ArrayList<>();
+        List<Buku> bukuDisimpan = new ArrayList<>();
+        for (int i = 0; i < jumlah; i++) {
+            if (status[i] == null) {
+                indeksDisimpan.add(i);
+                bukuDisimpan.add(daftarBuku.get(i));
+            }
+        }
+        if (!bukuDisimpan.isEmpty()) {
+            boolean[] hasilSimpan = repositoryBuku.simpanBatch(bukuDisimpan);
+            for (int j = 0; j < hasilSimpan.length; j++) {
+                status[indeksDisimpan.get(j)] = hasilSimpan[j] ? StatusTambahBuku.BERHASIL : StatusTambahBuku.GAGAL;
+            }
+        }
+        return Arrays.asList(status);
+    }
+
     public boolean hapusBuku(String isbn) {
         if (!ValidationUtils.isValidISBN(isbn)) {
             return false;
@@ -62,6 +124,48 @@ public class ServicePerpustakaan {
         return repositoryBuku.cariByPengarang(pengarang);
     }
 
+    /**
+     * Mencari buku berdasarkan judul secara lazy, misalnya untuk mengambil hasil pertama saja
+     */
+    public Stream<Buku> streamBukuByJudul(String judul) {
+        return repositoryBuku.streamByJudul(judul);
+    }
+
+    /**
+     * Mencari buku berdasarkan pengarang secara lazy
+     */
+    public Stream<Buku> streamBukuByPengarang(String pengarang) {
+        return repositoryBuku.streamByPengarang(pengarang);
+    }
+
+    /**
+     * Jumlah buku yang judulnya mengandung teks tertentu, tanpa membuat list hasil
+     */
+    public long hitungBukuByJudul(String judul) {
+        return repositoryBuku.hitungByJudul(judul);
+    }
+
+    /**
+     * Jumlah buku yang pengarangnya mengandung teks tertentu, tanpa membuat list hasil
+     */
+    public long hitungBukuByPengarang(String pengarang) {
+        return repositoryBuku.hitungByPengarang(pengarang);
+    }
+
+    /**
+     * Mengambil satu halaman katalog dalam urutan ISBN, token null untuk halaman pertama
+     */
+    public HalamanBuku cariHalamanBuku(int ukuranHalaman, String tokenLanjutan) {
+        return repositoryBuku.cariHalaman(ukuranHalaman, tokenLanjutan);
+    }
+
+    /**
+     * Mengiterasi seluruh katalog secara lazy dalam urutan ISBN, misalnya untuk ekspor
+     */
+    public Stream<Buku> streamSemuaBuku() {
+        return repositoryBuku.streamSemua();
+    }
+
     public boolean bukuTersedia(String isbn) {
         Optional<Buku> buku = repositoryBuku.cariByIsbn(isbn);
         return buku.isPresent() && buku.get().isTersedia();
@@ -86,9 +190,8 @@ public class ServicePerpustakaan {
         if (!bukuOpt.isPresent() || !bukuOpt.get().isTersedia()) {
             return false;
         }
-        Buku buku = bukuOpt.get();
-        // Update jumlah tersedia
-        boolean updateBerhasil = repositoryBuku.updateJumlahTersedia(isbn, buku.getJumlahTersedia() - 1);
+        // Kurangi stok secara atomik, gagal jika salinan terakhir sudah didahului peminjam lain
+        boolean updateBerhasil = repositoryBuku.ubahJumlahTersedia(isbn, -1);
         if (updateBerhasil) {
             anggota.tambahBukuDipinjam(isbn);
             return true;
@@ -105,13 +208,8 @@ public class ServicePerpustakaan {
         if (!anggota.getIdBukuDipinjam().contains(isbn)) {
             return false;
         }
-        Optional<Buku> bukuOpt = repositoryBuku.cariByIsbn(isbn);
-        if (!bukuOpt.isPresent()) {
-            return false;
-        }
-        Buku buku = bukuOpt.get();
-        // Update jumlah tersedia
-        boolean updateBerhasil = repositoryBuku.updateJumlahTersedia(isbn, buku.getJumlahTersedia() + 1);
+        // Tambah stok secara atomik, gagal jika buku tidak ada atau stok sudah penuh
+        boolean updateBerhasil = repositoryBuku.ubahJumlahTersedia(isbn, 1);
         if (updateBerhasil) {
             anggota.hapusBukuDipinjam(isbn);
             return true;
@@ -0,0 +1,93 @@
+package service;
+
+import model.Anggota;
+import model.Buku;
+import repository.AsyncRepositoryBuku;
+import util.ValidationUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Varian non-blocking dari ServicePerpustakaan
+ * Rantai cari, validasi lalu update disusun dengan thenCompose sehingga tidak ada
+ * thread yang menunggu hasil repository. Aturan bisnisnya sama dengan versi sinkron
+ */
+public class ServicePerpustakaanAsync {
+    private final AsyncRepositoryBuku repositoryBuku;
+    private final Executor executor;
+
+    /**
+     * Lanjutan rantai dijalankan di thread yang menyelesaikan future repository
+     */
+    public ServicePerpustakaanAsync(AsyncRepositoryBuku repositoryBuku) {
+        this(repositoryBuku, Runnable::run);
+    }
+
+    /**
+     * @param repositoryBuku repository async
+     * @param executor executor untuk lanjutan rantai setelah hasil repository tersedia,
+     *                 misalnya EksekutorPerpustakaan.virtualThreadPerTask()
+     */
+    public ServicePerpustakaanAsync(AsyncRepositoryBuku repositoryBuku, Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor tidak boleh null!");
+        }
+        this.repositoryBuku = repositoryBuku;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Optional<Buku>> cariBukuByIsbnAsync(String isbn) {
+        if (!ValidationUtils.isValidISBN(isbn)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return repositoryBuku.cariByIsbn(isbn);
+    }
+
+    public CompletableFuture<List<Buku>> cariBukuByJudulAsync(String judul) {
+        return repositoryBuku.cariByJudul(judul);
+    }
+
+    public CompletableFuture<List<Buku>> cariBukuByPengarangAsync(String pengarang) {
+        return repositoryBuku.cariByPengarang(pengarang);
+    }
+
+    public CompletableFuture<Boolean> pinjamBukuAsync(String isbn, Anggota anggota) {
+        // Validasi anggota
+        if (!ValidationUtils.isValidAnggota(anggota) || !anggota.isAktif() || !anggota.bolehPinjamLagi()) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return repositoryBuku.cariByIsbn(isbn).thenComposeAsync(bukuOpt -> {
+            // Cek ketersediaan buku
+            if (!bukuOpt.isPresent() || !bukuOpt.get().isTersedia()) {
+                return CompletableFuture.completedFuture(false);
+            }
+            // Kurangi stok secara atomik, gagal jika salinan terakhir sudah didahului peminjam lain
+            return repositoryBuku.ubahJumlahTersedia(isbn, -1).thenApplyAsync(updateBerhasil -> {
+                if (updateBerhasil) {
+                    anggota.tambahBukuDipinjam(isbn);
+                }
+                return updateBerhasil;
+            }, executor);
+        }, executor);
+    }
+
+    public CompletableFuture<Boolean> kembalikanBukuAsync(String isbn, Anggota anggota) {
+        // validasi
+        if (!ValidationUtils.isValidISBN(isbn) || anggota == null
+                || !anggota.getIdBukuDipinjam().contains(isbn)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        // Tambah stok secara atomik, gagal jika buku tidak ada atau stok sudah penuh
+        return repositoryBuku.ubahJumlahTersedia(isbn, 1).thenApplyAsync(updateBerhasil -> {
+            if (updateBerhasil) {
+                anggota.hapusBukuDipinjam(isbn);
+            }
+            return updateBerhasil;
+        }, executor);
+    }
+}
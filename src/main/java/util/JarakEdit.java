@@ -0,0 +1,66 @@
+package util;
+
+/**
+ * Perhitungan jarak edit (Levenshtein) untuk pencarian yang toleran salah ketik
+ */
+public final class JarakEdit {
+
+    private JarakEdit() {
+    }
+
+    /**
+     * Jarak Levenshtein antara dua teks
+     * @return jumlah minimum sisip, hapus atau ganti karakter untuk mengubah a menjadi b
+     */
+    public static int levenshtein(String a, String b) {
+        int[] sebelumnya = new int[b.length() + 1];
+        int[] sekarang = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            sebelumnya[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            sekarang[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int biayaGanti = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                sekarang[j] = Math.min(Math.min(sekarang[j - 1] + 1, sebelumnya[j] + 1),
+                        sebelumnya[j - 1] + biayaGanti);
+            }
+            int[] tukar = sebelumnya;
+            sebelumnya = sekarang;
+            sekarang = tukar;
+        }
+        return sebelumnya[b.length()];
+    }
+
+    /**
+     * Jarak edit minimum antara pola dan substring mana pun dari teks (algoritma Sellers)
+     * Dipakai untuk pencarian partial match yang toleran salah ketik
+     * @return jarak terkecil, 0 jika pola muncul persis di dalam teks
+     */
+    public static int jarakSubstring(String pola, String teks) {
+        int m = pola.length();
+        int[] kolom = new int[m + 1];
+        for (int i = 0; i <= m; i++) {
+            kolom[i] = i;
+        }
+
+        int terbaik = kolom[m];
+        for (int j = 1; j <= teks.length(); j++) {
+            // Baris 0 selalu 0 karena kecocokan boleh dimulai di posisi mana pun pada teks
+            int diagonal = 0;
+            char c = teks.charAt(j - 1);
+            for (int i = 1; i <= m; i++) {
+                int atas = kolom[i];
+                int biayaGanti = pola.charAt(i - 1) == c ? 0 : 1;
+                kolom[i] = Math.min(Math.min(kolom[i - 1] + 1, atas + 1), diagonal + biayaGanti);
+                diagonal = atas;
+            }
+            terbaik = Math.min(terbaik, kolom[m]);
+            if (terbaik == 0) {
+                return 0;
+            }
+        }
+        return terbaik;
+    }
+}
@@ -0,0 +1,146 @@
+package repository;
+
+import model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test Cache Repository Buku - Read-Through W-TinyLFU")
+class CacheRepositoryBukuTest {
+
+    private MockRepositoryBuku repositoryAsli;
+    private CacheRepositoryBuku repository;
+    private Buku buku1;
+    private Buku buku2;
+
+    @BeforeEach
+    void setUp() {
+        repositoryAsli = spy(new MockRepositoryBuku());
+        repository = new CacheRepositoryBuku(repositoryAsli, 100);
+        buku1 = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0);
+        buku2 = new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 200000.0);
+    }
+
+    @Test
+    @DisplayName("Pencarian berulang dilayani dari cache")
+    void testCariBerulangDariCache() {
+        // Arrange
+        repository.simpan(buku1);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertTrue(repository.cariByIsbn("1234567890").isPresent());
+        }
+
+        // Assert
+        verify(repositoryAsli, times(1)).cariByIsbn("1234567890");
+        assertEquals(4, repository.getJumlahHit());
+        assertEquals(1, repository.getJumlahMiss());
+        assertEquals(0.8, repository.getRasioHit(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Buku tidak ditemukan tidak disimpan di cache")
+    void testTidakDitemukanTidakDicache() {
+        assertFalse(repository.cariByIsbn("9999999999").isPresent());
+        assertFalse(repository.cariByIsbn("9999999999").isPresent());
+        assertFalse(repository.cariByIsbn(" ").isPresent());
+
+        assertEquals(0, repository.ukuran());
+        assertEquals(2, repository.getJumlahMiss());
+    }
+
+    @Test
+    @DisplayName("Operasi tulis membuang entri cache - pembacaan berikutnya tidak basi")
+    void testTulisMembuangEntri() {
+        // Arrange
+        MappedLikeRepository asli = new MappedLikeRepository();
+        CacheRepositoryBuku cache = new CacheRepositoryBuku(asli, 10);
+        cache.simpan(buku1);
+        cache.simpan(buku2);
+        cache.cariByIsbn("1234567890");
+        cache.cariByIsbn("0987654321");
+
+        // Act & Assert
+        assertTrue(cache.ubahJumlahTersedia("1234567890", -2));
+        assertEquals(3, cache.cariByIsbn("1234567890").get().getJumlahTersedia());
+
+        assertTrue(cache.updateJumlahTersedia("1234567890", 1));
+        assertEquals(1, cache.cariByIsbn("1234567890").get().getJumlahTersedia());
+
+        cache.simpan(new Buku("1234567890", "Pemrograman Java Edisi 2", "John Doe", 5, 190000.0));
+        assertEquals("Pemrograman Java Edisi 2", cache.cariByIsbn("1234567890").get().getJudul());
+
+        cache.simpanBatch(Arrays.asList(new Buku("0987654321", "Algoritma Lanjut", "Jane Smith", 3, 1.0)));
+        assertEquals("Algoritma Lanjut", cache.cariByIsbn("0987654321").get().getJudul());
+
+        assertTrue(cache.hapus("0987654321"));
+        assertFalse(cache.cariByIsbn("0987654321").isPresent());
+    }
+
+    @Test
+    @DisplayName("Ukuran cache tidak melebihi kapasitas")
+    void testUkuranTerbatas() {
+        for (int i = 0; i < 500; i++) {
+            String isbn = String.format("%010d", i);
+            repositoryAsli.simpan(new Buku(isbn, "Judul " + i, "Pengarang", 1, 1.0));
+            repository.cariByIsbn(isbn);
+        }
+
+        assertTrue(repository.ukuran() <= 100);
+        assertTrue(repository.getJumlahEviksi() > 0);
+    }
+
+    @Test
+    @DisplayName("Buku yang sering diakses bertahan dari pemindaian satu kali")
+    void testBukuPopulerBertahanDariScan() {
+        // Arrange - 50 buku populer diakses berulang
+        for (int i = 0; i < 1050; i++) {
+            repositoryAsli.simpan(new Buku(String.format("%010d", i), "Judul " + i, "Pengarang", 1, 1.0));
+        }
+        for (int putaran = 0; putaran < 5; putaran++) {
+            for (int i = 0; i < 50; i++) {
+                repository.cariByIsbn(String.format("%010d", i));
+            }
+        }
+
+        // Act - pemindaian 1000 buku yang masing-masing hanya dibaca sekali
+        for (int i = 50; i < 1050; i++) {
+            repository.cariByIsbn(String.format("%010d", i));
+        }
+        long hitSebelum = repository.getJumlahHit();
+        for (int i = 0; i < 50; i++) {
+            repository.cariByIsbn(String.format("%010d", i));
+        }
+
+        // Assert - LRU biasa akan kehilangan semua buku populer
+        assertEquals(50, repository.getJumlahHit() - hitSebelum);
+    }
+
+    @Test
+    @DisplayName("Kapasitas atau repository tidak valid - harus ditolak")
+    void testKonstruktorTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new CacheRepositoryBuku(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new CacheRepositoryBuku(repositoryAsli, 1));
+    }
+
+    /**
+     * Repository yang selalu mengembalikan salinan, seperti implementasi persisten
+     */
+    private static class MappedLikeRepository extends MockRepositoryBuku {
+        @Override
+        public Optional<Buku> cariByIsbn(String isbn) {
+            return super.cariByIsbn(isbn).map(b -> {
+                Buku salinan = new Buku(b.getIsbn(), b.getJudul(), b.getPengarang(), b.getJumlahTotal(), b.getHarga());
+                salinan.setJumlahTersedia(b.getJumlahTersedia());
+                return salinan;
+            });
+        }
+    }
+}
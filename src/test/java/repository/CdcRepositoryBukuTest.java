@@ -0,0 +1,163 @@
+package repository;
+
+import model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test CDC Repository Buku - Aliran Peristiwa Perubahan")
+class CdcRepositoryBukuTest {
+
+    private CdcRepositoryBuku repository;
+    private Buku buku1;
+    private Buku buku2;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CdcRepositoryBuku(new MockRepositoryBuku(), 8);
+        buku1 = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0);
+        buku2 = new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 200000.0);
+    }
+
+    @Test
+    @DisplayName("Setiap jenis perubahan menghasilkan peristiwa dengan nilai lama dan baru")
+    void testJenisPeristiwa() {
+        // Arrange
+        LanggananPerubahan langganan = repository.berlangganan();
+
+        // Act
+        repository.simpan(buku1);
+        repository.simpan(new Buku("1234567890", "Pemrograman Java Edisi 2", "John Doe", 5, 190000.0));
+        repository.ubahJumlahTersedia("1234567890", -1);
+        repository.updateJumlahTersedia("1234567890", 2);
+        repository.ubahJumlahTersedia("1234567890", 10); // gagal, tidak ada peristiwa
+        repository.hapus("1234567890");
+        repository.hapus("1234567890"); // gagal, tidak ada peristiwa
+
+        // Assert
+        List<PeristiwaPerubahan> daftar = langganan.ambil(100);
+        assertEquals(5, daftar.size());
+        assertEquals(PeristiwaPerubahan.Jenis.TAMBAH, daftar.get(0).getJenis());
+        assertNull(daftar.get(0).getBukuLama());
+        assertEquals(PeristiwaPerubahan.Jenis.UBAH, daftar.get(1).getJenis());
+        assertEquals("Pemrograman Java", daftar.get(1).getBukuLama().getJudul());
+        assertEquals(PeristiwaPerubahan.Jenis.STOK, daftar.get(2).getJenis());
+        assertEquals(5, daftar.get(2).getBukuLama().getJumlahTersedia());
+        assertEquals(4, daftar.get(2).getBukuBaru().getJumlahTersedia());
+        assertEquals(2, daftar.get(3).getBukuBaru().getJumlahTersedia());
+        assertEquals(PeristiwaPerubahan.Jenis.HAPUS, daftar.get(4).getJenis());
+        assertNull(daftar.get(4).getBukuBaru());
+        assertEquals("1234567890", daftar.get(4).getIsbn());
+        for (int i = 0; i < daftar.size(); i++) {
+            assertEquals(i, daftar.get(i).getUrutan());
+        }
+        assertTrue(langganan.ambil(100).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Berlangganan dari offset melanjutkan sinkronisasi inkremental")
+    void testBerlanggananDariOffset() {
+        repository.simpan(buku1);
+        LanggananPerubahan pertama = repository.berlangganan(0);
+        assertEquals(1, pertama.ambil(10).size());
+        long offsetTersimpan = pertama.getOffset();
+
+        repository.simpan(buku2);
+        repository.ubahJumlahTersedia("0987654321", -1);
+
+        LanggananPerubahan lanjutan = repository.berlangganan(offsetTersimpan);
+        assertEquals(2, lanjutan.getJumlahTertunda());
+        List<PeristiwaPerubahan> daftar = lanjutan.ambil(1);
+        assertEquals(1, daftar.size());
+        assertEquals(1, daftar.get(0).getUrutan());
+        assertEquals(2, lanjutan.ambil(10).get(0).getUrutan());
+        assertThrows(IllegalArgumentException.class, () -> repository.berlangganan(99));
+    }
+
+    @Test
+    @DisplayName("Simpan batch menerbitkan peristiwa per buku yang berhasil")
+    void testSimpanBatch() {
+        LanggananPerubahan langganan = repository.berlangganan();
+        Buku edisiBaru = new Buku("1234567890", "Pemrograman Java Edisi 2", "John Doe", 5, 1.0);
+
+        repository.simpanBatch(Arrays.asList(buku1, null, buku2, edisiBaru));
+
+        List<PeristiwaPerubahan> daftar = langganan.ambil(10);
+        assertEquals(3, daftar.size());
+        assertEquals(PeristiwaPerubahan.Jenis.TAMBAH, daftar.get(0).getJenis());
+        assertEquals(PeristiwaPerubahan.Jenis.TAMBAH, daftar.get(1).getJenis());
+        assertEquals(PeristiwaPerubahan.Jenis.UBAH, daftar.get(2).getJenis());
+        assertEquals("Pemrograman Java", daftar.get(2).getBukuLama().getJudul());
+    }
+
+    @Test
+    @DisplayName("Konsumen yang tertinggal mendapat error, bukan peristiwa yang hilang diam-diam")
+    void testKonsumenTertinggal() {
+        LanggananPerubahan langganan = repository.berlangganan();
+        repository.simpan(buku1);
+        for (int i = 0; i < 20; i++) {
+            repository.ubahJumlahTersedia("1234567890", i % 2 == 0 ? -1 : 1);
+        }
+
+        assertThrows(IllegalStateException.class, () -> langganan.ambil(10));
+        assertEquals(13, repository.getUrutanTertua());
+
+        LanggananPerubahan baru = repository.berlangganan(repository.getUrutanTertua());
+        assertEquals(8, baru.ambil(100).size());
+    }
+
+    @Test
+    @DisplayName("Konsumen yang membaca bersamaan penulis menerima urutan tanpa celah")
+    void testKonsumenBersamaan() throws Exception {
+        // Arrange
+        CdcRepositoryBuku besar = new CdcRepositoryBuku(new MockRepositoryBuku(), 1 << 14);
+        LanggananPerubahan langganan = besar.berlangganan();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            Future<?> penulis = executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    besar.simpan(new Buku(String.format("%010d", i % 500), "Judul " + i, "Pengarang", 3, 1.0));
+                }
+            });
+            Future<Map<String, String>> konsumen = executor.submit(() -> {
+                Map<String, String> replika = new HashMap<>();
+                long urutanDiharapkan = 0;
+                while (urutanDiharapkan < 5_000) {
+                    for (PeristiwaPerubahan peristiwa : langganan.ambil(256)) {
+                        assertEquals(urutanDiharapkan++, peristiwa.getUrutan());
+                        replika.put(peristiwa.getIsbn(), peristiwa.getBukuBaru().getJudul());
+                    }
+                }
+                return replika;
+            });
+            penulis.get(30, TimeUnit.SECONDS);
+            Map<String, String> replika = konsumen.get(30, TimeUnit.SECONDS);
+
+            // Assert - replika sama dengan katalog sumber
+            List<String> selisih = new ArrayList<>();
+            for (Buku buku : besar.cariSemua()) {
+                if (!buku.getJudul().equals(replika.get(buku.getIsbn()))) {
+                    selisih.add(buku.getIsbn());
+                }
+            }
+            assertEquals(500, replika.size());
+            assertTrue(selisih.isEmpty(), "Replika berbeda untuk " + selisih);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package repository;
+
+import model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test Filter Bloom Repository Buku - Penolakan ISBN yang Tidak Ada")
+class FilterBloomRepositoryBukuTest {
+
+    private MockRepositoryBuku repositoryAsli;
+    private FilterBloomRepositoryBuku repository;
+    private Buku buku1;
+    private Buku buku2;
+
+    @BeforeEach
+    void setUp() {
+        repositoryAsli = spy(new MockRepositoryBuku());
+        buku1 = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0);
+        buku2 = new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 200000.0);
+        repositoryAsli.simpan(buku1);
+        repository = new FilterBloomRepositoryBuku(repositoryAsli, 1000);
+    }
+
+    @Test
+    @DisplayName("Isi repository asli dimuat ke filter saat dibuat")
+    void testIsiAwalDimuat() {
+        assertTrue(repository.cariByIsbn("1234567890").isPresent());
+        assertTrue(repository.mengandung("1234567890"));
+    }
+
+    @Test
+    @DisplayName("ISBN yang pasti tidak ada ditolak tanpa menyentuh repository asli")
+    void testIsbnTidakAdaDitolak() {
+        // Arrange
+        clearInvocations(repositoryAsli);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            assertFalse(repository.cariByIsbn(String.format("555%07d", i)).isPresent());
+        }
+
+        // Assert
+        long keRepositoryAsli = repository.getJumlahPositifPalsu();
+        verify(repositoryAsli, times((int) keRepositoryAsli)).cariByIsbn(anyString());
+        assertEquals(100, repository.getJumlahDitolak() + repository.getJumlahPositifPalsu());
+        assertTrue(repository.getJumlahDitolak() >= 90);
+        assertFalse(repository.hapus("5550000000"));
+    }
+
+    @Test
+    @DisplayName("Simpan, hapus dan simpan ulang - filter tetap sinkron")
+    void testSimpanHapusSimpanUlang() {
+        assertTrue(repository.simpan(buku2));
+        assertTrue(repository.mengandung("0987654321"));
+
+        // Simpan ulang ISBN yang sama tidak boleh menambah counter dua kali
+        assertTrue(repository.simpan(buku2));
+        assertTrue(repository.hapus("0987654321"));
+        assertFalse(repository.mengandung("0987654321"));
+        assertTrue(repository.getJumlahDitolak() > 0);
+
+        assertTrue(repository.simpan(buku2));
+        assertTrue(repository.mengandung("0987654321"));
+        assertFalse(repository.simpan(null));
+    }
+
+    @Test
+    @DisplayName("Simpan batch dan update stok melewati filter")
+    void testSimpanBatchDanUpdateStok() {
+        Buku duplikat = new Buku("0987654321", "Algoritma Edisi 2", "Jane Smith", 3, 1.0);
+        repository.simpanBatch(Arrays.asList(buku2, duplikat));
+
+        assertTrue(repository.hapus("0987654321"));
+        assertFalse(repository.mengandung("0987654321"));
+
+        assertTrue(repository.ubahJumlahTersedia("1234567890", -1));
+        assertTrue(repository.updateJumlahTersedia("1234567890", 2));
+        assertFalse(repository.ubahJumlahTersedia("0987654321", -1));
+        assertFalse(repository.updateJumlahTersedia(null, 1));
+        assertEquals(2, repositoryAsli.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Rasio positif palsu mendekati target dan tidak ada negatif palsu")
+    void testRasioPositifPalsu() {
+        // Arrange
+        FilterBloomBerhitung filter = new FilterBloomBerhitung(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.tambah(String.format("978%010d", i));
+        }
+
+        // Act
+        int positifPalsu = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.mungkinAda(String.format("979%010d", i))) {
+                positifPalsu++;
+            }
+        }
+
+        // Assert
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(filter.mungkinAda(String.format("978%010d", i)));
+        }
+        assertTrue(positifPalsu / 100000.0 < 0.02, "Rasio positif palsu: " + positifPalsu / 100000.0);
+        assertEquals(0.01, filter.perkiraanRasioPositifPalsu(), 0.005);
+        assertEquals(7, filter.getJumlahHash());
+    }
+
+    @Test
+    @DisplayName("Rasio positif palsu teramati dihitung dari pencarian yang tidak ada")
+    void testRasioTeramati() {
+        assertEquals(0.0, repository.getRasioPositifPalsu());
+
+        for (int i = 0; i < 1000; i++) {
+            repository.cariByIsbn(String.format("%013d", i));
+        }
+
+        assertTrue(repository.getRasioPositifPalsu() < 0.05);
+        assertTrue(repository.getPerkiraanRasioPositifPalsu() < 0.01);
+    }
+
+    @Test
+    @DisplayName("ISBN bertanda hubung pada repository yang mengkanonikkan ISBN - tidak boleh negatif palsu")
+    void testIsbnKanonikTidakDitolak() {
+        // Arrange
+        PrimitiveRepositoryBuku primitif = new PrimitiveRepositoryBuku(16);
+        FilterBloomRepositoryBuku filterPrimitif = new FilterBloomRepositoryBuku(primitif, 1000);
+        filterPrimitif.simpan(new Buku("9786028519939", "Laskar Pelangi", "Andrea Hirata", 1, 1.0));
+
+        // Act & Assert
+        assertTrue(filterPrimitif.cariByIsbn("978-602-8519-93-9").isPresent());
+        assertTrue(filterPrimitif.ubahJumlahTersedia("978 602 8519 93 9", -1));
+        assertTrue(filterPrimitif.hapus("978-6028519939"));
+        assertFalse(filterPrimitif.mengandung("9786028519939"));
+    }
+}
@@ -0,0 +1,176 @@
+package repository;
+
+import model.Buku;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Mapped Repository Buku - Log Append-Only Persisten")
+class MappedRepositoryBukuTest {
+
+    @TempDir
+    Path direktori;
+
+    private Path berkas;
+    private MappedRepositoryBuku repository;
+    private Buku buku1;
+    private Buku buku2;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        berkas = direktori.resolve("buku.log");
+        repository = new MappedRepositoryBuku(berkas);
+        buku1 = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0);
+        buku2 = new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 200000.0);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Simpan dan cari buku - data sama dengan yang disimpan")
+    void testSimpanDanCari() {
+        assertTrue(repository.simpan(buku1));
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Buku()));
+
+        Optional<Buku> hasil = repository.cariByIsbn("1234567890");
+        assertTrue(hasil.isPresent());
+        assertEquals("Pemrograman Java", hasil.get().getJudul());
+        assertEquals("John Doe", hasil.get().getPengarang());
+        assertEquals(5, hasil.get().getJumlahTersedia());
+        assertEquals(180000.0, hasil.get().getHarga());
+        assertFalse(repository.cariByIsbn("9999999999").isPresent());
+    }
+
+    @Test
+    @DisplayName("Data tetap ada setelah repository dibuka ulang")
+    void testDataBertahanSetelahBukaUlang() throws IOException {
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+        repository.updateJumlahTersedia("1234567890", 2);
+        repository.ubahJumlahTersedia("1234567890", -1);
+        repository.hapus("0987654321");
+        repository.close();
+
+        repository = new MappedRepositoryBuku(berkas);
+
+        assertEquals(1, repository.ukuran());
+        assertEquals(1, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+        assertFalse(repository.cariByIsbn("0987654321").isPresent());
+    }
+
+    @Test
+    @DisplayName("Rekaman terakhir yang rusak diabaikan saat dibuka ulang")
+    void testRekamanRusakDiabaikan() throws IOException {
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+        repository.close();
+
+        // Rusak satu byte di payload rekaman kedua
+        int posisiRusak = 4 + KodekBuku.ukuranRekaman(KodekBuku.payloadBuku(buku1)) + KodekBuku.UKURAN_HEADER_REKAMAN + 6;
+        try (FileChannel channel = FileChannel.open(berkas, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), posisiRusak);
+        }
+
+        repository = new MappedRepositoryBuku(berkas);
+        assertEquals(1, repository.ukuran());
+        assertTrue(repository.cariByIsbn("1234567890").isPresent());
+
+        // Log tetap bisa ditulis setelah pemulihan
+        assertTrue(repository.simpan(buku2));
+        repository.close();
+        repository = new MappedRepositoryBuku(berkas);
+        assertEquals(2, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("Sisa rekaman rusak dengan panjang nol tetap dikosongkan saat dibuka ulang")
+    void testSisaLogSelaluDikosongkan() throws IOException {
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+        repository.close();
+
+        // Panjang rekaman kedua dinolkan, payload lamanya tetap tertinggal di log
+        int posisiKedua = 4 + KodekBuku.ukuranRekaman(KodekBuku.payloadBuku(buku1));
+        try (FileChannel channel = FileChannel.open(berkas, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[4]), posisiKedua);
+        }
+
+        repository = new MappedRepositoryBuku(berkas);
+        assertEquals(1, repository.ukuran());
+        repository.close();
+
+        ByteBuffer sisa = ByteBuffer.allocate(KodekBuku.ukuranRekaman(KodekBuku.payloadBuku(buku2)));
+        try (FileChannel channel = FileChannel.open(berkas, StandardOpenOption.READ)) {
+            channel.read(sisa, posisiKedua);
+        }
+        assertArrayEquals(new byte[sisa.capacity()], sisa.array());
+        repository = new MappedRepositoryBuku(berkas);
+    }
+
+    @Test
+    @DisplayName("Berkas bukan log repository buku - harus ditolak")
+    void testBerkasBukanLog() throws IOException {
+        Path lain = direktori.resolve("lain.txt");
+        Files.write(lain, "bukan log".getBytes());
+
+        assertThrows(IOException.class, () -> new MappedRepositoryBuku(lain));
+    }
+
+    @Test
+    @DisplayName("Update jumlah tersedia - validasi batas sama seperti mock")
+    void testUpdateJumlahTersediaBatas() {
+        repository.simpan(buku2); // jumlahTotal = 3
+
+        assertFalse(repository.updateJumlahTersedia("0987654321", 4));
+        assertFalse(repository.updateJumlahTersedia("0987654321", -1));
+        assertFalse(repository.updateJumlahTersedia("9999999999", 1));
+        assertFalse(repository.ubahJumlahTersedia("0987654321", 1));
+        assertTrue(repository.ubahJumlahTersedia("0987654321", -3));
+        assertFalse(repository.ubahJumlahTersedia("0987654321", -1));
+        assertEquals(0, repository.cariByIsbn("0987654321").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Log membesar otomatis ketika kapasitas awal terlampaui")
+    void testLogMembesar() throws IOException {
+        for (int i = 0; i < 20000; i++) {
+            repository.simpan(new Buku(String.format("%010d", i), "Judul Buku Nomor " + i, "Pengarang " + (i % 50), 3, 50000.0));
+        }
+        repository.close();
+
+        repository = new MappedRepositoryBuku(berkas);
+        assertEquals(20000, repository.ukuran());
+        assertEquals("Judul Buku Nomor 19999", repository.cariByIsbn("0000019999").get().getJudul());
+    }
+
+    @Test
+    @DisplayName("Cari by judul dan pengarang - case insensitive, partial match")
+    void testCariByJudulDanPengarang() {
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+
+        List<Buku> hasilJudul = repository.cariByJudul("JAVA");
+        assertEquals(1, hasilJudul.size());
+        assertEquals("1234567890", hasilJudul.get(0).getIsbn());
+        assertEquals(1, repository.cariByPengarang("smith").size());
+        assertTrue(repository.cariByJudul(" ").isEmpty());
+        assertEquals(2, repository.cariSemua().size());
+    }
+}
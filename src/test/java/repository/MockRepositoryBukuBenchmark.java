@@ -0,0 +1,70 @@
+package repository;
+
+import model.Buku;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Perbandingan alokasi memori per query antara pencarian yang menghitung
+ * toLowerCase setiap judul saat query (cara lama) dan pencarian MockRepositoryBuku
+ * yang memakai kunci pencarian yang sudah dinormalisasi saat simpan
+ * Alokasi diukur dengan com.sun.management.ThreadMXBean pada thread pemanggil
+ *
+ * Jalankan dengan: java -cp target/classes:target/test-classes repository.MockRepositoryBukuBenchmark
+ */
+public class MockRepositoryBukuBenchmark {
+    private static final int JUMLAH_BUKU = 100_000;
+    private static final int JUMLAH_QUERY = 200;
+
+    public static void main(String[] args) {
+        MockRepositoryBuku repository = new MockRepositoryBuku();
+        for (int i = 0; i < JUMLAH_BUKU; i++) {
+            repository.simpan(new Buku(String.format("978%010d", i), "Judul Buku Pemrograman " + i,
+                    "Pengarang " + (i % 1_000), 3, 75000.0));
+        }
+        List<Buku> semua = repository.cariSemua();
+
+        System.out.printf("%-36s %14s %14s%n", "skenario", "byte/query", "us/query");
+        // Query pendek tidak bisa dijawab indeks trigram, keduanya memindai seluruh katalog
+        ukur("toLowerCase per buku, query \"bu\"", () -> cariLama(semua, "BU"));
+        ukur("kunci ternormalisasi, query \"bu\"", () -> repository.cariByJudul("BU"));
+        ukur("toLowerCase per buku, query \"12345\"", () -> cariLama(semua, "12345"));
+        ukur("kunci ternormalisasi, query \"12345\"", () -> repository.cariByJudul("12345"));
+    }
+
+    private static List<Buku> cariLama(List<Buku> semua, String judul) {
+        String judulLower = judul.toLowerCase();
+        return semua.stream()
+                .filter(buku -> buku.getJudul() != null &&
+                        buku.getJudul().toLowerCase().contains(judulLower))
+                .collect(Collectors.toList());
+    }
+
+    private static void ukur(String nama, Supplier<List<Buku>> query) {
+        com.sun.management.ThreadMXBean mxBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long idThread = Thread.currentThread().getId();
+        int jumlahHasil = 0;
+        // Pemanasan agar JIT selesai sebelum pengukuran
+        for (int i = 0; i < JUMLAH_QUERY; i++) {
+            jumlahHasil += query.get().size();
+        }
+
+        long alokasiAwal = mxBean.getThreadAllocatedBytes(idThread);
+        long waktuAwal = System.nanoTime();
+        for (int i = 0; i < JUMLAH_QUERY; i++) {
+            jumlahHasil += query.get().size();
+        }
+        long waktu = System.nanoTime() - waktuAwal;
+        long alokasi = mxBean.getThreadAllocatedBytes(idThread) - alokasiAwal;
+
+        System.out.printf("%-36s %14d %14.1f%n", nama, alokasi / JUMLAH_QUERY, waktu / 1000.0 / JUMLAH_QUERY);
+        // Pastikan hasil dipakai agar query tidak dihapus oleh JIT
+        if (jumlahHasil == 42) {
+            System.out.print("");
+        }
+    }
+}
@@ -5,8 +5,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -402,5 +416,682 @@ class MockRepositoryBukuTest {
 
         assertTrue(hasil.isEmpty());
     }
+
+    @Test
+    @DisplayName("Cari buku by judul - indeks trigram mengikuti simpan, overwrite dan hapus")
+    void testCariByJudulIndeksMengikutiPerubahan() {
+        mockRepository.simpan(buku1); // "Pemrograman Java"
+        mockRepository.simpan(buku3); // "Java Advanced"
+        assertEquals(2, mockRepository.cariByJudul("jav").size());
+
+        // Overwrite judul buku1, trigram lama tidak boleh lagi menemukan buku1
+        mockRepository.simpan(new Buku("1234567890", "Basis Data", "John Doe", 5, 180000.0));
+        List<Buku> hasil = mockRepository.cariByJudul("java");
+        assertEquals(1, hasil.size());
+        assertEquals("111111111111", hasil.get(0).getIsbn());
+        assertEquals(1, mockRepository.cariByJudul("BASIS d").size());
+
+        mockRepository.hapus("111111111111");
+        assertTrue(mockRepository.cariByJudul("java").isEmpty());
+
+        mockRepository.bersihkan();
+        assertTrue(mockRepository.cariByJudul("basis").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari buku by judul - query pendek dan spasi tetap partial match")
+    void testCariByJudulQueryPendekDanSpasi() {
+        mockRepository.simpan(buku1); // "Pemrograman Java"
+        mockRepository.simpan(buku2); // "Algoritma dan Struktur Data"
+
+        assertEquals(2, mockRepository.cariByJudul("a").size());
+        assertEquals(1, mockRepository.cariByJudul("Da").size());
+        assertEquals(1, mockRepository.cariByJudul("man J").size());
+        assertTrue(mockRepository.cariByJudul("java ").isEmpty());
+        assertTrue(mockRepository.cariByJudul("xyz").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari buku by pengarang - indeks token mendukung partial match")
+    void testCariByPengarangIndeksToken() {
+        mockRepository.simpan(buku1); // John Doe
+        mockRepository.simpan(buku2); // Jane Smith
+        mockRepository.simpan(buku3); // John Doe
+        mockRepository.simpan(new Buku("2222222222", "Sejarah", "Mary Anne Doerr", 2, 90000.0));
+
+        assertEquals(2, mockRepository.cariByPengarang("john doe").size());
+        assertEquals(3, mockRepository.cariByPengarang("doe").size());
+        assertEquals(2, mockRepository.cariByPengarang("hn d").size());
+        assertEquals(1, mockRepository.cariByPengarang("Mary Anne Do").size());
+        assertEquals(1, mockRepository.cariByPengarang("ry anne doerr").size());
+        assertTrue(mockRepository.cariByPengarang("john doerr").isEmpty());
+        assertTrue(mockRepository.cariByPengarang("doe ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari buku by pengarang - indeks mengikuti overwrite dan hapus")
+    void testCariByPengarangIndeksMengikutiPerubahan() {
+        mockRepository.simpan(buku1); // John Doe
+        mockRepository.simpan(buku3); // John Doe
+
+        mockRepository.simpan(new Buku("1234567890", "Pemrograman Java", "Jane Smith", 5, 180000.0));
+        assertEquals(1, mockRepository.cariByPengarang("John Doe").size());
+        assertEquals(1, mockRepository.cariByPengarang("smith").size());
+
+        mockRepository.hapus("111111111111");
+        assertTrue(mockRepository.cariByPengarang("john").isEmpty());
+
+        mockRepository.bersihkan();
+        assertTrue(mockRepository.cariByPengarang("smith").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Ubah jumlah tersedia - tidak boleh keluar dari batas 0 dan jumlah total")
+    void testUbahJumlahTersediaBatas() {
+        mockRepository.simpan(buku2); // jumlahTotal = 3
+
+        assertFalse(mockRepository.ubahJumlahTersedia("0987654321", 1), "Tidak boleh melebihi jumlah total");
+        assertTrue(mockRepository.ubahJumlahTersedia("0987654321", -3));
+        assertFalse(mockRepository.ubahJumlahTersedia("0987654321", -1), "Tidak boleh negatif");
+        assertEquals(0, mockRepository.cariByIsbn("0987654321").get().getJumlahTersedia());
+        assertFalse(mockRepository.ubahJumlahTersedia("9999999999", -1), "Buku tidak ada");
+        assertFalse(mockRepository.ubahJumlahTersedia(null, -1));
+    }
+
+    @Test
+    @DisplayName("Ubah jumlah tersedia - peminjaman bersamaan tidak boleh oversell")
+    void testUbahJumlahTersediaKonkuren() throws Exception {
+        mockRepository.simpan(buku1); // jumlahTotal = 5
+        int jumlahThread = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+        CountDownLatch mulai = new CountDownLatch(1);
+        AtomicInteger berhasil = new AtomicInteger();
+        try {
+            List<Future<?>> daftarTugas = new ArrayList<>();
+            for (int i = 0; i < jumlahThread; i++) {
+                daftarTugas.add(executor.submit(() -> {
+                    mulai.await();
+                    for (int j = 0; j < 100; j++) {
+                        if (mockRepository.ubahJumlahTersedia("1234567890", -1)) {
+                            berhasil.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            mulai.countDown();
+            for (Future<?> tugas : daftarTugas) {
+                tugas.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(5, berhasil.get(), "Hanya 5 salinan yang boleh dipinjam");
+        assertEquals(0, mockRepository.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Simpan batch - hasil per buku dan indeks ikut terupdate")
+    void testSimpanBatch() {
+        boolean[] hasil = mockRepository.simpanBatch(Arrays.asList(buku1, null, buku2, new Buku(), buku3));
+
+        assertArrayEquals(new boolean[]{true, false, true, false, true}, hasil);
+        assertEquals(3, mockRepository.ukuran());
+        assertEquals(2, mockRepository.cariByJudul("java").size());
+        assertEquals(2, mockRepository.cariByPengarang("john").size());
+    }
+
+    @Test
+    @DisplayName("Cari halaman - urutan ISBN stabil dengan token lanjutan")
+    void testCariHalaman() {
+        mockRepository.simpan(buku1); // 1234567890
+        mockRepository.simpan(buku2); // 0987654321
+        mockRepository.simpan(buku3); // 111111111111
+
+        HalamanBuku halaman1 = mockRepository.cariHalaman(2, null);
+        assertEquals(Arrays.asList(buku2, buku3), halaman1.getIsi());
+        assertTrue(halaman1.adaHalamanBerikutnya());
+
+        HalamanBuku halaman2 = mockRepository.cariHalaman(2, halaman1.getTokenLanjutan());
+        assertEquals(Arrays.asList(buku1), halaman2.getIsi());
+        assertFalse(halaman2.adaHalamanBerikutnya());
+
+        // Buku yang dihapus di antara dua halaman tidak mengganggu token
+        mockRepository.hapus("111111111111");
+        assertEquals(Arrays.asList(buku1), mockRepository.cariHalaman(2, "0987654321").getIsi());
+        assertThrows(IllegalArgumentException.class, () -> mockRepository.cariHalaman(0, null));
+    }
+
+    @Test
+    @DisplayName("Stream semua - lazy dalam urutan ISBN")
+    void testStreamSemua() {
+        mockRepository.simpan(buku1);
+        mockRepository.simpan(buku2);
+        mockRepository.simpan(buku3);
+
+        assertEquals(Arrays.asList(buku2, buku3, buku1), mockRepository.streamSemua().collect(Collectors.toList()));
+        assertEquals(Optional.of(buku2), mockRepository.streamSemua().findFirst());
+    }
+
+    @Test
+    @DisplayName("Cari tersedia by judul dan pengarang - hanya buku yang ada di rak")
+    void testCariTersedia() {
+        // Arrange
+        mockRepository.simpan(buku1);
+        mockRepository.simpan(buku2);
+        mockRepository.simpan(buku3);
+
+        // Act
+        mockRepository.updateJumlahTersedia("1234567890", 0);
+
+        // Assert
+        assertEquals(Arrays.asList(buku3), mockRepository.cariTersediaByJudul("java"));
+        assertEquals(Arrays.asList(buku3), mockRepository.cariTersediaByPengarang("john"));
+        assertEquals(1, mockRepository.cariTersediaByJudul("Ja").size());
+        assertEquals(2, mockRepository.hitungBukuTersedia());
+
+        mockRepository.ubahJumlahTersedia("1234567890", 1);
+        assertEquals(2, mockRepository.cariTersediaByJudul("java").size());
+        assertEquals(3, mockRepository.hitungBukuTersedia());
+        assertTrue(mockRepository.cariTersediaByPengarang(" ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Bitmap ketersediaan tetap benar setelah hapus, simpan ulang dan ordinal dipakai ulang")
+    void testBitmapTersediaSetelahHapus() {
+        // Arrange
+        mockRepository.simpan(buku1);
+        mockRepository.simpan(buku2);
+        mockRepository.updateJumlahTersedia("1234567890", 0);
+
+        // Act - ordinal buku1 dipakai ulang oleh buku3
+        mockRepository.hapus("1234567890");
+        mockRepository.simpan(buku3);
+        Buku kosong = new Buku("2222222222", "Java Kosong", "Budi", 2, 1.0);
+        kosong.setJumlahTersedia(0);
+        mockRepository.simpan(kosong);
+
+        // Assert
+        assertEquals(Arrays.asList(buku3), mockRepository.cariTersediaByJudul("java"));
+        assertEquals(2, mockRepository.hitungBukuTersedia());
+
+        mockRepository.bersihkan();
+        assertEquals(0, mockRepository.hitungBukuTersedia());
+        mockRepository.simpan(buku2);
+        assertEquals(1, mockRepository.cariTersediaByJudul("algoritma").size());
+    }
+
+    @Test
+    @DisplayName("Bitmap ketersediaan konsisten setelah pinjam dan kembali paralel")
+    void testBitmapTersediaParalel() throws Exception {
+        // Arrange - 100 buku dengan satu salinan
+        for (int i = 0; i < 100; i++) {
+            mockRepository.simpan(new Buku(String.format("%010d", i), "Judul Java " + i, "Pengarang", 1, 1.0));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // Act - setiap thread meminjam lalu mengembalikan buku berulang kali, buku genap tetap dipinjam
+        List<Future<?>> daftarTugas = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            daftarTugas.add(executor.submit(() -> {
+                for (int n = 0; n < 2_000; n++) {
+                    String isbn = String.format("%010d", n % 100);
+                    if (mockRepository.ubahJumlahTersedia(isbn, -1)) {
+                        mockRepository.ubahJumlahTersedia(isbn, 1);
+                    }
+                }
+            }));
+        }
+        for (Future<?> tugas : daftarTugas) {
+            tugas.get();
+        }
+        executor.shutdown();
+        for (int i = 0; i < 100; i += 2) {
+            mockRepository.ubahJumlahTersedia(String.format("%010d", i), -1);
+        }
+
+        // Assert
+        assertEquals(50, mockRepository.hitungBukuTersedia());
+        assertEquals(50, mockRepository.cariTersediaByJudul("judul java").size());
+    }
+
+    @Test
+    @DisplayName("Saran judul - awalan setiap kata, diurutkan berdasarkan jumlah peminjaman")
+    void testSarankanJudul() {
+        // Arrange
+        mockRepository.simpan(new Buku("1000000001", "Laskar Pelangi", "Andrea Hirata", 10, 1.0));
+        mockRepository.simpan(new Buku("1000000002", "Laut Bercerita", "Leila S. Chudori", 10, 1.0));
+        mockRepository.simpan(new Buku("1000000003", "Pelangi di Mars", "Anonim", 10, 1.0));
+        mockRepository.simpan(new Buku("1000000004", "Lantai Dua", "Budi", 10, 1.0));
+
+        // Act - Laut Bercerita dipinjam 3 kali, Lantai Dua sekali, pengembalian tidak menambah popularitas
+        for (int i = 0; i < 3; i++) {
+            mockRepository.ubahJumlahTersedia("1000000002", -1);
+        }
+        mockRepository.ubahJumlahTersedia("1000000004", -1);
+        mockRepository.ubahJumlahTersedia("1000000004", 1);
+
+        // Assert
+        List<SaranPencarian> saran = mockRepository.sarankanJudul("La", 2);
+        assertEquals(2, saran.size());
+        assertEquals("Laut Bercerita", saran.get(0).getTeks());
+        assertEquals(3, saran.get(0).getPopularitas());
+        assertEquals("Lantai Dua", saran.get(1).getTeks());
+
+        List<String> pelangi = mockRepository.sarankanJudul("  PELANGI ", 5).stream()
+                .map(SaranPencarian::getTeks).sorted().collect(Collectors.toList());
+        assertEquals(Arrays.asList("Laskar Pelangi", "Pelangi di Mars"), pelangi);
+        assertEquals("Andrea Hirata", mockRepository.sarankanPengarang("hir", 5).get(0).getTeks());
+        assertTrue(mockRepository.sarankanJudul("xyz", 5).isEmpty());
+        assertTrue(mockRepository.sarankanJudul(" ", 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> mockRepository.sarankanJudul("la", 0));
+    }
+
+    @Test
+    @DisplayName("Saran judul mengikuti hapus dan ganti judul, popularitas ISBN dipertahankan")
+    void testSarankanJudulSetelahPerubahan() {
+        // Arrange
+        mockRepository.simpan(new Buku("1000000001", "Bumi Manusia", "Pramoedya Ananta Toer", 5, 1.0));
+        mockRepository.simpan(new Buku("1000000002", "Bumi", "Tere Liye", 5, 1.0));
+        mockRepository.ubahJumlahTersedia("1000000001", -2);
+
+        // Act & Assert - judul diganti, popularitas ikut pindah ke judul baru
+        mockRepository.simpan(new Buku("1000000001", "Bumi Manusia (Edisi Baru)", "Pramoedya Ananta Toer", 5, 1.0));
+        List<SaranPencarian> saran = mockRepository.sarankanJudul("bumi", 5);
+        assertEquals(2, saran.size());
+        assertEquals("Bumi Manusia (Edisi Baru)", saran.get(0).getTeks());
+        assertEquals(2, saran.get(0).getPopularitas());
+
+        mockRepository.hapus("1000000001");
+        assertEquals(1, mockRepository.sarankanJudul("bumi", 5).size());
+        assertTrue(mockRepository.sarankanJudul("manusia", 5).isEmpty());
+
+        mockRepository.bersihkan();
+        assertTrue(mockRepository.sarankanJudul("bumi", 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Saran judul top-K pada katalog besar sama dengan hasil pengurutan penuh")
+    void testSarankanJudulTopK() {
+        // Arrange
+        Random acak = new Random(7);
+        Map<String, Long> popularitas = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            String judul = "Judul " + Integer.toString(i, 36) + " Seri";
+            String isbn = String.format("%010d", i);
+            mockRepository.simpan(new Buku(isbn, judul, "Pengarang", 1_000, 1.0));
+            int pinjam = acak.nextInt(50);
+            mockRepository.ubahJumlahTersedia(isbn, -pinjam);
+            popularitas.put(judul, (long) pinjam);
+        }
+
+        // Act
+        List<SaranPencarian> saran = mockRepository.sarankanJudul("judul 1", 10);
+
+        // Assert - popularitas top-10 sama dengan hasil pengurutan penuh
+        List<Long> diharapkan = popularitas.entrySet().stream()
+                .filter(e -> e.getKey().toLowerCase().startsWith("judul 1"))
+                .map(Map.Entry::getValue)
+                .sorted(Comparator.reverseOrder())
+                .limit(10)
+                .collect(Collectors.toList());
+        assertEquals(diharapkan, saran.stream().map(SaranPencarian::getPopularitas).collect(Collectors.toList()));
+        for (SaranPencarian s : saran) {
+            assertEquals(popularitas.get(s.getTeks()).longValue(), s.getPopularitas());
+        }
+    }
+
+    @Test
+    @DisplayName("Cari judul fuzzy - toleran salah ketik, yang paling mirip lebih dulu")
+    void testCariByJudulFuzzy() {
+        // Arrange
+        Buku bukuJava = new Buku("1111111111", "Pemrograman Java", "John Doe", 2, 100000.0);
+        Buku bukuJawa = new Buku("2222222222", "Sejarah Jawa", "Jane Doe", 2, 100000.0);
+        Buku bukuData = new Buku("3333333333", "Struktur Data", "Budi", 2, 100000.0);
+        mockRepository.simpan(bukuJava);
+        mockRepository.simpan(bukuJawa);
+        mockRepository.simpan(bukuData);
+
+        // Act & Assert
+        assertEquals(Arrays.asList(bukuJava), mockRepository.cariByJudulFuzzy("Pemograman Jva", 2));
+        assertTrue(mockRepository.cariByJudulFuzzy("Pemograman Jva", 1).isEmpty());
+        assertEquals(Arrays.asList(bukuJava, bukuJawa), mockRepository.cariByJudulFuzzy("java", 1));
+        assertEquals(Arrays.asList(bukuData), mockRepository.cariByJudulFuzzy("STRUKTUR", 0));
+        assertTrue(mockRepository.cariByJudulFuzzy(" ", 2).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> mockRepository.cariByJudulFuzzy("java", -1));
+    }
+
+    @Test
+    @DisplayName("Cari judul fuzzy - indeks mengikuti update dan hapus")
+    void testCariByJudulFuzzySetelahPerubahan() {
+        // Arrange
+        for (int i = 0; i < 1000; i++) {
+            mockRepository.simpan(new Buku(String.format("%010d", i), "Judul Nomor " + i, "Pengarang", 1, 1.0));
+        }
+        mockRepository.simpan(new Buku("9999999999", "Kalkulus Lanjutan", "Pengarang", 1, 1.0));
+
+        // Act & Assert
+        assertEquals(1, mockRepository.cariByJudulFuzzy("kalkulus lanjtan", 1).size());
+        mockRepository.simpan(new Buku("9999999999", "Fisika Dasar", "Pengarang", 1, 1.0));
+        assertTrue(mockRepository.cariByJudulFuzzy("kalkulus lanjtan", 1).isEmpty());
+        assertEquals(1, mockRepository.cariByJudulFuzzy("fisika dsar", 1).size());
+        mockRepository.hapus("9999999999");
+        assertTrue(mockRepository.cariByJudulFuzzy("fisika dsar", 1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari teks BM25 - kata judul lebih relevan, stop-word diabaikan")
+    void testCariTeks() {
+        // Arrange
+        Buku bukuJava = new Buku("1111111111", "Pemrograman Java untuk Pemula", "Budi Santoso", 2, 1.0);
+        Buku bukuJavaLanjut = new Buku("2222222222", "Java dan Java Lanjutan", "Siti Aminah", 2, 1.0);
+        Buku bukuPengarang = new Buku("3333333333", "Struktur Data", "Java Wijaya", 2, 1.0);
+        Buku bukuLain = new Buku("4444444444", "Sejarah Indonesia", "Budi Santoso", 2, 1.0);
+        mockRepository.simpan(bukuJava);
+        mockRepository.simpan(bukuJavaLanjut);
+        mockRepository.simpan(bukuPengarang);
+        mockRepository.simpan(bukuLain);
+
+        // Act
+        List<HasilPencarian> hasil = mockRepository.cariTeks("java", 10);
+
+        // Assert
+        assertEquals(3, hasil.size());
+        assertEquals(bukuJavaLanjut, hasil.get(0).getBuku());
+        assertEquals(bukuJava, hasil.get(1).getBuku());
+        assertEquals(bukuPengarang, hasil.get(2).getBuku());
+        assertTrue(hasil.get(0).getSkor() > hasil.get(1).getSkor());
+        assertEquals(Arrays.asList(bukuJavaLanjut), mockRepository.cariTeks("JAVA", 1).stream()
+                .map(HasilPencarian::getBuku).collect(Collectors.toList()));
+        assertTrue(mockRepository.cariTeks("dan untuk", 10).isEmpty());
+        assertTrue(mockRepository.cariTeks(" ", 10).isEmpty());
+        assertEquals(bukuLain, mockRepository.cariTeks("sejarah budi", 10).get(0).getBuku());
+        assertThrows(IllegalArgumentException.class, () -> mockRepository.cariTeks("java", 0));
+    }
+
+    @Test
+    @DisplayName("Cari teks BM25 - top-K sama dengan skor seluruh kandidat dan mengikuti perubahan")
+    void testCariTeksTopK() {
+        // Arrange
+        for (int i = 0; i < 500; i++) {
+            String judul = "Buku Umum " + (i % 7 == 0 ? "Langka " : "") + i;
+            mockRepository.simpan(new Buku(String.format("%010d", i), judul, "Pengarang " + (i % 10), 1, 1.0));
+        }
+
+        // Act
+        List<HasilPencarian> semua = mockRepository.cariTeks("langka umum", 500);
+        List<HasilPencarian> teratas = mockRepository.cariTeks("langka umum", 5);
+
+        // Assert
+        assertEquals(500, semua.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(semua.get(i).getBuku(), teratas.get(i).getBuku());
+            assertEquals(semua.get(i).getSkor(), teratas.get(i).getSkor(), 1e-9);
+            assertTrue(teratas.get(i).getBuku().getJudul().contains("Langka"));
+        }
+        mockRepository.hapus("0000000000");
+        mockRepository.simpan(new Buku("0000000007", "Novel", "Anonim", 1, 1.0));
+        assertTrue(mockRepository.cariTeks("langka", 500).stream()
+                .noneMatch(h -> h.getBuku().getIsbn().equals("0000000000")
+                        || h.getBuku().getIsbn().equals("0000000007")));
+        assertEquals(1, mockRepository.cariTeks("novel", 5).size());
+    }
+
+    @Test
+    @DisplayName("Cari rentang harga dan termahal - lewat indeks harga, konsisten dengan simpan dan hapus")
+    void testCariByHarga() {
+        // Arrange
+        Buku murah = new Buku("1111111111", "Buku Murah", "A", 1, 50000.0);
+        Buku sedang1 = new Buku("2222222222", "Buku Sedang", "B", 1, 100000.0);
+        Buku sedang2 = new Buku("3333333333", "Buku Sedang Lain", "C", 1, 100000.0);
+        Buku mahal = new Buku("4444444444", "Buku Mahal", "D", 1, 250000.0);
+        mockRepository.simpan(mahal);
+        mockRepository.simpan(sedang2);
+        mockRepository.simpan(murah);
+        mockRepository.simpan(sedang1);
+
+        // Act & Assert
+        assertEquals(Arrays.asList(sedang1, sedang2, mahal), mockRepository.cariByRentangHarga(100000.0, 250000.0));
+        assertEquals(Arrays.asList(murah), mockRepository.cariByRentangHarga(0.0, 99999.0));
+        assertTrue(mockRepository.cariByRentangHarga(300000.0, Double.POSITIVE_INFINITY).isEmpty());
+        assertEquals(Arrays.asList(mahal, sedang1), mockRepository.cariTermahal(2));
+        assertEquals(mockRepository.cari(new KueriBuku().urutkan(KueriBuku.Urutan.HARGA_TURUN).batas(3)),
+                mockRepository.cariTermahal(3));
+        assertEquals(4, mockRepository.cariTermahal(10).size());
+
+        Buku mahalTurunHarga = new Buku("4444444444", "Buku Mahal", "D", 1, 10000.0);
+        mockRepository.simpan(mahalTurunHarga);
+        mockRepository.hapus("3333333333");
+        assertEquals(Arrays.asList(mahalTurunHarga, murah), mockRepository.cariByRentangHarga(0.0, 50000.0));
+        assertEquals(Arrays.asList(sedang1, murah, mahalTurunHarga), mockRepository.cariTermahal(5));
+
+        assertThrows(IllegalArgumentException.class, () -> mockRepository.cariByRentangHarga(2.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> mockRepository.cariTermahal(0));
+        mockRepository.bersihkan();
+        assertTrue(mockRepository.cariTermahal(5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari judul dan pengarang - aksen dan spasi beruntun dinormalisasi saat simpan")
+    void testCariDenganKunciTernormalisasi() {
+        // Arrange
+        Buku bukuAksen = new Buku("1111111111", "Caf\u00e9  Sejarah \u00c9ropa", "Jos\u00e9 Rizal", 1, 1.0);
+        Buku bukuBiasa = new Buku("2222222222", "Sejarah Indonesia", "Budi", 1, 1.0);
+        mockRepository.simpan(bukuAksen);
+        mockRepository.simpan(bukuBiasa);
+
+        // Act & Assert
+        assertEquals(Arrays.asList(bukuAksen), mockRepository.cariByJudul("cafe sejarah"));
+        assertEquals(Arrays.asList(bukuAksen), mockRepository.cariByJudul("\u00c9ROPA"));
+        assertEquals(Arrays.asList(bukuAksen), mockRepository.cariByJudul("f\u00e9"));
+        assertEquals(Arrays.asList(bukuAksen), mockRepository.cariByPengarang("jose"));
+        assertEquals(Arrays.asList(bukuAksen), mockRepository.cariTersediaByPengarang("JOS\u00c9 RIZAL"));
+        assertEquals(Arrays.asList(bukuAksen), mockRepository.cariByJudulFuzzy("kafe", 1));
+        assertEquals(bukuAksen, mockRepository.cariTeks("cafe eropa", 5).get(0).getBuku());
+        assertEquals(bukuAksen, mockRepository.cariTeks("CAF\u00c9", 5).get(0).getBuku());
+        assertEquals("Caf\u00e9  Sejarah \u00c9ropa", mockRepository.sarankanJudul("cafe", 5).get(0).getTeks());
+        assertEquals(2, mockRepository.cariByJudul("sejarah").size());
+
+        mockRepository.simpan(new Buku("1111111111", "Teh Jawa", "Jos\u00e9 Rizal", 1, 1.0));
+        assertTrue(mockRepository.cariByJudul("cafe").isEmpty());
+        mockRepository.hapus("1111111111");
+        assertTrue(mockRepository.cariByPengarang("jose").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Normalisasi kunci pencarian - huruf kecil, tanpa aksen, spasi dipadatkan")
+    void testNormalisasiKunciPencarian() {
+        assertEquals("pemrograman java", KunciPencarian.normalisasi("Pemrograman   JAVA"));
+        assertEquals("creme brulee", KunciPencarian.normalisasi("Cr\u00e8me\tBr\u00fbl\u00e9e"));
+        assertEquals(" sejarah ", KunciPencarian.normalisasi(" Sejarah\u00a0\n"));
+        assertNull(KunciPencarian.normalisasi(null));
+        String sudahNormal = "judul buku 1";
+        assertSame(sudahNormal, KunciPencarian.normalisasi(sudahNormal));
+    }
+
+    @Test
+    @DisplayName("Kueri gabungan - judul, pengarang, tersedia, urut judul dengan batas")
+    void testCariKueriGabungan() {
+        // Arrange
+        for (int i = 0; i < 300; i++) {
+            String pengarang = i % 3 == 0 ? "John Doe" : "Jane Smith";
+            String judul = (i % 2 == 0 ? "Pemrograman Java " : "Sejarah Dunia ") + String.format("%03d", i);
+            mockRepository.simpan(new Buku(String.format("%010d", i), judul, pengarang, 1, 1000.0 * i));
+        }
+        mockRepository.ubahJumlahTersedia("0000000000", -1);
+        mockRepository.ubahJumlahTersedia("0000000006", -1);
+
+        // Act
+        List<Buku> hasil = mockRepository.cari(new KueriBuku()
+                .judulMengandung("JAVA")
+                .pengarangMengandung("doe")
+                .hanyaTersedia()
+                .urutkan(KueriBuku.Urutan.JUDUL)
+                .batas(3));
+
+        // Assert: kelipatan 6 yang masih tersedia, mulai dari 12
+        assertEquals(Arrays.asList("Pemrograman Java 012", "Pemrograman Java 018", "Pemrograman Java 024"),
+                hasil.stream().map(Buku::getJudul).collect(Collectors.toList()));
+        assertEquals(48, mockRepository.cari(new KueriBuku().judulMengandung("java").pengarangMengandung("doe")
+                .hanyaTersedia()).size());
+        assertEquals(mockRepository.cariSemua().stream()
+                        .filter(b -> b.getJudul().contains("Java") && b.getPengarang().contains("Doe") && b.isTersedia())
+                        .count(),
+                mockRepository.cari(new KueriBuku().judulMengandung("java").pengarangMengandung("doe")
+                        .hanyaTersedia()).size());
+    }
+
+    @Test
+    @DisplayName("Kueri tanpa teks - indeks harga dan ISBN dibaca terurut sampai batas")
+    void testCariKueriTanpaTeks() {
+        // Arrange
+        for (int i = 0; i < 100; i++) {
+            mockRepository.simpan(new Buku(String.format("%010d", i), "Judul " + i, "Pengarang", 1, 1000.0 * (i % 10)));
+        }
+
+        // Act
+        List<Buku> termurah = mockRepository.cari(new KueriBuku()
+                .hargaAntara(3000.0, 5000.0).urutkan(KueriBuku.Urutan.HARGA_NAIK).batas(4));
+        List<Buku> termahal = mockRepository.cari(new KueriBuku()
+                .urutkan(KueriBuku.Urutan.HARGA_TURUN).batas(2));
+        List<Buku> perIsbn = mockRepository.cari(new KueriBuku().hargaAntara(9000.0, 9000.0).batas(3));
+
+        // Assert
+        assertEquals(Arrays.asList("0000000003", "0000000013", "0000000023", "0000000033"),
+                termurah.stream().map(Buku::getIsbn).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("0000000009", "0000000019"),
+                termahal.stream().map(Buku::getIsbn).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("0000000005", "0000000015", "0000000025"), mockRepository.cari(new KueriBuku()
+                .hargaAntara(1000.0, 5000.0).urutkan(KueriBuku.Urutan.HARGA_TURUN).batas(3)).stream()
+                .map(Buku::getIsbn).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("0000000009", "0000000019", "0000000029"),
+                perIsbn.stream().map(Buku::getIsbn).collect(Collectors.toList()));
+        assertEquals(100, mockRepository.cari(new KueriBuku()).size());
+        // Query judul pendek tidak memakai indeks trigram, penggeraknya indeks harga
+        assertEquals(10, mockRepository.cari(new KueriBuku().judulMengandung("1").urutkan(KueriBuku.Urutan.HARGA_TURUN)
+                .hargaAntara(1000.0, 1000.0)).size());
+        assertThrows(IllegalArgumentException.class, () -> mockRepository.cari(null));
+        assertThrows(IllegalArgumentException.class, () -> new KueriBuku().batas(0));
+        assertThrows(IllegalArgumentException.class, () -> new KueriBuku().judulMengandung(" "));
+        assertThrows(IllegalArgumentException.class, () -> new KueriBuku().hargaAntara(2.0, 1.0));
+    }
+
+    @Test
+    @DisplayName("Stream dan hitung judul/pengarang - lazy dan sama dengan hasil list")
+    void testStreamDanHitung() {
+        // Arrange
+        for (int i = 0; i < 200; i++) {
+            mockRepository.simpan(new Buku(String.format("%010d", i), (i % 2 == 0 ? "Pemrograman Java " : "Basis Data ") + i,
+                    i % 4 == 0 ? "John Doe" : "Jane Smith", 1, 1.0));
+        }
+
+        // Act & Assert
+        assertEquals(mockRepository.cariByJudul("java").size(), mockRepository.hitungByJudul("java"));
+        assertEquals(100, mockRepository.hitungByJudul("JAVA"));
+        assertEquals(mockRepository.cariByJudul("1").size(), mockRepository.hitungByJudul("1"));
+        assertEquals(50, mockRepository.hitungByPengarang("doe"));
+        assertEquals(200, mockRepository.hitungByPengarang("j"));
+        assertEquals(0, mockRepository.hitungByJudul(" "));
+        assertEquals(0, mockRepository.hitungByPengarang(null));
+
+        AtomicInteger diperiksa = new AtomicInteger();
+        Optional<Buku> pertama = mockRepository.streamByJudul("basis data")
+                .peek(buku -> diperiksa.incrementAndGet())
+                .findFirst();
+        assertTrue(pertama.isPresent());
+        assertEquals(1, diperiksa.get());
+        assertEquals(50, mockRepository.streamByPengarang("doe").count());
+        assertEquals(0, mockRepository.streamByJudul(null).count());
+    }
+
+    @Test
+    @DisplayName("Saran judul - tidak bergantung locale default dan mengabaikan aksen")
+    void testSarankanJudulLocaleDanAksen() {
+        Locale localeAsli = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            // Arrange
+            mockRepository.simpan(new Buku("1111111111", "SEJARAH INDONESIA", "Budi", 1, 1.0));
+            mockRepository.simpan(new Buku("2222222222", "Caf\u00e9 Jakarta", "Ani", 1, 1.0));
+
+            // Act & Assert
+            assertEquals("SEJARAH INDONESIA", mockRepository.sarankanJudul("in", 5).get(0).getTeks());
+            assertEquals("Caf\u00e9 Jakarta", mockRepository.sarankanJudul("cafe", 5).get(0).getTeks());
+            assertEquals(1, mockRepository.sarankanJudul("CAF\u00c9", 5).size());
+        } finally {
+            Locale.setDefault(localeAsli);
+        }
+    }
+
+    @Test
+    @DisplayName("Stream judul/pengarang - membaca posting list langsung, bukan salinan hasil")
+    void testStreamMembacaPostingList() {
+        // Arrange
+        for (int i = 0; i < 100; i++) {
+            mockRepository.simpan(new Buku(String.format("%010d", i), "Pemrograman Java " + i, "John Doe", 1, 1.0));
+        }
+
+        // Act: stream dibuat sebelum buku baru disimpan, tetapi baru dikonsumsi sesudahnya
+        Stream<Buku> streamJudul = mockRepository.streamByJudul("java");
+        Stream<Buku> streamPengarang = mockRepository.streamByPengarang("doe");
+        mockRepository.simpan(new Buku("9999999999", "Java Lanjut", "John Doe", 1, 1.0));
+
+        // Assert: hasil belum dihitung saat stream dibuat, sehingga buku baru ikut terbaca
+        assertEquals(101, streamJudul.count());
+        assertEquals(101, streamPengarang.count());
+        assertEquals(101, mockRepository.hitungByJudul("java"));
+    }
+
+    @Test
+    @DisplayName("Cari rentang harga - perubahan harga paralel tidak menghasilkan buku ganda")
+    void testCariByRentangHargaTanpaDuplikat() throws Exception {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            mockRepository.simpan(new Buku(String.format("%010d", i), "Judul " + i, "Pengarang", 1, 1000.0));
+        }
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicInteger berhenti = new AtomicInteger();
+        Future<?> penulis = executor.submit(() -> {
+            for (int putaran = 0; berhenti.get() == 0; putaran++) {
+                for (int i = 0; i < 20; i++) {
+                    mockRepository.simpan(new Buku(String.format("%010d", i), "Judul " + i, "Pengarang", 1,
+                            putaran % 2 == 0 ? 2000.0 : 1000.0));
+                }
+            }
+        });
+
+        // Act & Assert: harga lama dan baru sama-sama di dalam rentang
+        try {
+            for (int i = 0; i < 2000; i++) {
+                List<Buku> hasil = mockRepository.cariByRentangHarga(0.0, 5000.0);
+                assertEquals(hasil.size(), hasil.stream().map(Buku::getIsbn).distinct().count());
+                List<Buku> terurut = mockRepository.cari(new KueriBuku().urutkan(KueriBuku.Urutan.HARGA_NAIK));
+                assertEquals(terurut.size(), terurut.stream().map(Buku::getIsbn).distinct().count());
+                List<Buku> termahal = mockRepository.cariTermahal(20);
+                assertEquals(termahal.size(), termahal.stream().map(Buku::getIsbn).distinct().count());
+            }
+        } finally {
+            berhenti.set(1);
+            penulis.get();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Simpan ulang dengan harga sama - buku tetap ada di indeks harga")
+    void testSimpanUlangHargaSama() {
+        // Arrange
+        mockRepository.simpan(new Buku("1111111111", "Judul A", "Pengarang", 1, 1000.0));
+
+        // Act
+        mockRepository.simpan(new Buku("1111111111", "Judul B", "Pengarang", 1, 1000.0));
+
+        // Assert
+        List<Buku> hasil = mockRepository.cariByRentangHarga(1000.0, 1000.0);
+        assertEquals(1, hasil.size());
+        assertEquals("Judul B", hasil.get(0).getJudul());
+        assertEquals(1, mockRepository.cariTermahal(5).size());
+    }
 }
 
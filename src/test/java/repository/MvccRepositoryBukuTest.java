@@ -0,0 +1,173 @@
+package repository;
+
+import model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test MVCC Repository Buku - Snapshot Konsisten")
+class MvccRepositoryBukuTest {
+
+    private MvccRepositoryBuku repository;
+    private Buku buku1;
+    private Buku buku2;
+
+    @BeforeEach
+    void setUp() {
+        repository = new MvccRepositoryBuku();
+        buku1 = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0);
+        buku2 = new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 200000.0);
+    }
+
+    @Test
+    @DisplayName("Operasi dasar sama seperti repository lain dan hasilnya salinan")
+    void testOperasiDasar() {
+        assertTrue(repository.simpan(buku1));
+        assertTrue(repository.simpan(buku2));
+        assertFalse(repository.simpan(null));
+
+        assertTrue(repository.ubahJumlahTersedia("1234567890", -2));
+        assertFalse(repository.ubahJumlahTersedia("1234567890", 3));
+        assertTrue(repository.updateJumlahTersedia("0987654321", 1));
+        assertFalse(repository.updateJumlahTersedia("0987654321", 4));
+
+        repository.cariByIsbn("1234567890").get().setJumlahTersedia(0);
+        assertEquals(3, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+        assertEquals(1, repository.cariByJudul("JAVA").size());
+        assertEquals(1, repository.cariByPengarang("smith").size());
+
+        assertTrue(repository.hapus("0987654321"));
+        assertFalse(repository.hapus("0987654321"));
+        assertFalse(repository.cariByIsbn("0987654321").isPresent());
+        assertEquals(1, repository.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("Snapshot tidak melihat perubahan yang terjadi setelah dibuka")
+    void testSnapshotTerisolasi() {
+        // Arrange
+        repository.simpan(buku1);
+
+        try (MvccRepositoryBuku.SnapshotKatalog snapshot = repository.bukaSnapshot()) {
+            // Act
+            repository.ubahJumlahTersedia("1234567890", -1);
+            repository.simpan(buku2);
+            repository.hapus("1234567890");
+
+            // Assert
+            assertEquals(5, snapshot.cariByIsbn("1234567890").get().getJumlahTersedia());
+            assertFalse(snapshot.cariByIsbn("0987654321").isPresent());
+            assertEquals(1, snapshot.cariSemua().size());
+            assertEquals(5, snapshot.hitungTotalTersedia());
+        }
+
+        assertFalse(repository.cariByIsbn("1234567890").isPresent());
+        assertEquals(1, repository.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("Simpan batch terlihat sebagai satu versi")
+    void testSimpanBatchSatuVersi() {
+        long versiAwal = repository.getVersiTerbit();
+
+        boolean[] hasil = repository.simpanBatch(Arrays.asList(buku1, null, buku2));
+
+        assertArrayEquals(new boolean[]{true, false, true}, hasil);
+        assertEquals(versiAwal + 1, repository.getVersiTerbit());
+    }
+
+    @Test
+    @DisplayName("Versi lama dibuang setelah snapshot yang membutuhkannya ditutup")
+    void testReklamasiVersiLama() {
+        // Arrange
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+        MvccRepositoryBuku.SnapshotKatalog snapshot = repository.bukaSnapshot();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            repository.ubahJumlahTersedia("1234567890", i % 2 == 0 ? -1 : 1);
+        }
+        repository.hapus("0987654321");
+        repository.reklamasi();
+        int selamaSnapshot = repository.getJumlahVersiTersimpan();
+
+        snapshot.close();
+        repository.reklamasi();
+
+        // Assert - versi yang dilihat snapshot dipertahankan selama snapshot terbuka
+        assertTrue(selamaSnapshot >= 4);
+        assertEquals(1, repository.getJumlahVersiTersimpan());
+        assertEquals(5, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Rantai versi tidak tumbuh tanpa batas ketika tidak ada snapshot terbuka")
+    void testRantaiTidakTumbuh() {
+        repository.simpan(buku1);
+
+        for (int i = 0; i < 10_000; i++) {
+            repository.ubahJumlahTersedia("1234567890", i % 2 == 0 ? -1 : 1);
+        }
+
+        assertTrue(repository.getJumlahVersiTersimpan() <= 2);
+    }
+
+    @Test
+    @DisplayName("Pembaca tidak pernah melihat total ketersediaan yang tidak pernah ada")
+    void testTidakAdaPandanganSobek() throws Exception {
+        // Arrange - 20 buku, stok dipindah antar buku dalam satu batch sehingga totalnya tetap
+        for (int i = 0; i < 20; i++) {
+            Buku buku = new Buku(String.format("%010d", i), "Judul " + i, "Pengarang", 10, 1.0);
+            buku.setJumlahTersedia(5);
+            repository.simpan(buku);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        AtomicBoolean berhenti = new AtomicBoolean();
+
+        try {
+            Future<?> penulis = executor.submit(() -> {
+                ThreadLocalRandom acak = ThreadLocalRandom.current();
+                for (int n = 0; n < 5_000; n++) {
+                    Buku asal = repository.cariByIsbn(String.format("%010d", acak.nextInt(20))).get();
+                    Buku tujuan = repository.cariByIsbn(String.format("%010d", acak.nextInt(20))).get();
+                    if (asal.getIsbn().equals(tujuan.getIsbn()) || asal.getJumlahTersedia() == 0
+                            || tujuan.getJumlahTersedia() == 10) {
+                        continue;
+                    }
+                    asal.setJumlahTersedia(asal.getJumlahTersedia() - 1);
+                    tujuan.setJumlahTersedia(tujuan.getJumlahTersedia() + 1);
+                    repository.simpanBatch(Arrays.asList(asal, tujuan));
+                }
+                berhenti.set(true);
+            });
+            Future<Integer> pembaca = executor.submit(() -> {
+                int jumlahBaca = 0;
+                while (!berhenti.get()) {
+                    try (MvccRepositoryBuku.SnapshotKatalog snapshot = repository.bukaSnapshot()) {
+                        assertEquals(100, snapshot.hitungTotalTersedia());
+                        assertEquals(100, snapshot.cariSemua().stream().mapToInt(Buku::getJumlahTersedia).sum());
+                    }
+                    jumlahBaca++;
+                }
+                return jumlahBaca;
+            });
+
+            // Act & Assert
+            penulis.get(30, TimeUnit.SECONDS);
+            assertTrue(pembaca.get(30, TimeUnit.SECONDS) > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
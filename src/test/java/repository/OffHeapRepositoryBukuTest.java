@@ -0,0 +1,123 @@
+package repository;
+
+import model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Off-Heap Repository Buku - Kolom Primitif di Luar Heap")
+class OffHeapRepositoryBukuTest {
+
+    private OffHeapRepositoryBuku repository;
+    private Buku buku1;
+    private Buku buku2;
+
+    @BeforeEach
+    void setUp() {
+        repository = new OffHeapRepositoryBuku(16);
+        buku1 = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0);
+        buku2 = new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 200000.0);
+    }
+
+    @Test
+    @DisplayName("Simpan dan cari - view dibangun dari kolom off-heap")
+    void testSimpanDanCari() {
+        assertTrue(repository.simpan(buku1));
+        assertTrue(repository.simpan(new Buku("9786021234567", null, "Tanpa Judul", 1, 0.0)));
+        assertFalse(repository.simpan(new Buku("123", "ISBN Salah", "Budi", 1, 1.0)));
+
+        Optional<Buku> hasil = repository.cariByIsbn("1234567890");
+        assertTrue(hasil.isPresent());
+        assertEquals(buku1.getJudul(), hasil.get().getJudul());
+        assertEquals(buku1.getPengarang(), hasil.get().getPengarang());
+        assertEquals(5, hasil.get().getJumlahTotal());
+        assertEquals(5, hasil.get().getJumlahTersedia());
+        assertEquals(180000.0, hasil.get().getHarga());
+        assertNull(repository.cariByIsbn("9786021234567").get().getJudul());
+    }
+
+    @Test
+    @DisplayName("View adalah salinan - perubahan objek tidak mengubah repository")
+    void testViewAdalahSalinan() {
+        repository.simpan(buku1);
+
+        repository.cariByIsbn("1234567890").get().setJumlahTersedia(0);
+
+        assertEquals(5, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Cari by judul dan pengarang, hapus dan simpan ulang")
+    void testCariDanHapus() {
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+
+        assertEquals(1, repository.cariByJudul("JAVA").size());
+        assertEquals(1, repository.cariByPengarang("smith").size());
+        assertTrue(repository.hapus("1234567890"));
+        assertFalse(repository.hapus("1234567890"));
+        assertTrue(repository.cariByJudul("java").isEmpty());
+        assertEquals(1, repository.cariSemua().size());
+
+        repository.simpan(buku1);
+        assertEquals(2, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("Kolom membesar dan arena dipadatkan tanpa kehilangan data")
+    void testKolomMembesarDanArenaDipadatkan() {
+        String judulPanjang = new String(new char[2000]).replace('\0', 'x');
+        for (int putaran = 0; putaran < 5; putaran++) {
+            for (int i = 0; i < 1000; i++) {
+                repository.simpan(new Buku(String.format("%010d", i), judulPanjang + putaran + "-" + i,
+                        "Pengarang " + i, 2, i));
+            }
+        }
+
+        assertEquals(1000, repository.ukuran());
+        assertEquals(judulPanjang + "4-999", repository.cariByIsbn("0000000999").get().getJudul());
+        assertEquals("Pengarang 7", repository.cariByIsbn("0000000007").get().getPengarang());
+        assertTrue(repository.getUkuranOffHeap() < 5 * 1000 * 2000, "Arena lama harus sudah dipadatkan");
+    }
+
+    @Test
+    @DisplayName("Ubah jumlah tersedia - CAS off-heap tidak oversell saat konkuren")
+    void testUbahJumlahTersediaKonkuren() throws Exception {
+        repository.simpan(buku1); // jumlahTotal = 5
+        assertFalse(repository.updateJumlahTersedia("1234567890", 6));
+        assertFalse(repository.ubahJumlahTersedia("1234567890", 1));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger berhasil = new AtomicInteger();
+        try {
+            List<Future<?>> daftarTugas = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                daftarTugas.add(executor.submit(() -> {
+                    for (int j = 0; j < 100; j++) {
+                        if (repository.ubahJumlahTersedia("1234567890", -1)) {
+                            berhasil.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> tugas : daftarTugas) {
+                tugas.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(5, berhasil.get());
+        assertEquals(0, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+}
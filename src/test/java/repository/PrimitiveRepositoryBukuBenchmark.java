@@ -0,0 +1,74 @@
+package repository;
+
+import model.Buku;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Perbandingan memori per entri antara PrimitiveRepositoryBuku, MockRepositoryBuku
+ * dan ConcurrentHashMap polos. Objek Buku dibuat lebih dulu sehingga angka yang
+ * dilaporkan hanya overhead struktur penyimpanan (termasuk indeks pencarian pada mock)
+ *
+ * Jalankan dengan heap yang cukup, misalnya: java -Xmx4g -cp target/classes:target/test-classes
+ *   repository.PrimitiveRepositoryBukuBenchmark
+ */
+public class PrimitiveRepositoryBukuBenchmark {
+    private static final int JUMLAH_BUKU = 1_000_000;
+
+    public static void main(String[] args) {
+        Buku[] daftarBuku = new Buku[JUMLAH_BUKU];
+        for (int i = 0; i < JUMLAH_BUKU; i++) {
+            daftarBuku[i] = new Buku(String.format("978%010d", i), "Judul Buku " + i,
+                    "Pengarang " + (i % 10_000), 3, 75000.0);
+        }
+
+        System.out.printf("%-28s %16s%n", "struktur", "byte per entri");
+        ukur("ConcurrentHashMap<String>", daftarBuku, buku -> {
+            Map<String, Buku> peta = new ConcurrentHashMap<>();
+            for (Buku b : buku) {
+                peta.put(b.getIsbn(), b);
+            }
+            return peta;
+        });
+        ukur("MockRepositoryBuku", daftarBuku, buku -> {
+            MockRepositoryBuku repository = new MockRepositoryBuku();
+            for (Buku b : buku) {
+                repository.simpan(b);
+            }
+            return repository;
+        });
+        ukur("PrimitiveRepositoryBuku", daftarBuku, buku -> {
+            PrimitiveRepositoryBuku repository = new PrimitiveRepositoryBuku(buku.length);
+            for (Buku b : buku) {
+                repository.simpan(b);
+            }
+            return repository;
+        });
+    }
+
+    private static void ukur(String nama, Buku[] daftarBuku, Function<Buku[], Object> isi) {
+        long sebelum = memoriTerpakai();
+        Object struktur = isi.apply(daftarBuku);
+        long sesudah = memoriTerpakai();
+        System.out.printf("%-28s %16.1f%n", nama, (sesudah - sebelum) / (double) daftarBuku.length);
+        // Pastikan struktur tetap hidup sampai setelah pengukuran
+        if (struktur.hashCode() == 42) {
+            System.out.print("");
+        }
+    }
+
+    private static long memoriTerpakai() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
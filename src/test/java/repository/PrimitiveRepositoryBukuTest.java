@@ -0,0 +1,110 @@
+package repository;
+
+import model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Primitive Repository Buku - Kunci ISBN Long")
+class PrimitiveRepositoryBukuTest {
+
+    private PrimitiveRepositoryBuku repository;
+    private Buku buku1;
+    private Buku buku2;
+
+    @BeforeEach
+    void setUp() {
+        repository = new PrimitiveRepositoryBuku();
+        buku1 = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0);
+        buku2 = new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 200000.0);
+    }
+
+    @Test
+    @DisplayName("Simpan hanya menerima ISBN 10 atau 13 digit")
+    void testSimpanIsbnValid() {
+        assertTrue(repository.simpan(buku1));
+        assertTrue(repository.simpan(new Buku("978-602-1234-56-7", "Basis Data", "Budi", 2, 90000.0)));
+        assertFalse(repository.simpan(new Buku("12345", "Pendek", "Budi", 1, 1000.0)));
+        assertFalse(repository.simpan(new Buku("ABCDEFGHIJ", "Huruf", "Budi", 1, 1000.0)));
+        assertFalse(repository.simpan(null));
+        assertEquals(2, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("ISBN kanonik - tanda hubung diabaikan, panjang tetap dibedakan")
+    void testIsbnKanonik() {
+        repository.simpan(new Buku("978-602-1234-56-7", "Basis Data", "Budi", 2, 90000.0));
+        repository.simpan(buku2);
+
+        assertTrue(repository.cariByIsbn("9786021234567").isPresent());
+        assertTrue(repository.cariByIsbn("0987654321").isPresent());
+        assertFalse(repository.cariByIsbn("0000987654321").isPresent());
+        assertEquals("0000987654321", KunciIsbn.buka(KunciIsbn.kemas("0000987654321")));
+        assertEquals("0987654321", KunciIsbn.buka(KunciIsbn.kemas("0-98765-432-1")));
+    }
+
+    @Test
+    @DisplayName("Hapus dan simpan ulang memakai kembali ordinal yang bebas")
+    void testHapusDanSimpanUlang() {
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+
+        assertTrue(repository.hapus("1234567890"));
+        assertFalse(repository.hapus("1234567890"));
+        assertFalse(repository.cariByIsbn("1234567890").isPresent());
+        assertEquals(1, repository.cariSemua().size());
+
+        repository.simpan(buku1);
+        assertEquals(2, repository.cariSemua().size());
+        assertEquals(1, repository.cariByJudul("java").size());
+        assertEquals(1, repository.cariByPengarang("SMITH").size());
+
+        repository.bersihkan();
+        assertEquals(0, repository.ukuran());
+        assertTrue(repository.cariSemua().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Update dan ubah jumlah tersedia - validasi batas")
+    void testUpdateJumlahTersedia() {
+        repository.simpan(buku2); // jumlahTotal = 3
+
+        assertFalse(repository.updateJumlahTersedia("0987654321", 4));
+        assertFalse(repository.updateJumlahTersedia("0987654321", -1));
+        assertTrue(repository.updateJumlahTersedia("0987654321", 1));
+        assertTrue(repository.ubahJumlahTersedia("0987654321", -1));
+        assertFalse(repository.ubahJumlahTersedia("0987654321", -1));
+        assertFalse(repository.ubahJumlahTersedia("9999999999", 1));
+        assertEquals(0, repository.cariByIsbn("0987654321").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Peta long-int - hasil sama dengan HashMap untuk operasi acak")
+    void testPetaLongIntAcak() {
+        PetaLongInt peta = new PetaLongInt(16);
+        Map<Long, Integer> pembanding = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long kunci = 1 + random.nextInt(5000);
+            int operasi = random.nextInt(3);
+            if (operasi == 0) {
+                Integer lama = pembanding.put(kunci, i);
+                assertEquals(lama == null ? PetaLongInt.TIDAK_ADA : lama, peta.put(kunci, i));
+            } else if (operasi == 1) {
+                Integer lama = pembanding.remove(kunci);
+                assertEquals(lama == null ? PetaLongInt.TIDAK_ADA : lama, peta.remove(kunci));
+            } else {
+                Integer nilai = pembanding.get(kunci);
+                assertEquals(nilai == null ? PetaLongInt.TIDAK_ADA : nilai, peta.get(kunci));
+            }
+        }
+        assertEquals(pembanding.size(), peta.size());
+    }
+}
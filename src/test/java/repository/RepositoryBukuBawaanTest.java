@@ -0,0 +1,275 @@
+package repository;
+
+import model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Method Bawaan Repository Buku - Dihitung dari Operasi Dasar")
+class RepositoryBukuBawaanTest {
+
+    private RepositoryBuku repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryDasar();
+        repository.simpan(new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0));
+        repository.simpan(new Buku("0987654321", "Java Lanjut", "John Doe", 1, 90000.0));
+        repository.simpan(new Buku("1111111111", "java lanjut", "Jane Doe", 1, 50000.0));
+        repository.simpan(new Buku("2222222222", "Struktur Data", "Java Smith", 2, 120000.0));
+    }
+
+    @Test
+    @DisplayName("Cari halaman bawaan - urutan ISBN dengan token lanjutan")
+    void testCariHalaman() {
+        // Act
+        HalamanBuku halaman1 = repository.cariHalaman(3, null);
+        HalamanBuku halaman2 = repository.cariHalaman(3, halaman1.getTokenLanjutan());
+
+        // Assert
+        assertEquals(Arrays.asList("0987654321", "1111111111", "1234567890"), isbn(halaman1.getIsi()));
+        assertEquals(Arrays.asList("2222222222"), isbn(halaman2.getIsi()));
+        assertFalse(halaman2.adaHalamanBerikutnya());
+    }
+
+    @Test
+    @DisplayName("Stream semua bawaan - seluruh katalog dalam urutan ISBN")
+    void testStreamSemua() {
+        // Act
+        List<Buku> hasil = repository.streamSemua().collect(Collectors.toList());
+
+        // Assert
+        assertEquals(Arrays.asList("0987654321", "1111111111", "1234567890", "2222222222"), isbn(hasil));
+    }
+
+    @Test
+    @DisplayName("Cari tersedia by judul bawaan - hasil cariByJudul tanpa buku yang stoknya habis")
+    void testCariTersediaByJudul() {
+        // Arrange
+        repository.ubahJumlahTersedia("0987654321", -1);
+
+        // Act
+        List<Buku> hasil = repository.cariTersediaByJudul("java");
+
+        // Assert
+        assertEquals(Arrays.asList("1111111111", "1234567890"), isbn(urutIsbn(hasil)));
+    }
+
+    @Test
+    @DisplayName("Cari tersedia by pengarang bawaan - hasil cariByPengarang tanpa buku yang stoknya habis")
+    void testCariTersediaByPengarang() {
+        // Arrange
+        repository.ubahJumlahTersedia("0987654321", -1);
+
+        // Act
+        List<Buku> hasil = repository.cariTersediaByPengarang("john doe");
+
+        // Assert
+        assertEquals(Arrays.asList("1234567890"), isbn(hasil));
+    }
+
+    @Test
+    @DisplayName("Saran judul bawaan - awalan kata, alfabetis, teks yang sama hanya sekali")
+    void testSarankanJudul() {
+        // Act
+        List<SaranPencarian> saran = repository.sarankanJudul("jav", 5);
+
+        // Assert
+        assertEquals(Arrays.asList("Java Lanjut", "Pemrograman Java"),
+                saran.stream().map(SaranPencarian::getTeks).collect(Collectors.toList()));
+        assertEquals(0, saran.get(0).getPopularitas());
+    }
+
+    @Test
+    @DisplayName("Saran pengarang bawaan - awalan setiap kata nama pengarang")
+    void testSarankanPengarang() {
+        // Act
+        List<SaranPencarian> saran = repository.sarankanPengarang("doe", 5);
+
+        // Assert
+        assertEquals(Arrays.asList("Jane Doe", "John Doe"),
+                saran.stream().map(SaranPencarian::getTeks).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Cari judul fuzzy bawaan - jarak edit setiap judul diverifikasi dari cariSemua")
+    void testCariByJudulFuzzy() {
+        // Act
+        List<Buku> dalamJarak = repository.cariByJudulFuzzy("Pemograman Jva", 2);
+        List<Buku> diluarJarak = repository.cariByJudulFuzzy("Pemograman Jva", 1);
+
+        // Assert
+        assertEquals(Arrays.asList("1234567890"), isbn(dalamJarak));
+        assertTrue(diluarJarak.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari teks bawaan - peringkat BM25 dari cariSemua, judul lebih berbobot dari pengarang")
+    void testCariTeks() {
+        // Act
+        List<HasilPencarian> hasil = repository.cariTeks("java", 5);
+
+        // Assert
+        assertEquals(4, hasil.size());
+        assertEquals("2222222222", hasil.get(3).getBuku().getIsbn());
+        assertTrue(repository.cariTeks("python", 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari rentang harga bawaan - inklusif, termurah lebih dulu")
+    void testCariByRentangHarga() {
+        // Act
+        List<Buku> hasil = repository.cariByRentangHarga(90000.0, 180000.0);
+
+        // Assert
+        assertEquals(Arrays.asList("0987654321", "2222222222", "1234567890"), isbn(hasil));
+        assertThrows(IllegalArgumentException.class, () -> repository.cariByRentangHarga(2.0, 1.0));
+    }
+
+    @Test
+    @DisplayName("Cari termahal bawaan - termahal lebih dulu, harga sama berdasarkan ISBN naik")
+    void testCariTermahal() {
+        // Arrange
+        repository.simpan(new Buku("9999999999", "Basis Data", "Budi", 1, 180000.0));
+
+        // Act
+        List<Buku> hasil = repository.cariTermahal(3);
+
+        // Assert
+        assertEquals(Arrays.asList("1234567890", "9999999999", "2222222222"), isbn(hasil));
+        assertEquals(hasil, repository.cari(new KueriBuku().urutkan(KueriBuku.Urutan.HARGA_TURUN).batas(3)));
+        assertThrows(IllegalArgumentException.class, () -> repository.cariTermahal(0));
+    }
+
+    @Test
+    @DisplayName("Kueri bawaan - semua kriteria disaring dari cariSemua lalu diurutkan dan dibatasi")
+    void testCari() {
+        // Arrange
+        KueriBuku kueri = new KueriBuku().judulMengandung("java").pengarangMengandung("DOE")
+                .hargaAntara(60000.0, 200000.0).urutkan(KueriBuku.Urutan.HARGA_TURUN).batas(2);
+
+        // Act
+        List<Buku> hasil = repository.cari(kueri);
+
+        // Assert
+        assertEquals(Arrays.asList("1234567890", "0987654321"), isbn(hasil));
+    }
+
+    @Test
+    @DisplayName("Stream by judul bawaan - berisi hasil cariByJudul")
+    void testStreamByJudul() {
+        // Act
+        List<Buku> hasil = repository.streamByJudul("lanjut").collect(Collectors.toList());
+
+        // Assert
+        assertEquals(Arrays.asList("0987654321", "1111111111"), isbn(urutIsbn(hasil)));
+    }
+
+    @Test
+    @DisplayName("Stream by pengarang bawaan - berisi hasil cariByPengarang")
+    void testStreamByPengarang() {
+        // Act
+        List<Buku> hasil = repository.streamByPengarang("doe").collect(Collectors.toList());
+
+        // Assert
+        assertEquals(Arrays.asList("0987654321", "1111111111", "1234567890"), isbn(urutIsbn(hasil)));
+    }
+
+    @Test
+    @DisplayName("Hitung by judul bawaan - jumlah hasil streamByJudul")
+    void testHitungByJudul() {
+        // Act & Assert
+        assertEquals(3, repository.hitungByJudul("java"));
+        assertEquals(0, repository.hitungByJudul("python"));
+    }
+
+    @Test
+    @DisplayName("Hitung by pengarang bawaan - jumlah hasil streamByPengarang")
+    void testHitungByPengarang() {
+        // Act & Assert
+        assertEquals(1, repository.hitungByPengarang("jane"));
+        assertEquals(0, repository.hitungByPengarang("budi"));
+    }
+
+    private static List<String> isbn(List<Buku> daftarBuku) {
+        return daftarBuku.stream().map(Buku::getIsbn).collect(Collectors.toList());
+    }
+
+    private static List<Buku> urutIsbn(List<Buku> daftarBuku) {
+        return daftarBuku.stream().sorted(Comparator.comparing(Buku::getIsbn)).collect(Collectors.toList());
+    }
+
+    /**
+     * Repository yang hanya mengimplementasikan method abstrak, sehingga semua
+     * method lain memakai implementasi bawaan interface
+     */
+    private static class RepositoryDasar implements RepositoryBuku {
+        private final Map<String, Buku> repository = new HashMap<>();
+
+        @Override
+        public boolean simpan(Buku buku) {
+            repository.put(buku.getIsbn(), buku);
+            return true;
+        }
+
+        @Override
+        public Optional<Buku> cariByIsbn(String isbn) {
+            return Optional.ofNullable(repository.get(isbn));
+        }
+
+        @Override
+        public List<Buku> cariByJudul(String judul) {
+            return cariMengandung(judul, Buku::getJudul);
+        }
+
+        @Override
+        public List<Buku> cariByPengarang(String pengarang) {
+            return cariMengandung(pengarang, Buku::getPengarang);
+        }
+
+        @Override
+        public boolean hapus(String isbn) {
+            return repository.remove(isbn) != null;
+        }
+
+        @Override
+        public boolean updateJumlahTersedia(String isbn, int jumlahTersediaBaru) {
+            Buku buku = repository.get(isbn);
+            if (buku == null || jumlahTersediaBaru < 0 || jumlahTersediaBaru > buku.getJumlahTotal()) {
+                return false;
+            }
+            buku.setJumlahTersedia(jumlahTersediaBaru);
+            return true;
+        }
+
+        @Override
+        public boolean ubahJumlahTersedia(String isbn, int selisih) {
+            Buku buku = repository.get(isbn);
+            return buku != null && updateJumlahTersedia(isbn, buku.getJumlahTersedia() + selisih);
+        }
+
+        @Override
+        public List<Buku> cariSemua() {
+            return new ArrayList<>(repository.values());
+        }
+
+        private List<Buku> cariMengandung(String teks, Function<Buku, String> field) {
+            String teksLower = teks.toLowerCase();
+            return repository.values().stream()
+                    .filter(buku -> field.apply(buku).toLowerCase().contains(teksLower))
+                    .collect(Collectors.toList());
+        }
+    }
+}
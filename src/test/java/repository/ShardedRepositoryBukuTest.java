@@ -0,0 +1,182 @@
+package repository;
+
+import model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Sharded Repository Buku - Scatter-Gather Antar Shard")
+class ShardedRepositoryBukuTest {
+
+    private List<RepositoryBuku> daftarShard;
+    private ShardedRepositoryBuku repository;
+
+    @BeforeEach
+    void setUp() {
+        daftarShard = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            daftarShard.add(new MockRepositoryBuku());
+        }
+        repository = new ShardedRepositoryBuku(daftarShard);
+        for (int i = 0; i < 200; i++) {
+            repository.simpan(new Buku(String.format("%010d", i), "Judul Buku " + i,
+                    i % 2 == 0 ? "Andrea Hirata" : "Pramoedya Ananta Toer", 2, 1000.0 * i));
+        }
+    }
+
+    @Test
+    @DisplayName("Buku tersebar ke semua shard dan operasi satu buku menuju shard yang benar")
+    void testOperasiSatuShard() {
+        for (RepositoryBuku shard : daftarShard) {
+            assertTrue(shard.cariSemua().size() > 0);
+        }
+
+        assertTrue(repository.cariByIsbn("0000000042").isPresent());
+        assertTrue(repository.ubahJumlahTersedia("0000000042", -1));
+        assertTrue(repository.updateJumlahTersedia("0000000043", 0));
+        assertEquals(1, repository.cariByIsbn("0000000042").get().getJumlahTersedia());
+        assertEquals(0, repository.cariByIsbn("0000000043").get().getJumlahTersedia());
+
+        assertTrue(repository.hapus("0000000042"));
+        assertFalse(repository.cariByIsbn("0000000042").isPresent());
+        assertFalse(repository.hapus(null));
+        assertFalse(repository.simpan(null));
+    }
+
+    @Test
+    @DisplayName("Pencarian judul, pengarang dan seluruh katalog menggabungkan semua shard")
+    void testPencarianMenggabungkanShard() {
+        assertEquals(200, repository.cariSemua().size());
+        assertEquals(100, repository.cariByPengarang("hirata").size());
+        // 1, 10-19 dan 100-199
+        assertEquals(111, repository.cariByJudul("Buku 1").size());
+        assertTrue(repository.cariByJudul(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Simpan batch - hasil dikembalikan dalam urutan input")
+    void testSimpanBatch() {
+        // Arrange
+        List<Buku> batch = Arrays.asList(
+                new Buku("9786021234567", "Laskar Pelangi", "Andrea Hirata", 3, 1.0),
+                null,
+                new Buku("9786021234568", "Sang Pemimpi", "Andrea Hirata", 3, 1.0),
+                new Buku(null, "Tanpa ISBN", "Budi", 1, 1.0));
+
+        // Act
+        boolean[] hasil = repository.simpanBatch(batch);
+
+        // Assert
+        assertArrayEquals(new boolean[]{true, false, true, false}, hasil);
+        assertEquals(202, repository.cariSemua().size());
+        assertTrue(repository.cariByIsbn("9786021234568").isPresent());
+    }
+
+    @Test
+    @DisplayName("Halaman dan stream digabung dalam urutan ISBN")
+    void testHalamanDanStreamTerurut() {
+        List<String> dariHalaman = new ArrayList<>();
+        String token = null;
+        do {
+            HalamanBuku halaman = repository.cariHalaman(30, token);
+            assertTrue(halaman.getIsi().size() <= 30);
+            halaman.getIsi().forEach(b -> dariHalaman.add(b.getIsbn()));
+            token = halaman.getTokenLanjutan();
+        } while (token != null);
+
+        List<String> dariStream = repository.streamSemua().map(Buku::getIsbn).collect(Collectors.toList());
+        List<String> terurut = new ArrayList<>(dariStream);
+        Collections.sort(terurut);
+
+        assertEquals(200, dariHalaman.size());
+        assertEquals(terurut, dariHalaman);
+        assertEquals(terurut, dariStream);
+        assertEquals(5, repository.streamSemua().limit(5).count());
+    }
+
+    @Test
+    @DisplayName("Konstruksi tidak valid - harus ditolak")
+    void testKonstruktorTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedRepositoryBuku(new ArrayList<>()));
+        assertThrows(IllegalArgumentException.class, () -> ShardedRepositoryBuku.denganMock(0));
+        assertEquals(8, ShardedRepositoryBuku.denganMock(8).getJumlahShard());
+    }
+
+    @Test
+    @DisplayName("Saran dari semua shard digabung dan popularitasnya dijumlahkan")
+    void testSarankanGabungan() {
+        // Buku genap milik Andrea Hirata, dipinjam pada beberapa shard berbeda
+        for (int i = 0; i < 10; i++) {
+            repository.ubahJumlahTersedia(String.format("%010d", i), -1);
+        }
+
+        List<SaranPencarian> saran = repository.sarankanPengarang("a", 2);
+
+        assertEquals(2, saran.size());
+        assertEquals("Andrea Hirata", saran.get(0).getTeks());
+        assertEquals(5, saran.get(0).getPopularitas());
+        assertEquals("Pramoedya Ananta Toer", saran.get(1).getTeks());
+        assertEquals(5, saran.get(1).getPopularitas());
+    }
+
+    @Test
+    @DisplayName("Cari teks dan fuzzy dari semua shard digabung sesuai peringkat")
+    void testCariTeksDanFuzzyGabungan() {
+        repository.simpan(new Buku("9999999991", "Laskar Pelangi", "Andrea Hirata", 1, 1.0));
+        repository.simpan(new Buku("9999999992", "Pelangi Pelangi", "Andrea Hirata", 1, 1.0));
+
+        List<HasilPencarian> hasil = repository.cariTeks("pelangi", 5);
+        assertEquals(2, hasil.size());
+        assertTrue(hasil.get(0).getSkor() >= hasil.get(1).getSkor());
+        assertEquals(3, repository.cariTeks("hirata", 3).size());
+
+        List<Buku> fuzzy = repository.cariByJudulFuzzy("Laskar Pelang", 1);
+        assertEquals(1, fuzzy.size());
+        assertEquals("9999999991", fuzzy.get(0).getIsbn());
+        assertEquals("Judul Buku 7", repository.cariByJudulFuzzy("Judul Buku 7", 0).get(0).getJudul());
+    }
+
+    @Test
+    @DisplayName("Rentang harga dan buku termahal dari semua shard digabung terurut")
+    void testCariByHargaGabungan() {
+        // Harga buku ke-i adalah 1000 * i
+        List<Buku> rentang = repository.cariByRentangHarga(10000.0, 20000.0);
+        assertEquals(11, rentang.size());
+        for (int i = 0; i < rentang.size(); i++) {
+            assertEquals(String.format("%010d", 10 + i), rentang.get(i).getIsbn());
+        }
+
+        List<Buku> termahal = repository.cariTermahal(3);
+        assertEquals(Arrays.asList("0000000199", "0000000198", "0000000197"),
+                termahal.stream().map(Buku::getIsbn).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Kueri gabungan dari semua shard digabung sesuai urutan dan batas")
+    void testCariKueriGabungan() {
+        List<Buku> hasil = repository.cari(new KueriBuku().pengarangMengandung("hirata")
+                .hargaAntara(50000.0, 150000.0).urutkan(KueriBuku.Urutan.HARGA_TURUN).batas(3));
+
+        assertEquals(Arrays.asList("0000000150", "0000000148", "0000000146"),
+                hasil.stream().map(Buku::getIsbn).collect(Collectors.toList()));
+        assertEquals(10, repository.cari(new KueriBuku().batas(10)).size());
+        assertEquals("0000000000", repository.cari(new KueriBuku().batas(10)).get(0).getIsbn());
+    }
+
+    @Test
+    @DisplayName("Stream dan hitung menggabungkan semua shard")
+    void testStreamDanHitungGabungan() {
+        assertEquals(100, repository.hitungByPengarang("hirata"));
+        assertEquals(111, repository.hitungByJudul("Buku 1"));
+        assertEquals(111, repository.streamByJudul("Buku 1").count());
+        assertTrue(repository.streamByPengarang("toer").findAny().isPresent());
+    }
+}
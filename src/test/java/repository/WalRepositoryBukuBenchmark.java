@@ -0,0 +1,68 @@
+package repository;
+
+import model.Buku;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark waktu pemulihan WalRepositoryBuku terhadap ukuran katalog
+ * Setiap ukuran katalog ditulis sebagai snapshot, ditambah ekor WAL sebesar 1%
+ * dari katalog, lalu repository dibuka ulang dan waktu pemulihannya diukur
+ *
+ * Jalankan dengan: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=repository.WalRepositoryBukuBenchmark
+ */
+public class WalRepositoryBukuBenchmark {
+    private static final int[] UKURAN_KATALOG = {10_000, 100_000, 500_000, 1_000_000};
+    private static final int PENGULANGAN = 3;
+
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%12s %12s %16s %16s%n", "katalog", "ekor WAL", "snapshot (MB)", "pemulihan (ms)");
+        for (int ukuran : UKURAN_KATALOG) {
+            Path direktori = Files.createTempDirectory("wal-benchmark");
+            try {
+                int ekorWal = ukuran / 100;
+                siapkanKatalog(direktori, ukuran, ekorWal);
+
+                long terbaik = Long.MAX_VALUE;
+                for (int i = 0; i < PENGULANGAN; i++) {
+                    long mulai = System.nanoTime();
+                    try (WalRepositoryBuku repository = new WalRepositoryBuku(direktori, Integer.MAX_VALUE)) {
+                        if (repository.ukuran() != ukuran) {
+                            throw new IllegalStateException("Pemulihan tidak lengkap: " + repository.ukuran());
+                        }
+                    }
+                    terbaik = Math.min(terbaik, System.nanoTime() - mulai);
+                }
+
+                double ukuranSnapshot = Files.size(direktori.resolve(WalRepositoryBuku.NAMA_SNAPSHOT)) / (1024.0 * 1024.0);
+                System.out.printf("%12d %12d %16.1f %16.1f%n", ukuran, ekorWal, ukuranSnapshot, terbaik / 1_000_000.0);
+            } finally {
+                hapusDirektori(direktori);
+            }
+        }
+    }
+
+    private static void siapkanKatalog(Path direktori, int ukuran, int ekorWal) throws IOException {
+        try (WalRepositoryBuku repository = new WalRepositoryBuku(direktori, Integer.MAX_VALUE)) {
+            for (int i = 0; i < ukuran; i++) {
+                repository.simpan(new Buku(String.format("%013d", i), "Judul Buku Nomor " + i,
+                        "Pengarang " + (i % 5000), 5, 50000.0 + i));
+            }
+            repository.buatSnapshot();
+            for (int i = 0; i < ekorWal; i++) {
+                repository.ubahJumlahTersedia(String.format("%013d", i), -1);
+            }
+        }
+    }
+
+    private static void hapusDirektori(Path direktori) throws IOException {
+        try (Stream<Path> isi = Files.walk(direktori)) {
+            isi.sorted(Comparator.reverseOrder()).forEach(berkas -> berkas.toFile().delete());
+        }
+    }
+}
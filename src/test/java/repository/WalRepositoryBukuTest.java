@@ -0,0 +1,215 @@
+package repository;
+
+import model.Buku;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test WAL Repository Buku - Snapshot dan Write-Ahead Log")
+class WalRepositoryBukuTest {
+
+    @TempDir
+    Path direktori;
+
+    private WalRepositoryBuku repository;
+    private Buku buku1;
+    private Buku buku2;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = new WalRepositoryBuku(direktori, 1000);
+        buku1 = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 180000.0);
+        buku2 = new Buku("0987654321", "Algoritma dan Struktur Data", "Jane Smith", 3, 200000.0);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Pemulihan hanya dari WAL tanpa snapshot")
+    void testPemulihanDariWal() throws IOException {
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+        repository.ubahJumlahTersedia("1234567890", -2);
+        repository.hapus("0987654321");
+        assertEquals(4, repository.getJumlahRekamanWal());
+        repository.close();
+
+        repository = new WalRepositoryBuku(direktori, 1000);
+
+        assertEquals(1, repository.ukuran());
+        assertEquals(3, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+        assertEquals(1, repository.cariByJudul("java").size());
+    }
+
+    @Test
+    @DisplayName("Pemulihan dari snapshot ditambah ekor WAL")
+    void testPemulihanSnapshotDanEkorWal() throws IOException {
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+        repository.buatSnapshot();
+        assertEquals(0, repository.getJumlahRekamanWal());
+
+        repository.updateJumlahTersedia("0987654321", 1);
+        repository.hapus("1234567890");
+        repository.close();
+
+        repository = new WalRepositoryBuku(direktori, 1000);
+
+        assertEquals(2, repository.getJumlahRekamanWal());
+        assertEquals(1, repository.ukuran());
+        assertEquals(1, repository.cariByIsbn("0987654321").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Snapshot dibuat otomatis ketika ambang WAL tercapai")
+    void testSnapshotOtomatis() throws IOException {
+        repository.close();
+        repository = new WalRepositoryBuku(direktori, 3);
+
+        repository.simpan(buku1);
+        repository.simpan(buku2);
+        repository.ubahJumlahTersedia("1234567890", -1);
+
+        assertEquals(0, repository.getJumlahRekamanWal());
+        assertTrue(Files.exists(direktori.resolve(WalRepositoryBuku.NAMA_SNAPSHOT)));
+        assertEquals(0, Files.size(direktori.resolve(WalRepositoryBuku.NAMA_WAL)));
+    }
+
+    @Test
+    @DisplayName("Ekor WAL yang tidak utuh dibuang saat pemulihan")
+    void testEkorWalTidakUtuh() throws IOException {
+        repository.simpan(buku1);
+        repository.close();
+
+        Path wal = direktori.resolve(WalRepositoryBuku.NAMA_WAL);
+        long ukuranValid = Files.size(wal);
+        try (FileChannel channel = FileChannel.open(wal, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2}));
+        }
+
+        repository = new WalRepositoryBuku(direktori, 1000);
+        assertEquals(1, repository.ukuran());
+        assertEquals(ukuranValid, Files.size(wal));
+
+        repository.simpan(buku2);
+        repository.close();
+        repository = new WalRepositoryBuku(direktori, 1000);
+        assertEquals(2, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("WAL lama yang diputar ulang di atas snapshot baru tetap konsisten")
+    void testPutarUlangWalIdempoten() throws IOException {
+        repository.simpan(buku1);
+        repository.ubahJumlahTersedia("1234567890", -1);
+        repository.simpan(buku2);
+        repository.hapus("0987654321");
+        repository.close();
+
+        // Simulasi crash setelah snapshot ditulis tetapi sebelum WAL dikosongkan
+        Path wal = direktori.resolve(WalRepositoryBuku.NAMA_WAL);
+        Path salinanWal = direktori.resolve("wal.salinan");
+        Files.copy(wal, salinanWal);
+        repository = new WalRepositoryBuku(direktori, 1000);
+        repository.buatSnapshot();
+        repository.close();
+        Files.move(salinanWal, wal, StandardCopyOption.REPLACE_EXISTING);
+
+        repository = new WalRepositoryBuku(direktori, 1000);
+        assertEquals(1, repository.ukuran());
+        assertEquals(4, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+    }
+
+    @Test
+    @DisplayName("Operasi yang gagal tidak dicatat ke WAL")
+    void testOperasiGagalTidakDicatat() {
+        repository.simpan(buku1);
+
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.hapus("9999999999"));
+        assertFalse(repository.updateJumlahTersedia("1234567890", 10));
+        assertFalse(repository.ubahJumlahTersedia("1234567890", 1));
+
+        assertEquals(1, repository.getJumlahRekamanWal());
+    }
+
+    @Test
+    @DisplayName("Simpan batch dicatat sebagai group commit dan bisa dipulihkan")
+    void testSimpanBatch() throws IOException {
+        boolean[] hasil = repository.simpanBatch(Arrays.asList(buku1, null, buku2));
+        assertArrayEquals(new boolean[]{true, false, true}, hasil);
+        assertEquals(2, repository.getJumlahRekamanWal());
+        repository.close();
+
+        repository = new WalRepositoryBuku(direktori, 1000);
+        assertEquals(2, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("Perubahan yang gagal dicatat ke WAL tidak diterapkan ke memori")
+    void testGagalCatatTidakDiterapkan() throws IOException {
+        repository.simpan(buku1);
+        repository.close();
+
+        assertThrows(UncheckedIOException.class, () -> repository.simpan(buku2));
+        assertThrows(UncheckedIOException.class, () -> repository.hapus("1234567890"));
+        assertThrows(UncheckedIOException.class, () -> repository.ubahJumlahTersedia("1234567890", -1));
+        assertEquals(1, repository.ukuran());
+        assertFalse(repository.cariByIsbn("0987654321").isPresent());
+        assertEquals(5, repository.cariByIsbn("1234567890").get().getJumlahTersedia());
+
+        repository = new WalRepositoryBuku(direktori, 1000);
+        assertEquals(1, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("Snapshot yang gagal tidak menggagalkan perubahan yang sudah tercatat")
+    void testSnapshotGagalTidakMenggagalkanPerubahan() throws IOException {
+        repository.close();
+        // Direktori dengan nama berkas sementara membuat penulisan snapshot gagal
+        Files.createDirectory(direktori.resolve(WalRepositoryBuku.NAMA_SNAPSHOT + ".tmp"));
+        repository = new WalRepositoryBuku(direktori, 1);
+
+        assertTrue(repository.simpan(buku1));
+        assertTrue(repository.simpan(buku2));
+        assertEquals(2, repository.getJumlahRekamanWal());
+        assertFalse(Files.exists(direktori.resolve(WalRepositoryBuku.NAMA_SNAPSHOT)));
+        repository.close();
+
+        repository = new WalRepositoryBuku(direktori, 1000);
+        assertEquals(2, repository.ukuran());
+    }
+
+    @Test
+    @DisplayName("Sinkron per rekaman tetap bisa dipulihkan seperti mode default")
+    void testSinkronPerRekaman() throws IOException {
+        repository.close();
+        repository = new WalRepositoryBuku(direktori, 1000, true);
+
+        repository.simpanBatch(Arrays.asList(buku1, buku2));
+        repository.updateJumlahTersedia("0987654321", 1);
+        assertEquals(3, repository.getJumlahRekamanWal());
+        repository.close();
+
+        repository = new WalRepositoryBuku(direktori, 1000);
+        assertEquals(2, repository.ukuran());
+        assertEquals(1, repository.cariByIsbn("0987654321").get().getJumlahTersedia());
+    }
+}
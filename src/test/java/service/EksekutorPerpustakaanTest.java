@@ -0,0 +1,68 @@
+package service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Eksekutor Perpustakaan - Virtual Thread dan Pool Platform")
+class EksekutorPerpustakaanTest {
+
+    @Test
+    @DisplayName("Virtual thread tersedia hanya pada Java 21 ke atas")
+    void testVirtualThreadTersediaSesuaiVersi() {
+        assertEquals(Runtime.version().feature() >= 21, EksekutorPerpustakaan.virtualThreadTersedia());
+    }
+
+    @Test
+    @DisplayName("Virtual thread tidak tersedia - executor virtual thread ditolak, bukan diganti diam-diam")
+    void testVirtualThreadPerTaskTanpaFallback() {
+        if (EksekutorPerpustakaan.virtualThreadTersedia()) {
+            ExecutorService executor = EksekutorPerpustakaan.virtualThreadPerTask();
+            executor.shutdown();
+        } else {
+            assertThrows(UnsupportedOperationException.class, EksekutorPerpustakaan::virtualThreadPerTask);
+        }
+    }
+
+    @Test
+    @DisplayName("Executor per task menjalankan banyak task yang tertahan bersamaan")
+    void testExecutorPerTask() throws Exception {
+        // Arrange
+        ExecutorService executor = EksekutorPerpustakaan.virtualThreadAtauPoolPlatform();
+        AtomicInteger selesai = new AtomicInteger();
+        List<Future<?>> daftarTugas = new ArrayList<>();
+
+        try {
+            // Act
+            for (int i = 0; i < 200; i++) {
+                daftarTugas.add(executor.submit(() -> {
+                    Thread.sleep(5);
+                    return selesai.incrementAndGet();
+                }));
+            }
+            for (Future<?> tugas : daftarTugas) {
+                tugas.get(10, TimeUnit.SECONDS);
+            }
+
+            // Assert
+            assertEquals(200, selesai.get());
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Pool platform dengan jumlah thread tidak valid - harus ditolak")
+    void testPoolPlatformTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> EksekutorPerpustakaan.poolPlatform(0));
+    }
+}
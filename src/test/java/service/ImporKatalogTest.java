@@ -0,0 +1,196 @@
+package service;
+
+import model.Buku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repository.MockRepositoryBuku;
+import repository.RepositoryBuku;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Test Impor Katalog - Streaming CSV dan NDJSON")
+class ImporKatalogTest {
+
+    @TempDir
+    Path direktori;
+
+    private MockRepositoryBuku repository;
+    private ImporKatalog imporKatalog;
+
+    @BeforeEach
+    void setUp() {
+        repository = new MockRepositoryBuku();
+        // Chunk dan batch kecil agar baris terpotong di batas chunk dan antrian penuh
+        imporKatalog = new ImporKatalog(repository, 160, 3, 2, 1);
+    }
+
+    @Test
+    @DisplayName("Impor CSV - header dilewati, tanda kutip dan baris tidak valid ditangani")
+    void testImporCsv() throws IOException {
+        Path berkas = direktori.resolve("feed.csv");
+        Files.write(berkas, ("isbn,judul,pengarang,jumlahTotal,harga\r\n" +
+                "1234567890,Pemrograman Java,John Doe,5,180000\r\n" +
+                "0987654321,\"Algoritma, Struktur Data\",\"Jane \"\"JS\"\" Smith\",3,200000.5\n" +
+                "\n" +
+                "123,ISBN Salah,Budi,1,1000\n" +
+                "1111111111,Kolom Kurang,Budi\n" +
+                "9786021234567,Basis Data,Siti,2,abc\n" +
+                "2222222222,Sejarah Nusantara,Siti,2,95000").getBytes(StandardCharsets.UTF_8));
+
+        ImporKatalog.HasilImpor hasil = imporKatalog.impor(berkas, ImporKatalog.Format.CSV);
+
+        assertEquals(6, hasil.getJumlahBaris());
+        assertEquals(3, hasil.getJumlahBerhasil());
+        assertEquals(3, hasil.getJumlahTidakValid());
+        assertEquals(0, hasil.getJumlahGagal());
+        Optional<Buku> buku = repository.cariByIsbn("0987654321");
+        assertTrue(buku.isPresent());
+        assertEquals("Algoritma, Struktur Data", buku.get().getJudul());
+        assertEquals("Jane \"JS\" Smith", buku.get().getPengarang());
+        assertEquals(200000.5, buku.get().getHarga());
+    }
+
+    @Test
+    @DisplayName("Impor NDJSON - escape dan urutan field bebas")
+    void testImporNdjson() throws IOException {
+        Path berkas = direktori.resolve("feed.ndjson");
+        Files.write(berkas, ("{\"isbn\":\"1234567890\",\"judul\":\"Pemrograman Java\",\"pengarang\":\"John Doe\",\"jumlahTotal\":5,\"harga\":180000}\n" +
+                "{ \"harga\": 1.5e5, \"jumlahTotal\": 2, \"pengarang\": \"Sit\\u00ed\", \"judul\": \"Baris\\nBaru\", \"isbn\": \"9786021234567\" }\n" +
+                "{\"isbn\":\"0987654321\",\"judul\":null,\"pengarang\":\"Jane\",\"jumlahTotal\":1,\"harga\":1}\n" +
+                "bukan json\n").getBytes(StandardCharsets.UTF_8));
+
+        ImporKatalog.HasilImpor hasil = imporKatalog.impor(berkas, ImporKatalog.Format.NDJSON);
+
+        assertEquals(4, hasil.getJumlahBaris());
+        assertEquals(2, hasil.getJumlahBerhasil());
+        assertEquals(2, hasil.getJumlahTidakValid());
+        Buku buku = repository.cariByIsbn("9786021234567").get();
+        assertEquals("Baris\nBaru", buku.getJudul());
+        assertEquals("Sit\u00ed", buku.getPengarang());
+        assertEquals(150000.0, buku.getHarga());
+    }
+
+    @Test
+    @DisplayName("Impor berkas besar - semua baris masuk lewat banyak batch")
+    void testImporBanyakBaris() throws IOException {
+        Path berkas = direktori.resolve("besar.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(berkas, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < 5000; i++) {
+                writer.write(String.format("%010d,Judul Buku %d,Pengarang %d,3,50000%n", i, i, i % 7));
+            }
+        }
+
+        ImporKatalog.HasilImpor hasil = new ImporKatalog(repository).impor(berkas, ImporKatalog.Format.CSV);
+
+        assertEquals(5000, hasil.getJumlahBerhasil());
+        assertEquals(5000, repository.ukuran());
+        List<Buku> hasilCari = repository.cariByPengarang("Pengarang 6");
+        assertEquals(714, hasilCari.size());
+    }
+
+    @Test
+    @DisplayName("Impor - baris lebih panjang dari chunk harus gagal")
+    void testBarisMelebihiChunk() throws IOException {
+        Path berkas = direktori.resolve("panjang.csv");
+        Files.write(berkas, ("1234567890," + new String(new char[400]).replace('\0', 'x') + ",John,1,1\n")
+                .getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> imporKatalog.impor(berkas, ImporKatalog.Format.CSV));
+    }
+
+    @Test
+    @DisplayName("Impor - baris sepanjang tepat ukuran chunk tetap diterima, di tengah maupun di akhir berkas")
+    void testBarisSepanjangChunk() throws IOException {
+        String baris1 = barisSepanjang("1234567890", 160);
+        String baris2 = barisSepanjang("0987654321", 160);
+        Path berkas = direktori.resolve("pas.csv");
+        Files.write(berkas, (baris1 + "\n" + baris2).getBytes(StandardCharsets.UTF_8));
+
+        ImporKatalog.HasilImpor hasil = imporKatalog.impor(berkas, ImporKatalog.Format.CSV);
+
+        assertEquals(2, hasil.getJumlahBaris());
+        assertEquals(2, hasil.getJumlahBerhasil());
+        assertTrue(repository.cariByIsbn("0987654321").isPresent());
+    }
+
+    @Test
+    @DisplayName("Impor - baris akhir tanpa newline yang sepanjang ukuran chunk tetap diterima")
+    void testBarisAkhirSepanjangChunk() throws IOException {
+        String baris = barisSepanjang("1234567890", 40);
+        Path berkas = direktori.resolve("akhir.csv");
+        Files.write(berkas, baris.getBytes(StandardCharsets.UTF_8));
+        ImporKatalog imporChunkPas = new ImporKatalog(repository, baris.length(), 3, 2, 1);
+
+        ImporKatalog.HasilImpor hasil = imporChunkPas.impor(berkas, ImporKatalog.Format.CSV);
+
+        assertEquals(1, hasil.getJumlahBerhasil());
+        assertThrows(IOException.class, () -> new ImporKatalog(repository, baris.length() - 1, 3, 2, 1)
+                .impor(berkas, ImporKatalog.Format.CSV));
+    }
+
+    @Test
+    @DisplayName("Impor - kegagalan repository dihentikan dan diteruskan ke pemanggil")
+    void testKegagalanRepository() throws IOException {
+        RepositoryBuku repositoryRusak = mock(RepositoryBuku.class);
+        when(repositoryRusak.simpanBatch(anyList())).thenThrow(new IllegalStateException("disk penuh"));
+        Path berkas = direktori.resolve("feed.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(berkas, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < 1000; i++) {
+                writer.write(String.format("%010d,Judul %d,Pengarang,3,50000%n", i, i));
+            }
+        }
+
+        ImporKatalog impor = new ImporKatalog(repositoryRusak, 64, 3, 2, 1);
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> impor.impor(berkas, ImporKatalog.Format.CSV));
+        assertEquals("disk penuh", error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Konstruktor - parameter tidak valid ditolak")
+    void testKonstruktorTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new ImporKatalog(null));
+        assertThrows(IllegalArgumentException.class, () -> new ImporKatalog(repository, 0, 1, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Impor - ISBN ganda di batch berbeda, baris terakhir di berkas yang berlaku")
+    void testIsbnGandaMengikutiUrutanBerkas() throws IOException {
+        Path berkas = direktori.resolve("ganda.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(berkas, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < 200; i++) {
+                writer.write(String.format("%010d,Versi %d,Pengarang,3,50000%n", i % 5, i));
+            }
+        }
+
+        for (int ulang = 0; ulang < 5; ulang++) {
+            repository.bersihkan();
+            ImporKatalog.HasilImpor hasil = new ImporKatalog(repository, 64, 1, 4, 1)
+                    .impor(berkas, ImporKatalog.Format.CSV);
+
+            assertEquals(200, hasil.getJumlahBerhasil());
+            for (int i = 0; i < 5; i++) {
+                assertEquals("Versi " + (195 + i), repository.cariByIsbn(String.format("%010d", i)).get().getJudul());
+            }
+        }
+    }
+
+    private static String barisSepanjang(String isbn, int panjang) {
+        String awal = isbn + ",";
+        String akhir = ",John,1,1";
+        return awal + new String(new char[panjang - awal.length() - akhir.length()]).replace('\0', 'x') + akhir;
+    }
+}
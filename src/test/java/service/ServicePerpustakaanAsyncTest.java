@@ -0,0 +1,168 @@
+package service;
+
+import model.Anggota;
+import model.Buku;
+import repository.AdapterAsyncRepositoryBuku;
+import repository.AsyncRepositoryBuku;
+import repository.MockRepositoryBuku;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Test Service Perpustakaan Async")
+class ServicePerpustakaanAsyncTest {
+
+    @Mock
+    private AsyncRepositoryBuku mockRepositoryBuku;
+
+    private ServicePerpustakaanAsync service;
+    private Buku bukuTest;
+    private Anggota anggotaTest;
+
+    @BeforeEach
+    void setUp() {
+        service = new ServicePerpustakaanAsync(mockRepositoryBuku);
+        bukuTest = new Buku("1234567890", "Pemrograman Java", "John Doe", 5, 190000.0);
+        anggotaTest = new Anggota("A001", "John Student", "john@student.ac.id",
+                "081234567890", Anggota.TipeAnggota.MAHASISWA);
+    }
+
+    @Test
+    @DisplayName("Pinjam buku async berhasil - stok dikurangi dan anggota dicatat")
+    void testPinjamBukuAsyncBerhasil() {
+        // Arrange
+        when(mockRepositoryBuku.cariByIsbn("1234567890"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(bukuTest)));
+        when(mockRepositoryBuku.ubahJumlahTersedia("1234567890", -1))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        // Act
+        boolean hasil = service.pinjamBukuAsync("1234567890", anggotaTest).join();
+
+        // Assert
+        assertTrue(hasil);
+        assertTrue(anggotaTest.getIdBukuDipinjam().contains("1234567890"));
+    }
+
+    @Test
+    @DisplayName("Pinjam buku async gagal ketika buku tidak tersedia - stok tidak diubah")
+    void testPinjamBukuAsyncTidakTersedia() {
+        // Arrange
+        bukuTest.setJumlahTersedia(0);
+        when(mockRepositoryBuku.cariByIsbn("1234567890"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(bukuTest)));
+
+        // Act & Assert
+        assertFalse(service.pinjamBukuAsync("1234567890", anggotaTest).join());
+        verify(mockRepositoryBuku, never()).ubahJumlahTersedia(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Pinjam buku async gagal ketika didahului peminjam lain")
+    void testPinjamBukuAsyncDidahului() {
+        // Arrange
+        when(mockRepositoryBuku.cariByIsbn("1234567890"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(bukuTest)));
+        when(mockRepositoryBuku.ubahJumlahTersedia("1234567890", -1))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        // Act & Assert
+        assertFalse(service.pinjamBukuAsync("1234567890", anggotaTest).join());
+        assertFalse(anggotaTest.getIdBukuDipinjam().contains("1234567890"));
+    }
+
+    @Test
+    @DisplayName("Pinjam dan kembalikan async dengan anggota tidak valid - repository tidak dipanggil")
+    void testAnggotaTidakValid() {
+        assertFalse(service.pinjamBukuAsync("1234567890", null).join());
+        assertFalse(service.kembalikanBukuAsync("1234567890", null).join());
+        assertFalse(service.kembalikanBukuAsync("1234567890", anggotaTest).join());
+        assertFalse(service.cariBukuByIsbnAsync("123").join().isPresent());
+        verifyNoInteractions(mockRepositoryBuku);
+    }
+
+    @Test
+    @DisplayName("Kembalikan buku async berhasil - anggota tidak lagi mencatat buku")
+    void testKembalikanBukuAsyncBerhasil() {
+        // Arrange
+        anggotaTest.tambahBukuDipinjam("1234567890");
+        when(mockRepositoryBuku.ubahJumlahTersedia("1234567890", 1))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        // Act & Assert
+        assertTrue(service.kembalikanBukuAsync("1234567890", anggotaTest).join());
+        assertFalse(anggotaTest.getIdBukuDipinjam().contains("1234567890"));
+    }
+
+    @Test
+    @DisplayName("Adapter menjalankan repository sinkron pada executor")
+    void testAdapterDenganRepositorySinkron() throws InterruptedException {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        MockRepositoryBuku repositorySinkron = new MockRepositoryBuku();
+        repositorySinkron.simpan(bukuTest);
+        ServicePerpustakaanAsync serviceNyata = new ServicePerpustakaanAsync(
+                new AdapterAsyncRepositoryBuku(repositorySinkron, executor));
+
+        try {
+            // Act
+            List<Anggota> daftarAnggota = Arrays.asList(
+                    new Anggota("A001", "Budi", "budi@mail.com", "081234567890", Anggota.TipeAnggota.MAHASISWA),
+                    new Anggota("A002", "Sari", "sari@mail.com", "081234567891", Anggota.TipeAnggota.MAHASISWA));
+            CompletableFuture<Boolean> pinjam1 = serviceNyata.pinjamBukuAsync("1234567890", daftarAnggota.get(0));
+            CompletableFuture<Boolean> pinjam2 = serviceNyata.pinjamBukuAsync("1234567890", daftarAnggota.get(1));
+            CompletableFuture.allOf(pinjam1, pinjam2).join();
+
+            // Assert
+            assertTrue(pinjam1.join() && pinjam2.join());
+            assertEquals(3, repositorySinkron.cariByIsbn("1234567890").get().getJumlahTersedia());
+            assertEquals(1, serviceNyata.cariBukuByJudulAsync("java").join().size());
+            assertEquals(1, serviceNyata.cariBukuByPengarangAsync("doe").join().size());
+            assertTrue(serviceNyata.cariBukuByIsbnAsync("1234567890").join().isPresent());
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Service dengan executor - lanjutan rantai berjalan di executor tersebut")
+    void testServiceDenganExecutor() {
+        // Arrange
+        AtomicInteger tugasDiExecutor = new AtomicInteger();
+        ServicePerpustakaanAsync serviceExecutor = new ServicePerpustakaanAsync(mockRepositoryBuku, tugas -> {
+            tugasDiExecutor.incrementAndGet();
+            tugas.run();
+        });
+        when(mockRepositoryBuku.cariByIsbn("1234567890"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(bukuTest)));
+        when(mockRepositoryBuku.ubahJumlahTersedia("1234567890", -1))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        // Act
+        boolean hasil = serviceExecutor.pinjamBukuAsync("1234567890", anggotaTest).join();
+
+        // Assert: satu lanjutan setelah cari dan satu setelah update stok
+        assertTrue(hasil);
+        assertEquals(2, tugasDiExecutor.get());
+        assertThrows(IllegalArgumentException.class, () -> new ServicePerpustakaanAsync(mockRepositoryBuku, null));
+    }
+}
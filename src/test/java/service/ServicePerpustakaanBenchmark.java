@@ -0,0 +1,96 @@
+package service;
+
+import model.Anggota;
+import model.Buku;
+import repository.MockRepositoryBuku;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark throughput pinjamBuku pada pool thread platform dibandingkan virtual thread
+ * Repository mensimulasikan latensi I/O pada setiap akses, sehingga throughput
+ * dibatasi oleh jumlah permintaan yang bisa tertahan bersamaan, bukan oleh CPU
+ * Tanpa Java 21 baris virtual thread dilewati
+ *
+ * Jalankan dengan: mvn -P java21 test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=service.ServicePerpustakaanBenchmark
+ */
+public class ServicePerpustakaanBenchmark {
+    private static final int JUMLAH_BUKU = 1_000;
+    private static final int JUMLAH_PERMINTAAN = 20_000;
+    private static final long LATENSI_IO_MS = 20;
+    private static final int UKURAN_POOL_PLATFORM = 200;
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("virtual thread tersedia: %s%n", EksekutorPerpustakaan.virtualThreadTersedia());
+        System.out.printf("%-24s %14s %16s%n", "executor", "waktu (ms)", "permintaan/detik");
+
+        ukur("pool platform (" + UKURAN_POOL_PLATFORM + ")", EksekutorPerpustakaan.poolPlatform(UKURAN_POOL_PLATFORM));
+        if (EksekutorPerpustakaan.virtualThreadTersedia()) {
+            ukur("virtual thread per task", EksekutorPerpustakaan.virtualThreadPerTask());
+        } else {
+            System.out.printf("%-24s %14s%n", "virtual thread per task", "dilewati (butuh Java 21, jalankan dengan -P java21)");
+        }
+    }
+
+    private static void ukur(String nama, ExecutorService executor) throws Exception {
+        RepositoryDenganLatensi repository = new RepositoryDenganLatensi();
+        for (int i = 0; i < JUMLAH_BUKU; i++) {
+            repository.simpan(new Buku(String.format("%010d", i), "Judul " + i, "Pengarang", JUMLAH_PERMINTAAN, 50000.0));
+        }
+        ServicePerpustakaan service = new ServicePerpustakaan(repository, new KalkulatorDenda());
+
+        List<Future<Boolean>> daftarTugas = new ArrayList<>(JUMLAH_PERMINTAAN);
+        long mulai = System.nanoTime();
+        for (int i = 0; i < JUMLAH_PERMINTAAN; i++) {
+            String isbn = String.format("%010d", i % JUMLAH_BUKU);
+            Anggota anggota = new Anggota("A" + i, "Anggota " + i, "anggota" + i + "@mail.com",
+                    "081234567890", Anggota.TipeAnggota.MAHASISWA);
+            daftarTugas.add(executor.submit(() -> service.pinjamBuku(isbn, anggota)));
+        }
+        int berhasil = 0;
+        for (Future<Boolean> tugas : daftarTugas) {
+            if (tugas.get()) {
+                berhasil++;
+            }
+        }
+        long durasiMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mulai);
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        if (berhasil != JUMLAH_PERMINTAAN) {
+            throw new IllegalStateException("Peminjaman gagal: " + (JUMLAH_PERMINTAAN - berhasil));
+        }
+        System.out.printf("%-24s %14d %16.0f%n", nama, durasiMs, JUMLAH_PERMINTAAN * 1000.0 / Math.max(1, durasiMs));
+    }
+
+    /**
+     * Repository yang menahan thread pemanggil untuk mensimulasikan akses disk atau jaringan
+     */
+    private static class RepositoryDenganLatensi extends MockRepositoryBuku {
+        @Override
+        public Optional<Buku> cariByIsbn(String isbn) {
+            tunggu();
+            return super.cariByIsbn(isbn);
+        }
+
+        @Override
+        public boolean ubahJumlahTersedia(String isbn, int selisih) {
+            tunggu();
+            return super.ubahJumlahTersedia(isbn, selisih);
+        }
+
+        private static void tunggu() {
+            try {
+                Thread.sleep(LATENSI_IO_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
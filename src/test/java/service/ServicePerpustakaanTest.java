@@ -2,6 +2,7 @@ package service;
 
 import model.Anggota;
 import model.Buku;
+import repository.HalamanBuku;
 import repository.RepositoryBuku;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -236,7 +237,7 @@ public class ServicePerpustakaanTest {
         // Arrange
         bukuTest.setJumlahTersedia(3);
         when(mockRepositoryBuku.cariByIsbn("1234567890")).thenReturn(Optional.of(bukuTest));
-        when(mockRepositoryBuku.updateJumlahTersedia("1234567890", 2)).thenReturn(true);
+        when(mockRepositoryBuku.ubahJumlahTersedia("1234567890", -1)).thenReturn(true);
 
         // Act
         boolean hasil = servicePerpustakaan.pinjamBuku("1234567890", anggotaTest);
@@ -245,7 +246,7 @@ public class ServicePerpustakaanTest {
         assertTrue(hasil, "Harus berhasil meminjam buku");
         assertTrue(anggotaTest.getIdBukuDipinjam().contains("1234567890"));
         verify(mockRepositoryBuku).cariByIsbn("1234567890");
-        verify(mockRepositoryBuku).updateJumlahTersedia("1234567890", 2);
+        verify(mockRepositoryBuku).ubahJumlahTersedia("1234567890", -1);
     }
 
     @Test
@@ -262,7 +263,7 @@ public class ServicePerpustakaanTest {
         assertFalse(hasil, "Tidak boleh meminjam buku yang tidak tersedia");
         assertFalse(anggotaTest.getIdBukuDipinjam().contains("1234567890"));
         verify(mockRepositoryBuku).cariByIsbn("1234567890");
-        verify(mockRepositoryBuku, never()).updateJumlahTersedia(anyString(), anyInt());
+        verify(mockRepositoryBuku, never()).ubahJumlahTersedia(anyString(), anyInt());
     }
 
     @Test
@@ -300,9 +301,7 @@ public class ServicePerpustakaanTest {
     void testKembalikanBukuBerhasil() {
         // Arrange
         anggotaTest.tambahBukuDipinjam("1234567890");
-        bukuTest.setJumlahTersedia(2);
-        when(mockRepositoryBuku.cariByIsbn("1234567890")).thenReturn(Optional.of(bukuTest));
-        when(mockRepositoryBuku.updateJumlahTersedia("1234567890", 3)).thenReturn(true);
+        when(mockRepositoryBuku.ubahJumlahTersedia("1234567890", 1)).thenReturn(true);
 
         // Act
         boolean hasil = servicePerpustakaan.kembalikanBuku("1234567890", anggotaTest);
@@ -310,8 +309,7 @@ public class ServicePerpustakaanTest {
         // Assert
         assertTrue(hasil, "Harus berhasil mengembalikan buku");
         assertFalse(anggotaTest.getIdBukuDipinjam().contains("1234567890"));
-        verify(mockRepositoryBuku).cariByIsbn("1234567890");
-        verify(mockRepositoryBuku).updateJumlahTersedia("1234567890", 3);
+        verify(mockRepositoryBuku).ubahJumlahTersedia("1234567890", 1);
     }
 
     @Test
@@ -371,4 +369,68 @@ public class ServicePerpustakaanTest {
         verify(mockRepositoryBuku).cariByIsbn("9999999999");
     }
 
+    @Test
+    @DisplayName("Pinjam Buku gagal ketika salinan terakhir didahului peminjam lain")
+    void testPinjamBukuGagalKalahBalapan() {
+        // Arrange - lookup masih melihat stok, tetapi decrement atomik gagal
+        bukuTest.setJumlahTersedia(1);
+        when(mockRepositoryBuku.cariByIsbn("1234567890")).thenReturn(Optional.of(bukuTest));
+        when(mockRepositoryBuku.ubahJumlahTersedia("1234567890", -1)).thenReturn(false);
+
+        // Act
+        boolean hasil = servicePerpustakaan.pinjamBuku("1234567890", anggotaTest);
+
+        // Assert
+        assertFalse(hasil, "Tidak boleh berhasil jika stok sudah habis");
+        assertFalse(anggotaTest.getIdBukuDipinjam().contains("1234567890"));
+        verify(mockRepositoryBuku, never()).updateJumlahTersedia(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Tambah buku batch - status per buku dan satu bulk insert")
+    void testTambahBukuBatch() {
+        // Arrange
+        Buku bukuBaru = new Buku("0987654321", "Algoritma", "Jane Smith", 3, 200000.0);
+        Buku bukuDuplikat = new Buku("0987654321", "Algoritma Edisi 2", "Jane Smith", 3, 210000.0);
+        Buku bukuTidakValid = new Buku("123", "ISBN Salah", "Budi", 1, 1000.0);
+        when(mockRepositoryBuku.cariByIsbn("1234567890")).thenReturn(Optional.of(bukuTest));
+        when(mockRepositoryBuku.simpanBatch(Arrays.asList(bukuBaru))).thenReturn(new boolean[]{true});
+
+        // Act
+        List<ServicePerpustakaan.StatusTambahBuku> hasil = servicePerpustakaan.tambahBukuBatch(
+                Arrays.asList(bukuBaru, bukuTest, bukuDuplikat, bukuTidakValid, null));
+
+        // Assert
+        assertEquals(Arrays.asList(
+                ServicePerpustakaan.StatusTambahBuku.BERHASIL,
+                ServicePerpustakaan.StatusTambahBuku.SUDAH_ADA,
+                ServicePerpustakaan.StatusTambahBuku.DUPLIKAT_DALAM_BATCH,
+                ServicePerpustakaan.StatusTambahBuku.TIDAK_VALID,
+                ServicePerpustakaan.StatusTambahBuku.TIDAK_VALID), hasil);
+        verify(mockRepositoryBuku).simpanBatch(Arrays.asList(bukuBaru));
+        verify(mockRepositoryBuku, never()).simpan(any(Buku.class));
+    }
+
+    @Test
+    @DisplayName("Tambah buku batch - batch kosong tidak menyentuh repository")
+    void testTambahBukuBatchKosong() {
+        assertTrue(servicePerpustakaan.tambahBukuBatch(null).isEmpty());
+        assertTrue(servicePerpustakaan.tambahBukuBatch(Arrays.asList()).isEmpty());
+        verifyNoInteractions(mockRepositoryBuku);
+    }
+
+    @Test
+    @DisplayName("Cari halaman buku diteruskan ke repository")
+    void testCariHalamanBuku() {
+        // Arrange
+        HalamanBuku halaman = new HalamanBuku(Arrays.asList(bukuTest), "1234567890");
+        when(mockRepositoryBuku.cariHalaman(1, null)).thenReturn(halaman);
+
+        // Act
+        HalamanBuku hasil = servicePerpustakaan.cariHalamanBuku(1, null);
+
+        // Assert
+        assertSame(halaman, hasil);
+        verify(mockRepositoryBuku).cariHalaman(1, null);
+    }
 }
\ No newline at end of file
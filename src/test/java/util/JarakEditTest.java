@@ -0,0 +1,29 @@
+package util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Jarak Edit")
+class JarakEditTest {
+
+    @Test
+    @DisplayName("Levenshtein - jumlah sisip, hapus, dan ganti minimal")
+    void testLevenshtein() {
+        assertEquals(0, JarakEdit.levenshtein("java", "java"));
+        assertEquals(3, JarakEdit.levenshtein("kitten", "sitting"));
+        assertEquals(4, JarakEdit.levenshtein("", "java"));
+        assertEquals(2, JarakEdit.levenshtein("pemograman jva", "pemrograman java"));
+    }
+
+    @Test
+    @DisplayName("Jarak substring - pola boleh cocok di posisi mana pun dalam teks")
+    void testJarakSubstring() {
+        assertEquals(0, JarakEdit.jarakSubstring("java", "pemrograman java"));
+        assertEquals(1, JarakEdit.jarakSubstring("jva", "pemrograman java"));
+        assertEquals(2, JarakEdit.jarakSubstring("pemograman jva", "pemrograman java lanjut"));
+        assertEquals(0, JarakEdit.jarakSubstring("", "java"));
+        assertEquals(4, JarakEdit.jarakSubstring("java", ""));
+    }
+}